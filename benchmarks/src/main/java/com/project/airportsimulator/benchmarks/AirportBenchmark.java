@@ -0,0 +1,201 @@
+package com.project.airportsimulator.benchmarks;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.OperationResult;
+import com.project.airportsimulator.airport.portexceptions.AirportException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the hot paths of the {@link Airport} flight lifecycle.
+ *
+ * <p>Every iteration starts from an airport with {@code runways} runways all holding boarded
+ * flights, {@code queueDepth} flights circling in the waiting queue and {@code registeredFlights}
+ * extra flights registered but not yet arrived.
+ *
+ * @author Dhairya
+ * @since November 28, 2023
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportBenchmark {
+    private static final int NAME_POOL_SIZE = 1 << 17;     // larger than any number of flights alive at once
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"6", "100", "10000"})
+    public int runways;
+
+    @Param({"0", "100000"})
+    public int registeredFlights;
+
+    @Param({"0", "1000"})
+    public int queueDepth;
+
+    private Airport airport;
+    private ArrayDeque<String> boardedFlights;  // flights holding a runway, oldest first
+    private String[] namePool;                  // reusable flight numbers for the turnaround cycle
+    private int nextName;
+    private long nextRegister;                  // suffix of the next flight number for the register benchmark
+    private List<String> batchFlights;          // flight numbers of the batch benchmarks
+    private List<String> batchCities;           // city of origin of each batch flight
+
+    @Setup(Level.Trial)
+    public void createNames() {
+        namePool = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < NAME_POOL_SIZE; i++) {
+            namePool[i] = "T" + i;
+        }
+        batchFlights = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchFlights.add("B" + i);
+        }
+        batchCities = Collections.nCopies(BATCH_SIZE, "Origin");
+    }
+
+    @Setup(Level.Iteration)
+    public void createAirport() {
+        airport = new Airport(runways);
+        boardedFlights = new ArrayDeque<>(runways);
+        nextName = 0;
+        nextRegister = 0;
+        for (int i = 0; i < runways; i++) {
+            String flightNumber = nextPooledName();
+            airport.flightRegister(flightNumber, "Origin");
+            int runwayNumber = airport.airplaneAssignedRunway(flightNumber);
+            airport.readyToLand(flightNumber, runwayNumber);
+            airport.readyToBoard(flightNumber, "Destination");
+            boardedFlights.add(flightNumber);
+        }
+        for (int i = 0; i < queueDepth; i++) {
+            String flightNumber = nextPooledName();
+            airport.flightRegister(flightNumber, "Origin");
+            airport.airplaneAssignedRunway(flightNumber);
+        }
+        for (int i = 0; i < registeredFlights; i++) {
+            airport.flightRegister("P" + i, "Origin");
+        }
+    }
+
+    /**
+     * Registers a new flight. The registry grows by one flight per call within an iteration, and the
+     * cost includes building the flight number string.
+     */
+    @Benchmark
+    public void flightRegister() {
+        airport.flightRegister("R" + nextRegister++, "Origin");
+    }
+
+    /**
+     * One full turnaround in steady state: the oldest boarded flight takes off, the freed runway goes
+     * to the head of the waiting queue (or to a new arrival when nothing is circling), that flight
+     * lands and boards, and a new flight registers and requests to land.
+     *
+     * @return The last runway number handed out, to keep the work observable
+     */
+    @Benchmark
+    public int turnaround() {
+        Airplane promoted = airport.readyToTakeOff(boardedFlights.poll());
+        if (promoted != null) {
+            land(promoted.getFlightNumber(), promoted.getRunwayNumber());
+        }
+        String flightNumber = nextPooledName();
+        airport.flightRegister(flightNumber, "Origin");
+        int runwayNumber = airport.airplaneAssignedRunway(flightNumber);
+        if (runwayNumber != 0) {
+            land(flightNumber, runwayNumber);
+        }
+        return runwayNumber;
+    }
+
+    /**
+     * A rejected landing for a flight that is not registered, reported as a result code.
+     *
+     * @return The result, to keep the work observable
+     */
+    @Benchmark
+    public OperationResult rejectedLanding() {
+        return airport.tryReadyToLand("Unknown", 1);
+    }
+
+    /**
+     * The same rejected landing through the throwing method, for comparison.
+     *
+     * @return The exception, to keep the work observable
+     */
+    @Benchmark
+    public AirportException rejectedLandingThrowing() {
+        try {
+            airport.readyToLand("Unknown", 1);
+            return null;
+        } catch (AirportException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Registers {@value #BATCH_SIZE} flights on a new airport and requests a landing for each,
+     * through the batch operations. Creating the airport is part of the cost, as in
+     * {@link #registerAndRequestLoop()}.
+     *
+     * @return The airport, to keep the work observable
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Airport registerAndRequestBatch() {
+        Airport batchAirport = new Airport(runways);
+        batchAirport.registerFlights(batchFlights, batchCities);
+        batchAirport.requestLandings(batchFlights);
+        return batchAirport;
+    }
+
+    /**
+     * The same flights as {@link #registerAndRequestBatch()} through a loop of single-flight calls.
+     *
+     * @return The airport, to keep the work observable
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Airport registerAndRequestLoop() {
+        Airport batchAirport = new Airport(runways);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchAirport.tryFlightRegister(batchFlights.get(i), batchCities.get(i));
+        }
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchAirport.tryAirplaneAssignedRunway(batchFlights.get(i));
+        }
+        return batchAirport;
+    }
+
+    @Benchmark
+    public Set<Airplane> getAllArrivals() {
+        return airport.getAllArrivals();
+    }
+
+    @Benchmark
+    public Set<Airplane> getAllDepartures() {
+        return airport.getAllDepartures();
+    }
+
+    private void land(String flightNumber, int runwayNumber) {
+        airport.readyToLand(flightNumber, runwayNumber);
+        airport.readyToBoard(flightNumber, "Destination");
+        boardedFlights.add(flightNumber);
+    }
+
+    private String nextPooledName() {
+        String name = namePool[nextName];
+        nextName = (nextName + 1) & (NAME_POOL_SIZE - 1);
+        return name;
+    }
+}
@@ -0,0 +1,162 @@
+package com.project.airportsimulator.benchmarks;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.AirportChange;
+import com.project.airportsimulator.airport.ChangeFeed;
+import com.project.airportsimulator.airport.ChangeHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the airport thread publishing to a {@link ChangeFeed} while subscribers read it.
+ *
+ * <p>The writer runs the same turnaround as {@link AirportBenchmark#turnaround()} on an airport with
+ * {@code runways} runways and {@code queueDepth} flights circling. In the {@code subscribers} group
+ * 4 threads each poll their own subscription at the same time. With {@code feed=false} no feed is
+ * opened and those threads only spin, so comparing the two settings separates the cost of
+ * publishing and reading changes from the cost of 4 busy threads.
+ *
+ * @author Dhairya
+ * @since December 15, 2023
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChangeFeedBenchmark {
+    private static final int NAME_POOL_SIZE = 1 << 17;     // larger than any number of flights alive at once
+    private static final int FEED_CAPACITY = 1 << 14;
+    private static final int MAX_BATCH = 256;
+
+    @Param({"6", "10000"})
+    public int runways;
+
+    @Param({"1000"})
+    public int queueDepth;
+
+    @Param({"false", "true"})
+    public boolean feed;
+
+    private Airport airport;
+    private ArrayDeque<String> boardedFlights;  // flights holding a runway, oldest first
+    private String[] namePool;                  // reusable flight numbers for the turnaround cycle
+    private int nextName;
+
+    /**
+     * Subscription of one subscriber thread, renewed whenever the airport is.
+     */
+    @State(Scope.Thread)
+    public static class Subscriber implements ChangeHandler {
+        ChangeFeed subscribed;
+        ChangeFeed.Subscription subscription;
+        int runwayNumbers;
+
+        @Override
+        public void onChange(AirportChange change, boolean endOfBatch) {
+            runwayNumbers += change.getRunwayNumber();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createNames() {
+        namePool = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < NAME_POOL_SIZE; i++) {
+            namePool[i] = "T" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createAirport() {
+        airport = new Airport(runways);
+        boardedFlights = new ArrayDeque<>(runways);
+        nextName = 0;
+        for (int i = 0; i < runways; i++) {
+            String flightNumber = nextPooledName();
+            airport.flightRegister(flightNumber, "Origin");
+            land(flightNumber, airport.airplaneAssignedRunway(flightNumber));
+        }
+        for (int i = 0; i < queueDepth; i++) {
+            String flightNumber = nextPooledName();
+            airport.flightRegister(flightNumber, "Origin");
+            airport.airplaneAssignedRunway(flightNumber);
+        }
+        if (feed) {
+            airport.openChangeFeed(FEED_CAPACITY);
+        }
+    }
+
+    /**
+     * The turnaround with no other thread running.
+     *
+     * @return The last runway number handed out, to keep the work observable
+     */
+    @Benchmark
+    @Group("alone")
+    public int writerAlone() {
+        return turnaround();
+    }
+
+    /**
+     * The turnaround while 4 subscribers poll.
+     *
+     * @return The last runway number handed out, to keep the work observable
+     */
+    @Benchmark
+    @Group("subscribers")
+    @GroupThreads(1)
+    public int writer() {
+        return turnaround();
+    }
+
+    /**
+     * Polls up to one batch of changes.
+     *
+     * @param subscriber The subscriber's own subscription
+     * @return The number of changes read, to keep the work observable
+     */
+    @Benchmark
+    @Group("subscribers")
+    @GroupThreads(4)
+    public int subscriber(Subscriber subscriber) {
+        ChangeFeed changeFeed = airport.getChangeFeed();
+        if (changeFeed == null) {
+            return 0;
+        }
+        if (subscriber.subscribed != changeFeed) {
+            subscriber.subscribed = changeFeed;
+            subscriber.subscription = changeFeed.subscribe();
+        }
+        return subscriber.subscription.poll(subscriber, MAX_BATCH);
+    }
+
+    private int turnaround() {
+        Airplane promoted = airport.readyToTakeOff(boardedFlights.poll());
+        if (promoted != null) {
+            land(promoted.getFlightNumber(), promoted.getRunwayNumber());
+        }
+        String flightNumber = nextPooledName();
+        airport.flightRegister(flightNumber, "Origin");
+        int runwayNumber = airport.airplaneAssignedRunway(flightNumber);
+        if (runwayNumber != 0) {
+            land(flightNumber, runwayNumber);
+        }
+        return runwayNumber;
+    }
+
+    private void land(String flightNumber, int runwayNumber) {
+        airport.readyToLand(flightNumber, runwayNumber);
+        airport.readyToBoard(flightNumber, "Destination");
+        boardedFlights.add(flightNumber);
+    }
+
+    private String nextPooledName() {
+        String name = namePool[nextName];
+        nextName = (nextName + 1) & (NAME_POOL_SIZE - 1);
+        return name;
+    }
+}
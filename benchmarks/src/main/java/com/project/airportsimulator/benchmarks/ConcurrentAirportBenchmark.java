@@ -0,0 +1,120 @@
+package com.project.airportsimulator.benchmarks;
+
+import com.project.airportsimulator.airport.ConcurrentAirport;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmarks for {@link ConcurrentAirport} driven by 1 to 32 controller threads at once.
+ *
+ * <p>Every thread runs the full turnaround of one flight of its own per operation: register,
+ * request a runway, land, board and take off. A flight sent to the waiting queue spins until another
+ * thread's take-off hands it a runway, so with more threads than {@code runways} the results include
+ * the time spent circling. The reported throughput is the total over all threads; comparing the
+ * methods shows how it scales with the number of controllers. Other thread counts can be run with
+ * {@code -t}, for example {@code -t 8 ConcurrentAirportBenchmark.threads1}.
+ *
+ * @author Dhairya
+ * @since December 21, 2023
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentAirportBenchmark {
+    private static final int NAME_POOL_SIZE = 1 << 10;     // a thread has at most one flight alive at once
+
+    @Param({"4", "64"})
+    public int runways;
+
+    private ConcurrentAirport airport;
+    private final AtomicInteger nextController = new AtomicInteger();
+
+    /**
+     * Flight numbers of one controller thread, distinct from those of every other thread.
+     */
+    @State(Scope.Thread)
+    public static class Controller {
+        String[] namePool;
+        int nextName;
+
+        @Setup(Level.Trial)
+        public void createNames(ConcurrentAirportBenchmark benchmark) {
+            int controller = benchmark.nextController.getAndIncrement();
+            namePool = new String[NAME_POOL_SIZE];
+            for (int i = 0; i < NAME_POOL_SIZE; i++) {
+                namePool[i] = "C" + controller + "-" + i;
+            }
+        }
+
+        String nextPooledName() {
+            String name = namePool[nextName];
+            nextName = (nextName + 1) & (NAME_POOL_SIZE - 1);
+            return name;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createAirport() {
+        airport = new ConcurrentAirport(runways);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int threads1(Controller controller) {
+        return turnaround(controller);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public int threads2(Controller controller) {
+        return turnaround(controller);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int threads4(Controller controller) {
+        return turnaround(controller);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int threads8(Controller controller) {
+        return turnaround(controller);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int threads16(Controller controller) {
+        return turnaround(controller);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public int threads32(Controller controller) {
+        return turnaround(controller);
+    }
+
+    /**
+     * Runs one flight from registration to take-off, waiting in the queue if every runway is held.
+     *
+     * @return The runway the flight used, to keep the work observable
+     */
+    private int turnaround(Controller controller) {
+        String flightNumber = controller.nextPooledName();
+        airport.flightRegister(flightNumber, "Origin");
+        int runwayNumber = airport.airplaneAssignedRunway(flightNumber);
+        while (runwayNumber == 0) {
+            Thread.onSpinWait();
+            runwayNumber = airport.getRunwayNumber(flightNumber);
+        }
+        airport.readyToLand(flightNumber, runwayNumber);
+        airport.readyToBoard(flightNumber, "Destination");
+        airport.readyToTakeOff(flightNumber);
+        return runwayNumber;
+    }
+}
@@ -0,0 +1,153 @@
+package com.project.airportsimulator.benchmarks;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.AirportView;
+import com.project.airportsimulator.airport.FlightRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the airport thread publishing {@link AirportView}s while other threads read them.
+ *
+ * <p>The writer runs the same turnaround as {@link AirportBenchmark#turnaround()} on an airport with
+ * {@code runways} runways and {@code queueDepth} flights circling. In the {@code readers} group 16
+ * threads take views and look flights up in them at the same time. With {@code views=false} those
+ * threads only spin, so comparing the two settings separates the cost of sharing views from the
+ * cost of 16 busy threads.
+ *
+ * @author Dhairya
+ * @since December 18, 2023
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+    private static final int NAME_POOL_SIZE = 1 << 17;     // larger than any number of flights alive at once
+
+    @Param({"6", "10000"})
+    public int runways;
+
+    @Param({"1000"})
+    public int queueDepth;
+
+    @Param({"false", "true"})
+    public boolean views;
+
+    private Airport airport;
+    private ArrayDeque<String> boardedFlights;  // flights holding a runway, oldest first
+    private String[] namePool;                  // reusable flight numbers for the turnaround cycle
+    private int nextName;
+
+    /**
+     * Position of one reader in the name pool.
+     */
+    @State(Scope.Thread)
+    public static class Reader {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void createNames() {
+        namePool = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < NAME_POOL_SIZE; i++) {
+            namePool[i] = "T" + i;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createAirport() {
+        airport = new Airport(runways);
+        boardedFlights = new ArrayDeque<>(runways);
+        nextName = 0;
+        for (int i = 0; i < runways; i++) {
+            String flightNumber = nextPooledName();
+            airport.flightRegister(flightNumber, "Origin");
+            land(flightNumber, airport.airplaneAssignedRunway(flightNumber));
+        }
+        for (int i = 0; i < queueDepth; i++) {
+            String flightNumber = nextPooledName();
+            airport.flightRegister(flightNumber, "Origin");
+            airport.airplaneAssignedRunway(flightNumber);
+        }
+        if (views) {
+            airport.enableViews();
+        }
+    }
+
+    /**
+     * The turnaround with no other thread running.
+     *
+     * @return The last runway number handed out, to keep the work observable
+     */
+    @Benchmark
+    @Group("alone")
+    public int writerAlone() {
+        return turnaround();
+    }
+
+    /**
+     * The turnaround while 16 readers run.
+     *
+     * @return The last runway number handed out, to keep the work observable
+     */
+    @Benchmark
+    @Group("readers")
+    @GroupThreads(1)
+    public int writer() {
+        return turnaround();
+    }
+
+    /**
+     * Takes the latest view and looks up a flight and its runway in it.
+     *
+     * @param reader The reader's position in the name pool
+     * @return The runway found, 0 if none, to keep the work observable
+     */
+    @Benchmark
+    @Group("readers")
+    @GroupThreads(16)
+    public int reader(Reader reader) {
+        AirportView view = airport.getView();
+        if (view == null) {
+            return 0;
+        }
+        reader.next = (reader.next + 1) & (NAME_POOL_SIZE - 1);
+        FlightRecord flight = view.getFlight(namePool[reader.next]);
+        if (flight == null || flight.getRunwayNumber() == 0) {
+            return view.getWaitingCount();
+        }
+        return view.isRunwayBooked(flight.getRunwayNumber()) ? flight.getRunwayNumber() : -1;
+    }
+
+    private int turnaround() {
+        Airplane promoted = airport.readyToTakeOff(boardedFlights.poll());
+        if (promoted != null) {
+            land(promoted.getFlightNumber(), promoted.getRunwayNumber());
+        }
+        String flightNumber = nextPooledName();
+        airport.flightRegister(flightNumber, "Origin");
+        int runwayNumber = airport.airplaneAssignedRunway(flightNumber);
+        if (runwayNumber != 0) {
+            land(flightNumber, runwayNumber);
+        }
+        return runwayNumber;
+    }
+
+    private void land(String flightNumber, int runwayNumber) {
+        airport.readyToLand(flightNumber, runwayNumber);
+        airport.readyToBoard(flightNumber, "Destination");
+        boardedFlights.add(flightNumber);
+    }
+
+    private String nextPooledName() {
+        String name = namePool[nextName];
+        nextName = (nextName + 1) & (NAME_POOL_SIZE - 1);
+        return name;
+    }
+}
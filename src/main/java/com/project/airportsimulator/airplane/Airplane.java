@@ -1,6 +1,7 @@
 package com.project.airportsimulator.airplane;
 import com.project.airportsimulator.airplane.airexceptions.AirplaneException;
 import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+import com.project.airportsimulator.airport.CityDictionary;
 import com.project.airportsimulator.airport.Runway;
 
 /**
@@ -15,10 +16,15 @@ import com.project.airportsimulator.airport.Runway;
 public class Airplane {
     // Attributes
     private final String flightNumber;    // The flight number
-    public String originCity;           // Origin city of airplane
-    private String destinationCity;        // Destination city of airplane
-    private AirplaneStatus currentStatus;      // Current status of airplane
+    private final int originCityId;         // Origin city of airplane, interned in the shared CityDictionary
+    private int destinationCityId;          // Destination city of airplane, CityDictionary.NONE until boarding
+    private volatile AirplaneStatus currentStatus;      // Current status of airplane
     private Runway currentAllocatedRunway; // to implement Runway association
+    private AirplaneStatusListener statusListener; // notified on every status upgrade, may be null
+    private boolean emergency;              // True once the flight declared an emergency
+    private int fuelMinutes = Integer.MAX_VALUE;    // Minutes of fuel left, MAX_VALUE if not reported
+    private long scheduledArrival = Long.MAX_VALUE; // Scheduled arrival time, MAX_VALUE if not known
+    private long statusSince;               // System.nanoTime() of the last status change, 0 unless recorded
 
 
     // methods
@@ -31,10 +37,45 @@ public class Airplane {
     public Airplane(String flightNumber, String cityOfOrigin)
     {
         this.flightNumber = flightNumber;
-        this.originCity = cityOfOrigin;
+        this.originCityId = CityDictionary.getDefault().intern(cityOfOrigin);
         this.currentStatus = AirplaneStatus.DUE;
         this.currentAllocatedRunway = null; // indicates no runway is allocated during construct of new plane
-        this.destinationCity = null; // will be assigned once airplane reach the airport, shows the new destination of flight
+        this.destinationCityId = CityDictionary.NONE; // will be assigned once airplane reach the airport, shows the new destination of flight
+        if (FlightStatusEvent.isRecorded()) this.statusSince = System.nanoTime();
+    }
+
+    /**
+     * Restores an Airplane object from saved state. The runway, if any, is expected to be booked already.
+     *
+     * @param flightNumber    The flight number of the plane
+     * @param cityOfOrigin    The city of origin of the plane
+     * @param destinationCity The destination city, or null if not boarding yet
+     * @param status          The current status of the plane
+     * @param runway          The runway allocated to the plane, or null
+     */
+    public Airplane(String flightNumber, String cityOfOrigin, String destinationCity, AirplaneStatus status, Runway runway)
+    {
+        this(flightNumber, CityDictionary.getDefault().intern(cityOfOrigin),
+                CityDictionary.getDefault().intern(destinationCity), status, runway);
+    }
+
+    /**
+     * Restores an Airplane object from saved state with cities already interned in the shared
+     * CityDictionary. The runway, if any, is expected to be booked already.
+     *
+     * @param flightNumber      The flight number of the plane
+     * @param originCityId      The id of the city of origin
+     * @param destinationCityId The id of the destination city, or CityDictionary.NONE if not boarding yet
+     * @param status            The current status of the plane
+     * @param runway            The runway allocated to the plane, or null
+     */
+    public Airplane(String flightNumber, int originCityId, int destinationCityId, AirplaneStatus status, Runway runway)
+    {
+        this.flightNumber = flightNumber;
+        this.originCityId = originCityId;
+        this.destinationCityId = destinationCityId;
+        this.currentStatus = status;
+        this.currentAllocatedRunway = runway;
     }
 
     // Getter Methods
@@ -54,7 +95,16 @@ public class Airplane {
      * @return The city of origin.
      */
     public String getOriginCity() {
-        return this.originCity;
+        return CityDictionary.getDefault().getName(originCityId);
+    }
+
+    /**
+     * Gets the id of the origin city in the shared CityDictionary.
+     *
+     * @return The city id.
+     */
+    public int getOriginCityId() {
+        return this.originCityId;
     }
 
     /**
@@ -63,7 +113,16 @@ public class Airplane {
      * @return The city of destination.
      */
     public String getDestinationCity() {
-        return this.destinationCity;
+        return CityDictionary.getDefault().getName(destinationCityId);
+    }
+
+    /**
+     * Gets the id of the destination city in the shared CityDictionary.
+     *
+     * @return The city id, or CityDictionary.NONE if not boarding yet.
+     */
+    public int getDestinationCityId() {
+        return this.destinationCityId;
     }
 
     /**
@@ -116,12 +175,78 @@ public class Airplane {
         return currentAllocatedRunway.getRunwayNumber();
     }
 
+    /**
+     * Checks if the airplane declared an emergency.
+     *
+     * @return True if the airplane declared an emergency; false otherwise.
+     */
+    public boolean isEmergency() {
+        return this.emergency;
+    }
+
+    /**
+     * Gets the minutes of fuel the airplane reported left.
+     *
+     * @return The minutes of fuel, or Integer.MAX_VALUE if not reported.
+     */
+    public int getFuelMinutes() {
+        return this.fuelMinutes;
+    }
+
+    /**
+     * Gets the scheduled arrival time of the airplane.
+     *
+     * @return The scheduled arrival time, or Long.MAX_VALUE if not known.
+     */
+    public long getScheduledArrival() {
+        return this.scheduledArrival;
+    }
+
+    /**
+     * Sets the emergency flag. While the airplane is waiting to land, change it through
+     * Airport.declareEmergency so the waiting queue is reordered.
+     *
+     * @param emergency True if the airplane declared an emergency.
+     */
+    public void setEmergency(boolean emergency) {
+        this.emergency = emergency;
+    }
+
+    /**
+     * Sets the minutes of fuel left. While the airplane is waiting to land, change it through
+     * Airport.updateFuel so the waiting queue is reordered.
+     *
+     * @param fuelMinutes The minutes of fuel left.
+     */
+    public void setFuelMinutes(int fuelMinutes) {
+        this.fuelMinutes = fuelMinutes;
+    }
+
+    /**
+     * Sets the scheduled arrival time. While the airplane is waiting to land, change it through
+     * Airport.updateScheduledArrival so the waiting queue is reordered.
+     *
+     * @param scheduledArrival The scheduled arrival time.
+     */
+    public void setScheduledArrival(long scheduledArrival) {
+        this.scheduledArrival = scheduledArrival;
+    }
+
     /**
      *
      * @param destinationCity
      */
     public void setDestinationCity(String destinationCity){
-        this.destinationCity = destinationCity;
+        this.destinationCityId = CityDictionary.getDefault().intern(destinationCity);
+    }
+
+    /**
+     * Sets the listener notified whenever the status of this airplane is upgraded.
+     *
+     * @param statusListener The listener, or null to remove it
+     */
+    public void setStatusListener(AirplaneStatusListener statusListener) {
+        this.statusListener = statusListener;
     }
 
     /**
@@ -134,11 +259,10 @@ public class Airplane {
         if (runway == null) {
             throw new AirplaneException("No runway to allocate");
         }
-        if (runway.isAllocated()) {
+        if (!runway.tryBook()) {     // check and book in one step so two planes cannot claim the same runway
             throw new AirplaneException("Runway already allocated");
         }
         this.currentAllocatedRunway = runway;
-        runway.book();
     }
 
     /**
@@ -154,15 +278,30 @@ public class Airplane {
     }
 
     /**
-     * Upgrades the status of the airplane.
+     * Upgrades the status of the airplane and notifies the status listener, if any.
      */
     public void upgradeStatus() {
+        AirplaneStatus previousStatus = currentStatus;
         switch (currentStatus) {
             case DUE -> currentStatus = AirplaneStatus.WAITING;
             case WAITING -> currentStatus = AirplaneStatus.LANDED;
             case LANDED -> currentStatus = AirplaneStatus.DEPARTING;
             case DEPARTING -> throw new AirplaneException("Cannot upgrade DEPARTING status");
         }
+        FlightStatusEvent event = new FlightStatusEvent();
+        if (event.isEnabled()) {
+            long now = System.nanoTime();
+            if (event.shouldCommit()) {
+                event.flight = flightNumber;
+                event.from = previousStatus.name();
+                event.to = currentStatus.name();
+                event.runway = currentAllocatedRunway != null ? currentAllocatedRunway.getRunwayNumber() : 0;
+                event.timeInPreviousStatus = statusSince != 0 ? now - statusSince : 0;
+                event.commit();
+            }
+            statusSince = now;
+        }
+        if (statusListener != null) statusListener.statusChanged(this, previousStatus);
     }
 
     // Overrides
@@ -174,7 +313,7 @@ public class Airplane {
      */
     @Override
     public String toString() {
-        StringBuilder output = new StringBuilder("Number: " + flightNumber + "\tOrigin City: " + originCity + "\tFlight Status: " + currentStatus);
+        StringBuilder output = new StringBuilder("Number: " + flightNumber + "\tOrigin City: " + getOriginCity() + "\tFlight Status: " + currentStatus);
         if (currentAllocatedRunway != null) {
             output.append("\tRunway: ").append(currentAllocatedRunway);
         }
@@ -0,0 +1,21 @@
+package com.project.airportsimulator.airplane;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+/**
+ * Listener notified when the status of an airplane is upgraded.
+ *
+ * @author Dhairya
+ * @since December 2, 2023
+ */
+@FunctionalInterface
+public interface AirplaneStatusListener {
+
+    /**
+     * Called after the status of an airplane changed.
+     *
+     * @param airplane       The airplane whose status changed
+     * @param previousStatus The status before the change
+     */
+    void statusChanged(Airplane airplane, AirplaneStatus previousStatus);
+}
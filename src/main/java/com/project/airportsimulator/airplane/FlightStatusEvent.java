@@ -0,0 +1,48 @@
+package com.project.airportsimulator.airplane;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted by {@link Airplane#upgradeStatus()} for every status transition.
+ *
+ * @author Dhairya
+ * @since December 14, 2023
+ */
+@Name("com.project.airportsimulator.FlightStatus")
+@Label("Flight Status Change")
+@Category({"Airport Simulator", "Flights"})
+@Description("A flight moved on to its next status")
+@StackTrace(false)
+final class FlightStatusEvent extends jdk.jfr.Event {
+    @Label("Flight")
+    String flight;
+
+    @Label("From")
+    String from;
+
+    @Label("To")
+    String to;
+
+    @Label("Runway")
+    @Description("Runway allocated to the flight, 0 if none")
+    int runway;
+
+    @Label("Time In Previous Status")
+    @Description("How long the flight had the previous status, 0 if it changed before recording started")
+    @Timespan
+    long timeInPreviousStatus;
+
+    /**
+     * Checks whether a recording is collecting these events, so callers can skip taking timestamps.
+     *
+     * @return True if the event is enabled
+     */
+    static boolean isRecorded() {
+        return new FlightStatusEvent().isEnabled();
+    }
+}
@@ -4,7 +4,7 @@ import com.project.airportsimulator.airplane.Airplane;
 import com.project.airportsimulator.airplane.enums.AirplaneStatus;
 import com.project.airportsimulator.airport.portexceptions.AirportException;
 
-import java.io.*;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -16,8 +16,18 @@ import java.util.*;
 public class Airport {
     // Attributes
     private Map<String, Airplane> airplanes;    //added planes
-    private Queue<Airplane> waitingQueue;     // list of circling planes waiting to land
+    private LandingQueue waitingQueue;     // circling planes waiting to land, ordered by the landing scheduler
+    private Comparator<? super Airplane> landingScheduler = LandingPriority.FIFO;  // order circling planes land in
     private Runway[] runways;   // Available runways in airport
+    private transient FreeRunwayIndex freeRunways;  // Index of free runways, kept in sync by Runway.book/vacate
+    private AirportJournal journal;     // Journal of state transitions, or null if journaling is off
+    private long journalSequence;       // Last journal record reflected in the current state
+    private StatusIndex statusIndex;    // Planes partitioned by status, null until first listing of a mapped snapshot
+    private Airplane lastPromotedFlight;    // waiting flight given a runway by the last take-off, or null
+    private AirportMetrics metrics;     // Live instrumentation, or null if metrics are off
+    private ChangeFeed changeFeed;      // Ring buffer of state changes for subscribers, or null if not opened
+    private volatile AirportViewPublisher views;    // Publishes immutable views to readers, or null if views are off
+    private boolean batching;           // True while a batch operation runs
 
     // Methods
 
@@ -34,54 +44,365 @@ public class Airport {
             for (int i = 0; i < numberOfRunways; i++) {
                 runways[i] = new Runway(i + 1);
             }
+            attachRunwayIndex();
             airplanes = new HashMap<>();
-            waitingQueue = new PriorityQueue<>();
+            statusIndex = new StatusIndex(List.of());
+            waitingQueue = new LandingQueue(landingScheduler);
         } catch (Exception e) {
             throw new AirportException("Invalid Runway Number set");
         }
     }
 
+    /**
+     * Copies the flights, runways and waiting queue of another airport, see {@link #copy()}
+     */
+    private Airport(Airport source) {
+        runways = new Runway[source.runways.length];
+        for (int i = 0; i < runways.length; i++) {
+            runways[i] = new Runway(i + 1);
+            if (source.runways[i].isAllocated()) runways[i].book();
+        }
+        attachRunwayIndex();
+        airplanes = new HashMap<>((int) (source.airplanes.size() / 0.75f) + 1);
+        for (Airplane airPlane : source.airplanes.values()) {
+            Airplane copy = new Airplane(airPlane.getFlightNumber(), airPlane.getOriginCityId(), airPlane.getDestinationCityId(),
+                    airPlane.getStatus(), airPlane.isAllocatedARunway() ? runways[airPlane.getRunwayNumber() - 1] : null);
+            copy.setEmergency(airPlane.isEmergency());
+            copy.setFuelMinutes(airPlane.getFuelMinutes());
+            copy.setScheduledArrival(airPlane.getScheduledArrival());
+            airplanes.put(copy.getFlightNumber(), copy);
+        }
+        statusIndex = new StatusIndex(airplanes.values());
+        landingScheduler = source.landingScheduler;
+        waitingQueue = new LandingQueue(landingScheduler);
+        for (Airplane airPlane : source.waitingQueue.inLandingOrder()) {
+            waitingQueue.add(airplanes.get(airPlane.getFlightNumber()));
+        }
+    }
+
+    /**
+     * Copies this airport, for example to try out what-if scenarios without touching it
+     *
+     * <p>Flights, runways, the waiting queue and the landing scheduler are copied in one pass. The
+     * copy has no journal, metrics, change feed or views, and changing it does not change this
+     * airport.
+     *
+     * @return The independent copy
+     */
+    public Airport copy() {
+        return new Airport(this);
+    }
+
     /**
      * This constructor is used to load airport data from a local stored file
      *
      * @param fileName The name of locally stored file
-     * @throws IOException            if any problem with opening and loading given file
-     * @throws ClassNotFoundException if type of object differs from the right type required
+     * @throws IOException if any problem with opening and loading given file
      */
-    public Airport(String fileName) throws IOException, ClassNotFoundException {
+    public Airport(String fileName) throws IOException {
         load(fileName);
     }
 
     /**
-     * Loads airport data from file
+     * This constructor is used to load airport data from a local stored file, optionally memory-mapped
+     *
+     * @param fileName     The name of locally stored file
+     * @param memoryMapped True to map the file and create planes lazily, see {@link #loadMapped(String)}
+     * @throws IOException if any problem with opening and loading given file
+     */
+    public Airport(String fileName, boolean memoryMapped) throws IOException {
+        if (memoryMapped) {
+            loadMapped(fileName);
+        } else {
+            load(fileName);
+        }
+    }
+
+    /**
+     * Loads airport data from a snapshot file written by {@link #save(String)}
      *
      * @param fileName The name of locally stored file
-     * @throws IOException            if any problem with opening and loading given file
-     * @throws ClassNotFoundException if type of object differs from the right type required
+     * @throws IOException if any problem with opening and loading given file, or if it is not a supported snapshot
+     */
+    public final void load(String fileName) throws IOException {
+        AirportSnapshot snapshot = AirportSnapshot.read(fileName);
+        closeMapping();
+        airplanes = snapshot.airplanes;
+        restoreWaitingQueue(snapshot.waitingQueue);
+        runways = snapshot.runways;
+        journalSequence = snapshot.journalSequence;
+        statusIndex = new StatusIndex(airplanes.values());
+        attachRunwayIndex();
+        if (changeFeed != null) changeFeed.publish(ChangeType.RESET, null, 0);
+        reloadViews();
+    }
+
+    /**
+     * Loads airport data by memory-mapping a snapshot file written by {@link #save(String)}
+     *
+     * <p>Only runways and waiting planes are created up front. Other planes are created when first
+     * looked up, and all of them once the arrivals or departures are listed. The file must not be
+     * changed by other programs while mapped.
+     *
+     * @param fileName The name of locally stored file
+     * @throws IOException if any problem with mapping the given file, or if it is not a supported snapshot
+     */
+    public final void loadMapped(String fileName) throws IOException {
+        AirportSnapshot snapshot = AirportSnapshot.map(fileName);
+        closeMapping();
+        airplanes = snapshot.airplanes;
+        restoreWaitingQueue(snapshot.waitingQueue);
+        runways = snapshot.runways;
+        journalSequence = snapshot.journalSequence;
+        statusIndex = null;     // built on first listing, so loading stays lazy
+        attachRunwayIndex();
+        if (changeFeed != null) changeFeed.publish(ChangeType.RESET, null, 0);
+        reloadViews();
+    }
+
+    /**
+     * Unmaps the snapshot the flights were loaded from, if they are being replaced before all were read
+     */
+    private void closeMapping() {
+        if (airplanes instanceof LazyAirplaneMap lazyAirplanes) lazyAirplanes.close();
+    }
+
+    /**
+     * Rebuilds the waiting queue from planes in their saved landing order
+     */
+    private void restoreWaitingQueue(List<Airplane> waiting) {
+        waitingQueue = new LandingQueue(landingScheduler);
+        for (Airplane airPlane : waiting) {
+            waitingQueue.add(airPlane);
+        }
+    }
+
+    /**
+     * Saves flights, their statuses, runway occupancy and waiting queue order to a compact binary snapshot
+     *
+     * <p>If a journal is open, its records are dropped once the snapshot is safely on disk.
+     *
+     * @param fileName The name of the file to write, replaced if it exists
+     * @throws IOException if any problem with writing the file
+     */
+    public void save(String fileName) throws IOException {
+        // Read every plane out of a mapped snapshot and unmap it before the file may get overwritten
+        if (airplanes instanceof LazyAirplaneMap lazyAirplanes) lazyAirplanes.materializeAll();
+        AirportSnapshot.write(fileName, runways, airplanes.values(), waitingQueue.inLandingOrder(), journalSequence);
+        if (journal != null) journal.reset();
+    }
+
+    /**
+     * Opens a write-ahead journal and recovers any state transitions it holds that are newer than the
+     * loaded snapshot. Every later register, land request, land, board and take-off that passes
+     * validation is appended to it before it is applied. If the append fails the operation is not
+     * applied and is rejected with {@link OperationResult#JOURNAL_FAILED}.
+     *
+     * <p>Recovering after a crash means loading the last snapshot and opening its journal again. An
+     * airport started without a snapshot must use the same number of runways as when the journal was
+     * written, and every airport must use the same landing scheduler. Records are forced to disk
+     * together once per sync interval, so a crash loses at most that interval of operations.
+     *
+     * @param fileName           The name of the journal file, created if missing
+     * @param syncIntervalMillis The time between syncs of the journal to disk
+     * @throws IOException      if any problem with opening or reading the journal
+     * @throws AirportException if a journal is already open or a record cannot be replayed
      */
-    public void load(String fileName) throws IOException, ClassNotFoundException {
-        // File closes safely
-        // Assumes that objects are stored in right format to load the data successfully
-        try (FileInputStream input = new FileInputStream(fileName);
-             ObjectInputStream objectInput = new ObjectInputStream(input)) {
-            airplanes = (Map<String, Airplane>) objectInput.readObject();
-            waitingQueue = (Queue<Airplane>) objectInput.readObject();
-            runways = (Runway[]) objectInput.readObject();
+    public void openJournal(String fileName, long syncIntervalMillis) throws IOException {
+        if (journal != null) {
+            throw new AirportException("Journal already open");
         }
+        journal = AirportJournal.open(fileName, syncIntervalMillis, journalSequence, (sequence, operation, flightNumber, text, number) -> {
+            if (sequence > journalSequence) {
+                replayRecord(operation, flightNumber, text, number);
+                journalSequence = sequence;
+            }
+        });
+    }
+
+    /**
+     * Forces every journaled state transition to disk
+     *
+     * @throws IOException if any problem with writing the journal
+     */
+    public void syncJournal() throws IOException {
+        if (journal != null) journal.sync();
     }
 
     /**
+     * Syncs and closes the journal. Later state transitions are no longer journaled.
      *
-     * @param fileName
-     * @throws IOException
+     * @throws IOException if any problem with writing or closing the journal
+     */
+    public void closeJournal() throws IOException {
+        if (journal != null) {
+            try {
+                journal.close();
+            } finally {
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Publishes a changed flight to the change feed and the views
      */
-    public void save(String fileName) throws IOException{
-        // File closes safely
-        try (FileOutputStream output = new FileOutputStream(fileName);
-             ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
-            objectOutput.writeObject(airplanes);
-            objectOutput.writeObject(waitingQueue);
-            objectOutput.writeObject(runways);
+    private void fireUpdated(Airplane airPlane) {
+        if (changeFeed != null) {
+            changeFeed.publish(ChangeType.FLIGHT_UPDATED, airPlane, airPlane.isAllocatedARunway() ? airPlane.getRunwayNumber() : 0);
+        }
+        AirportViewPublisher views = this.views;
+        if (views != null) {
+            views.flightChanged(airPlane);
+            if (!batching) views.publish(waitingQueue.size());
+        }
+    }
+
+    /**
+     * Starts a batch operation, which publishes one view once it is done
+     */
+    private void beginBatch() {
+        batching = true;
+    }
+
+    /**
+     * Publishes the removal of a flight to the change feed and the views
+     */
+    private void fireRemoved(Airplane airPlane) {
+        if (changeFeed != null) changeFeed.publish(ChangeType.FLIGHT_REMOVED, airPlane, 0);
+        if (views != null) views.flightRemoved(airPlane);   // published once the operation is complete
+    }
+
+    /**
+     * Opens a feed of every state change of this airport, which subscribers read from their own
+     * threads at their own pace, so subscribers never slow down operations.
+     *
+     * @param capacity The number of changes kept for slow subscribers, rounded up to a power of two
+     * @return The feed, or the one already open
+     * @throws IllegalArgumentException If the capacity is not positive or too large
+     */
+    public ChangeFeed openChangeFeed(int capacity) {
+        if (changeFeed == null) {
+            changeFeed = new ChangeFeed(capacity);
+        }
+        return changeFeed;
+    }
+
+    /**
+     * Returns the feed of state changes of this airport
+     *
+     * @return The feed, or null if none was opened
+     */
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    /**
+     * Starts publishing immutable {@link AirportView}s of this airport, a new one after every
+     * operation that changed it. Any thread can then take a consistent view in O(1) through
+     * {@link #getView()}, without locks and without slowing down the airport. A memory-mapped
+     * snapshot is fully loaded first.
+     *
+     * @return The current view
+     */
+    public AirportView enableViews() {
+        if (views == null) {
+            views = new AirportViewPublisher(airplanes.values(), runways, waitingQueue.inLandingOrder(), 0);
+        }
+        return views.getView();
+    }
+
+    /**
+     * Stops publishing views. Views already taken stay valid.
+     */
+    public void disableViews() {
+        views = null;
+    }
+
+    /**
+     * Returns the latest view of this airport. Safe to call from any thread.
+     *
+     * @return The view, or null if views are off
+     */
+    public AirportView getView() {
+        AirportViewPublisher views = this.views;
+        return views == null ? null : views.getView();
+    }
+
+    /**
+     * Publishes the changes of a finished operation as a new view, if views are on
+     */
+    private void publishView() {
+        AirportViewPublisher views = this.views;
+        if (views != null && !batching) views.publish(waitingQueue.size());
+    }
+
+    /**
+     * Rebuilds the views after the whole state was replaced, keeping versions growing
+     */
+    private void reloadViews() {
+        AirportViewPublisher views = this.views;
+        if (views != null) {
+            this.views = new AirportViewPublisher(airplanes.values(), runways, waitingQueue.inLandingOrder(), views.getView().getVersion() + 1);
+        }
+    }
+
+    /**
+     * Publishes one view of every flight changed by the finished batch operation
+     */
+    private void endBatch() {
+        batching = false;
+        publishView();
+    }
+
+    /**
+     * Applies a journal record by repeating the operation it describes
+     */
+    private void replayRecord(byte operation, String flightNumber, String text, int number) {
+        switch (operation) {
+            case AirportJournal.REGISTER -> flightRegister(flightNumber, text);
+            case AirportJournal.LAND_REQUEST -> airplaneAssignedRunway(flightNumber);
+            case AirportJournal.LAND -> readyToLand(flightNumber, number);
+            case AirportJournal.BOARD -> readyToBoard(flightNumber, text);
+            case AirportJournal.TAKE_OFF -> readyToTakeOff(flightNumber);
+            case AirportJournal.EMERGENCY -> replayed(declareEmergency(flightNumber));
+            case AirportJournal.FUEL -> replayed(updateFuel(flightNumber, number));
+            case AirportJournal.SCHEDULED_ARRIVAL -> replayed(updateScheduledArrival(flightNumber, Long.parseLong(text)));
+            case AirportJournal.DIVERT -> replayed(divertFlight(flightNumber));
+            default -> throw new AirportException("Unknown journal operation " + operation);
+        }
+    }
+
+    private static void replayed(OperationResult result) {
+        if (!result.isSuccess()) {
+            throw result.exception();
+        }
+    }
+
+    /**
+     * Appends a validated state transition to the journal, if one is open, before it is applied
+     *
+     * @return False if the record could not be written, in which case the transition must not be applied
+     */
+    private boolean log(byte operation, String flightNumber, String text, int number) {
+        if (journal == null) {
+            return true;
+        }
+        try {
+            journalSequence = journal.append(operation, flightNumber, text, number);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds the free runway index for the current runways and attaches every runway to it
+     */
+    private void attachRunwayIndex() {
+        freeRunways = new FreeRunwayIndex(runways.length);
+        for (Runway runway : runways) {
+            runway.attachIndex(freeRunways);
         }
     }
 
@@ -93,101 +414,328 @@ public class Airport {
      * @throws AirportException If flight is already registered with airplane
      */
     public void flightRegister(String flightNumber, String cityOfOrigin) {
+        OperationResult result = tryFlightRegister(flightNumber, cityOfOrigin);
+        if (!result.isSuccess()) {
+            throw result.exception();
+        }
+    }
+
+    /**
+     * Add or register an incoming plane with airport, without throwing if it is rejected
+     *
+     * @param flightNumber The flight number of incoming flight
+     * @param cityOfOrigin The city of origin of flight (from location the flight is coming)
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult tryFlightRegister(String flightNumber, String cityOfOrigin) {
+        long start = clock();
+        OperationResult result = checkRegister(flightNumber, cityOfOrigin);
+        if (result.isSuccess()) {
+            result = register(flightNumber, cityOfOrigin, Long.MAX_VALUE);
+        }
+        return measured(AirportOperation.REGISTER, flightNumber, result, start);
+    }
+
+    /**
+     * Registers a list of incoming planes in one call
+     *
+     * <p>The whole batch is validated before any flight is registered, and a flight that fails
+     * validation, including one listed twice, is reported in the result instead of stopping the
+     * batch. An empty flight map is sized once for the whole batch, and one view is published at the end.
+     *
+     * @param flightNumbers The flight numbers of incoming flights
+     * @param citiesOfOrigin The city of origin of each flight, in the same order
+     * @return The outcome of each flight, in the same order
+     * @throws AirportException If the two lists differ in length
+     */
+    public BatchResult registerFlights(List<String> flightNumbers, List<String> citiesOfOrigin) {
+        return registerFlights(flightNumbers, citiesOfOrigin, null);
+    }
+
+    /**
+     * Registers a list of incoming planes together with their scheduled arrival times in one call
+     *
+     * <p>Works like {@link #registerFlights(List, List)}, and records each flight's scheduled arrival
+     * as {@link #updateScheduledArrival(String, long)} would, without publishing the flight twice.
+     *
+     * @param flightNumbers     The flight numbers of incoming flights
+     * @param citiesOfOrigin    The city of origin of each flight, in the same order
+     * @param scheduledArrivals The scheduled arrival of each flight, {@link Long#MAX_VALUE} for none,
+     *                          or null if no flight has one
+     * @return The outcome of each flight, in the same order
+     * @throws AirportException If the lists differ in length
+     */
+    public BatchResult registerFlights(List<String> flightNumbers, List<String> citiesOfOrigin, long[] scheduledArrivals) {
+        if (flightNumbers.size() != citiesOfOrigin.size()) {
+            throw new AirportException("Got " + flightNumbers.size() + " flights but " + citiesOfOrigin.size() + " cities");
+        }
+        if (scheduledArrivals != null && scheduledArrivals.length < flightNumbers.size()) {
+            throw new AirportException("Got " + flightNumbers.size() + " flights but " + scheduledArrivals.length + " arrival times");
+        }
+        BatchResult result = new BatchResult(flightNumbers.size());
+        Set<String> accepted = HashSet.newHashSet(flightNumbers.size());
+        for (int i = 0; i < flightNumbers.size(); i++) {
+            String flightNumber = flightNumbers.get(i);
+            long start = clock();
+            OperationResult outcome = checkRegister(flightNumber, citiesOfOrigin.get(i));
+            if (outcome.isSuccess() && !accepted.add(flightNumber)) {
+                outcome = OperationResult.ALREADY_REGISTERED;   // listed earlier in the batch
+            }
+            if (!outcome.isSuccess()) {
+                result.set(i, flightNumber, measured(AirportOperation.REGISTER, flightNumber, outcome, start), 0, null);
+            }
+        }
+
+        reserve(accepted.size());
+        beginBatch();
+        try {
+            for (int i = 0; i < flightNumbers.size(); i++) {
+                if (result.getResult(i) != null) continue;      // rejected above
+                String flightNumber = flightNumbers.get(i);
+                long start = clock();
+                OperationResult outcome = register(flightNumber, citiesOfOrigin.get(i), scheduledArrivals == null ? Long.MAX_VALUE : scheduledArrivals[i]);
+                result.set(i, flightNumber, measured(AirportOperation.REGISTER, flightNumber, outcome, start), 0, null);
+            }
+        } finally {
+            endBatch();
+        }
+        return result;
+    }
+
+    private OperationResult checkRegister(String flightNumber, String cityOfOrigin) {
         if (airplanes.containsKey(flightNumber)) {
-            throw new AirportException("flight-" + flightNumber + " already registered with airport.");
+            return OperationResult.ALREADY_REGISTERED;
+        }
+        if (!CityDictionary.getDefault().canIntern(cityOfOrigin)) {
+            return OperationResult.TOO_MANY_CITIES;
+        }
+        return OperationResult.SUCCESS;
+    }
+
+    /**
+     * Registers a validated flight. If the journal takes the registration but not the scheduled
+     * arrival, the flight stays registered as journaled, without the arrival, and the failure is reported.
+     */
+    private OperationResult register(String flightNumber, String cityOfOrigin, long scheduledArrival) {
+        if (!CityDictionary.getDefault().canIntern(cityOfOrigin)) {
+            return OperationResult.TOO_MANY_CITIES;     // filled up by earlier flights of the same batch
         }
+        if (!log(AirportJournal.REGISTER, flightNumber, cityOfOrigin, 0)) {
+            return OperationResult.JOURNAL_FAILED;
+        }
+        OperationResult result = OperationResult.SUCCESS;
         Airplane newAirPlane = new Airplane(flightNumber, cityOfOrigin);
+        if (scheduledArrival != Long.MAX_VALUE) {
+            if (log(AirportJournal.SCHEDULED_ARRIVAL, flightNumber, Long.toString(scheduledArrival), 0)) {
+                newAirPlane.setScheduledArrival(scheduledArrival);
+            } else {
+                result = OperationResult.JOURNAL_FAILED;
+            }
+        }
         airplanes.put(flightNumber, newAirPlane);
+        if (statusIndex != null) statusIndex.add(newAirPlane);
+        fireUpdated(newAirPlane);
+        return result;
     }
 
     /**
+     * Sizes an empty flight map so that the given number of new flights fit without rehashing. A map
+     * already holding flights is left to grow by itself, as copying it would cost more than its
+     * doubling does.
+     */
+    private void reserve(int newFlights) {
+        if (airplanes instanceof HashMap && airplanes.isEmpty() && newFlights > 0) {
+            airplanes = HashMap.newHashMap(newFlights);
+        }
+    }
+
+    /**
+     * Assigns the lowest numbered free runway to a flight requesting to land
      *
-     * @param flightNumber
-     * @return
+     * @param flightNumber The flight number of the flight requesting to land
+     * @return The assigned runway number, or 0 if the flight joined the waiting queue
+     * @throws AirportException If flight is not registered or has already been assigned a runway
      */
     public int airplaneAssignedRunway(String flightNumber) {
-        Runway emptyRunway = null;
-        // Find the next free runway
-        for (Runway nextRunway : runways) {
-            System.out.println(nextRunway.getRunwayNumber());
-            System.out.println(nextRunway.isAllocated());
-            if (!nextRunway.isAllocated()) {
-                emptyRunway = nextRunway;
-                break;
-            }
-        }
-        if (emptyRunway == null) {
-            addToWaitingQueue(flightNumber);    // Add airplane to waiting queue as no runway is available for land
-            return 0;
-        } else {
-            assignRunway(flightNumber, emptyRunway);    // Assign runway to airplane
-            return emptyRunway.getRunwayNumber();   // Return the assigned empty runway number
+        int runwayNumber = tryAirplaneAssignedRunway(flightNumber);
+        if (runwayNumber < 0) {
+            throw OperationResult.fromCode(runwayNumber).exception();
         }
+        return runwayNumber;
     }
 
     /**
+     * Assigns the lowest numbered free runway to a flight requesting to land, without throwing if it
+     * is rejected
      *
-     * @param flightNumber
-     * @return
-     * @throws AirportException
+     * @param flightNumber The flight number of the flight requesting to land
+     * @return The assigned runway number, 0 if the flight joined the waiting queue, or the negative
+     *         {@link OperationResult#getCode() code} of why the flight was rejected
      */
-    private Airplane findAirplane(String flightNumber)
-    {
-        if (!airplanes.containsKey(flightNumber))
-        {
-            throw new AirportException ("Flight-"+flightNumber+" has not been registered yet.");
+    public int tryAirplaneAssignedRunway(String flightNumber) {
+        long start = clock();
+        Airplane airPlane = airplanes.get(flightNumber);
+        OperationResult result = checkLandingRequest(airPlane);
+        if (!result.isSuccess()) {
+            return measured(AirportOperation.LAND_REQUEST, flightNumber, result, start).getCode();
+        }
+        if (!log(AirportJournal.LAND_REQUEST, flightNumber, null, 0)) {
+            return measured(AirportOperation.LAND_REQUEST, flightNumber, OperationResult.JOURNAL_FAILED, start).getCode();
         }
-        return airplanes.get(flightNumber);
+        int runwayNumber = requestLanding(airPlane);
+        measured(AirportOperation.LAND_REQUEST, flightNumber, result, start);
+        return runwayNumber;
     }
 
     /**
+     * Handles landing requests for a list of flights in one call
      *
-     * @param flightNumber
-     * @param emptyRunway
-     * @throws AirportException
+     * <p>The whole batch is validated against the airport as it was before the call, then flights
+     * are served in list order, so earlier flights get the lower numbered runways and later ones join
+     * the waiting queue once every runway is booked. A flight that fails validation, including one
+     * listed twice, is reported in the result instead of stopping the batch. One view is published at
+     * the end.
+     *
+     * @param flightNumbers The flight numbers of the flights requesting to land
+     * @return The outcome of each flight, whose runway number is 0 if it joined the waiting queue
      */
-    private void assignRunway(String flightNumber, Runway emptyRunway){
-        Airplane airPlane = findAirplane(flightNumber);     //throws exception if flight not been registered with airport yet
-        if (airPlane.getStatus().compareTo(AirplaneStatus.WAITING) > 0){
-            throw new AirportException(("Flight-" +flightNumber+ " already at airport with current status "+airPlane.getStatus()));
+    public BatchResult requestLandings(List<String> flightNumbers) {
+        BatchResult result = new BatchResult(flightNumbers.size());
+        Airplane[] accepted = new Airplane[flightNumbers.size()];
+        Set<String> listed = HashSet.newHashSet(flightNumbers.size());
+        for (int i = 0; i < flightNumbers.size(); i++) {
+            String flightNumber = flightNumbers.get(i);
+            long start = clock();
+            Airplane airPlane = airplanes.get(flightNumber);
+            OperationResult outcome = checkLandingRequest(airPlane);
+            if (outcome.isSuccess() && !listed.add(flightNumber)) {
+                outcome = OperationResult.ALREADY_ARRIVED;      // requested earlier in the batch
+            }
+            if (outcome.isSuccess()) {
+                accepted[i] = airPlane;
+            } else {
+                result.set(i, flightNumber, measured(AirportOperation.LAND_REQUEST, flightNumber, outcome, start), 0, null);
+            }
+        }
+
+        beginBatch();
+        try {
+            for (int i = 0; i < flightNumbers.size(); i++) {
+                if (accepted[i] == null) continue;              // rejected above
+                String flightNumber = flightNumbers.get(i);
+                long start = clock();
+                OperationResult outcome = OperationResult.SUCCESS;
+                int runwayNumber = 0;
+                if (log(AirportJournal.LAND_REQUEST, flightNumber, null, 0)) {
+                    runwayNumber = requestLanding(accepted[i]);
+                } else {
+                    outcome = OperationResult.JOURNAL_FAILED;
+                }
+                result.set(i, flightNumber, measured(AirportOperation.LAND_REQUEST, flightNumber, outcome, start), runwayNumber, null);
+            }
+        } finally {
+            endBatch();
+        }
+        return result;
+    }
+
+    private OperationResult checkLandingRequest(Airplane airPlane) {
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        if (freeRunways.freeCount() == 0) {
+            if (airPlane.getStatus() != AirplaneStatus.DUE) {
+                return OperationResult.ALREADY_ARRIVED;
+            }
+        } else {
+            if (airPlane.getStatus().compareTo(AirplaneStatus.WAITING) > 0) {
+                return OperationResult.ALREADY_AT_AIRPORT;
+            }
+            if (airPlane.isAllocatedARunway()) {
+                return OperationResult.RUNWAY_ALREADY_ALLOCATED;
+            }
         }
-        if (airPlane.isAllocatedARunway()){
-            throw new AirportException("Flight-" +flightNumber+ "has already been allocated runway number=" + airPlane.getRunway());
+        return OperationResult.SUCCESS;
+    }
+
+    private int requestLanding(Airplane airPlane) {
+        Runway emptyRunway = getNextFreeRunway();   // Find the next free runway
+        int runwayNumber = 0;
+        if (emptyRunway == null) {
+            airPlane.upgradeStatus();
+            waitingQueue.add(airPlane, metrics != null || QueuePromotionEvent.isRecorded() ? System.nanoTime() : 0);    // Add airplane to waiting queue as no runway is available for land
+        } else {
+            assignRunway(airPlane, emptyRunway);    // Assign runway to airplane
+            runwayNumber = emptyRunway.getRunwayNumber();
         }
+        fireUpdated(airPlane);
+        return runwayNumber;
+    }
+
+    /**
+     *
+     * @param airPlane
+     * @param emptyRunway
+     */
+    private void assignRunway(Airplane airPlane, Runway emptyRunway){
         airPlane.allocateRunway(emptyRunway);
+        if (views != null) views.runwayChanged(emptyRunway.getRunwayNumber(), true);
+        if (changeFeed != null) changeFeed.publish(ChangeType.RUNWAY_BOOKED, airPlane, emptyRunway.getRunwayNumber());
         if (airPlane.getStatus() == AirplaneStatus.DUE) airPlane.upgradeStatus();
     }
 
     /**
      *
      * @param flightNumber
+     * @param runwayNumber
      */
-    private void addToWaitingQueue(String flightNumber){
-        Airplane airPlane = findAirplane(flightNumber); //throws exception if flight not been registered with airport yet
-        if (airPlane.getStatus() != AirplaneStatus.DUE){
-            throw new AirportException("Flight-" +flightNumber+ "has either already arrived at airport or already been assigned runway.");
+    public void readyToLand(String flightNumber, int runwayNumber){
+        OperationResult result = tryReadyToLand(flightNumber, runwayNumber);
+        if (!result.isSuccess()) {
+            throw result.exception();
         }
-        airPlane.upgradeStatus();
-        waitingQueue.add(airPlane);
     }
 
     /**
+     * Lands a flight on its assigned runway, without throwing if it is rejected
      *
-     * @param flightNumber
-     * @param runwayNumber
+     * @param flightNumber The flight number of the landing flight
+     * @param runwayNumber The runway the flight lands on
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
      */
-    public void readyToLand(String flightNumber, int runwayNumber){
-        Airplane airPlane = findAirplane(flightNumber); //throws exception if flight not been registered with airport yet
-        if (airPlane.getRunwayNumber()!=runwayNumber){
-            throw new AirportException("Flight-" +flightNumber+ "is assigned runway number=" +airPlane.getRunway()+ "not runway=" +runwayNumber);
+    public OperationResult tryReadyToLand(String flightNumber, int runwayNumber) {
+        long start = clock();
+        Airplane airPlane = airplanes.get(flightNumber);
+        OperationResult result = checkLand(airPlane, runwayNumber);
+        if (result.isSuccess()) {
+            result = land(airPlane, runwayNumber);
         }
-        if (airPlane.getStatus()==AirplaneStatus.DUE){
-            throw new AirportException("Flight-" +flightNumber+ "has not been assigned runway yet.");
+        return measured(AirportOperation.LAND, flightNumber, result, start);
+    }
+
+    private OperationResult checkLand(Airplane airPlane, int runwayNumber) {
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        if (!airPlane.isAllocatedARunway()) {
+            return OperationResult.RUNWAY_NOT_ASSIGNED;
+        }
+        if (airPlane.getRunwayNumber() != runwayNumber) {
+            return OperationResult.WRONG_RUNWAY;
         }
         if (airPlane.getStatus().compareTo(AirplaneStatus.WAITING) > 0) {   // Check if status of flight is neither landed nor departing
-            throw new AirportException("Flight-" +flightNumber+ "has already landed");
+            return OperationResult.ALREADY_LANDED;
+        }
+        return OperationResult.SUCCESS;
+    }
+
+    private OperationResult land(Airplane airPlane, int runwayNumber) {
+        if (!log(AirportJournal.LAND, airPlane.getFlightNumber(), null, runwayNumber)) {
+            return OperationResult.JOURNAL_FAILED;
         }
         airPlane.upgradeStatus();
+        fireUpdated(airPlane);
+        return OperationResult.SUCCESS;
     }
 
     /**
@@ -196,87 +744,410 @@ public class Airport {
      * @param destination
      */
     public void readyToBoard(String flightNumber, String destination){
-        Airplane airPlane = findAirplane(flightNumber); //throws exception if flight not been registered with airport yet
+        OperationResult result = tryReadyToBoard(flightNumber, destination);
+        if (!result.isSuccess()) {
+            throw result.exception();
+        }
+    }
+
+    /**
+     * Starts boarding a landed flight for its destination, without throwing if it is rejected
+     *
+     * @param flightNumber The flight number of the boarding flight
+     * @param destination  The destination city of the flight
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult tryReadyToBoard(String flightNumber, String destination) {
+        long start = clock();
+        Airplane airPlane = airplanes.get(flightNumber);
+        OperationResult result = checkBoard(airPlane, destination);
+        if (result.isSuccess()) {
+            result = board(airPlane, destination);
+        }
+        return measured(AirportOperation.BOARD, flightNumber, result, start);
+    }
+
+    private OperationResult checkBoard(Airplane airPlane, String destination) {
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
+        }
         // Check if flight landed
-        if (airPlane.getStatus().compareTo(AirplaneStatus.LANDED) < 0){
-            throw new AirportException("Flight-" +flightNumber+ " hasn't landed yet.");
+        if (airPlane.getStatus().compareTo(AirplaneStatus.LANDED) < 0) {
+            return OperationResult.NOT_LANDED;
         }
         // Check if flight already departed
-        if (airPlane.getStatus()==AirplaneStatus.DEPARTING)
-        {
-            throw new AirportException ("Flight-"+flightNumber+" already registered for depart");
+        if (airPlane.getStatus() == AirplaneStatus.DEPARTING) {
+            return OperationResult.ALREADY_BOARDING;
+        }
+        if (!CityDictionary.getDefault().canIntern(destination)) {
+            return OperationResult.TOO_MANY_CITIES;
+        }
+        return OperationResult.SUCCESS;
+    }
+
+    private OperationResult board(Airplane airPlane, String destination) {
+        if (!log(AirportJournal.BOARD, airPlane.getFlightNumber(), destination, 0)) {
+            return OperationResult.JOURNAL_FAILED;
         }
         airPlane.upgradeStatus();
         // Assign destination city
         airPlane.setDestinationCity(destination);
+        fireUpdated(airPlane);
+        return OperationResult.SUCCESS;
     }
 
     /**
      *
      * @param flightNumber
+     * @return
      */
-    private void readyToLeave(String flightNumber){
-        Airplane airPlane = findAirplane(flightNumber); //throws exception if flight not been registered with airport yet
-        // check if plane is ready to leave
-        if (airPlane.getStatus().compareTo(AirplaneStatus.LANDED) < 0){
-            throw new AirportException("Flight-" +flightNumber+ "has not landed yet");
+    public Airplane readyToTakeOff(String flightNumber){
+        OperationResult result = tryReadyToTakeOff(flightNumber);
+        if (!result.isSuccess()) {
+            throw result.exception();
         }
-        if (airPlane.getStatus()==AirplaneStatus.LANDED){
-            throw new AirportException("Flight-" +flightNumber+ "has not started boarding yet.");
+        return lastPromotedFlight;
+    }
+
+    /**
+     * Lets a boarded flight take off, without throwing if it is rejected. The waiting flight given
+     * the freed runway, if any, is returned by {@link #getLastPromotedFlight()}.
+     *
+     * @param flightNumber The flight number of the departing flight
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult tryReadyToTakeOff(String flightNumber) {
+        long start = clock();
+        Airplane airPlane = airplanes.get(flightNumber);
+        OperationResult result = checkTakeOff(airPlane);
+        if (result.isSuccess() && !log(AirportJournal.TAKE_OFF, flightNumber, null, 0)) {
+            result = OperationResult.JOURNAL_FAILED;
         }
-        // Empty runway to assign another flight
-        airPlane.vacateRunway();
-        airplanes.remove(flightNumber);
+        lastPromotedFlight = result.isSuccess() ? takeOff(airPlane) : null;
+        return measured(AirportOperation.TAKE_OFF, flightNumber, result, start);
     }
 
     /**
+     * Returns the waiting flight that was given the runway freed by the last take-off
      *
-     * @param flightNumber
-     * @return
+     * @return The flight, or null if no flight was waiting or the last take-off was rejected
      */
-    public Airplane readyToTakeOff(String flightNumber){
-        readyToLeave(flightNumber);
+    public Airplane getLastPromotedFlight() {
+        return lastPromotedFlight;
+    }
+
+    /**
+     * Lets a list of boarded flights take off in one call
+     *
+     * <p>The whole batch is validated before any flight takes off. Each runway freed by a departing
+     * flight goes to the head of the waiting queue, as with {@link #readyToTakeOff(String)}. A flight
+     * that fails validation, including one listed twice, is reported in the result instead of
+     * stopping the batch. One view is published at the end.
+     *
+     * @param flightNumbers The flight numbers of the departing flights
+     * @return The outcome of each flight, including the waiting flight given its runway, if any
+     */
+    public BatchResult takeOffFlights(List<String> flightNumbers) {
+        BatchResult result = new BatchResult(flightNumbers.size());
+        Airplane[] accepted = new Airplane[flightNumbers.size()];
+        Set<String> listed = HashSet.newHashSet(flightNumbers.size());
+        for (int i = 0; i < flightNumbers.size(); i++) {
+            String flightNumber = flightNumbers.get(i);
+            long start = clock();
+            Airplane airPlane = airplanes.get(flightNumber);
+            OperationResult outcome = checkTakeOff(airPlane);
+            if (outcome.isSuccess() && !listed.add(flightNumber)) {
+                outcome = OperationResult.NOT_REGISTERED;       // taken off earlier in the batch
+            }
+            if (outcome.isSuccess()) {
+                accepted[i] = airPlane;
+            } else {
+                result.set(i, flightNumber, measured(AirportOperation.TAKE_OFF, flightNumber, outcome, start), 0, null);
+            }
+        }
+
+        lastPromotedFlight = null;
+        beginBatch();
+        try {
+            for (int i = 0; i < flightNumbers.size(); i++) {
+                if (accepted[i] == null) continue;              // rejected above
+                String flightNumber = flightNumbers.get(i);
+                long start = clock();
+                OperationResult outcome = OperationResult.SUCCESS;
+                Airplane promoted = null;
+                if (log(AirportJournal.TAKE_OFF, flightNumber, null, 0)) {
+                    promoted = takeOff(accepted[i]);
+                    lastPromotedFlight = promoted;
+                } else {
+                    outcome = OperationResult.JOURNAL_FAILED;
+                }
+                result.set(i, flightNumber, measured(AirportOperation.TAKE_OFF, flightNumber, outcome, start),
+                        promoted != null ? promoted.getRunwayNumber() : 0, promoted);
+            }
+        } finally {
+            endBatch();
+        }
+        return result;
+    }
+
+    private OperationResult checkTakeOff(Airplane airPlane) {
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        // check if plane is ready to leave
+        if (airPlane.getStatus().compareTo(AirplaneStatus.LANDED) < 0) {
+            return OperationResult.NOT_LANDED;
+        }
+        if (airPlane.getStatus() == AirplaneStatus.LANDED) {
+            return OperationResult.NOT_BOARDING;
+        }
+        return OperationResult.SUCCESS;
+    }
+
+    private Airplane takeOff(Airplane airPlane) {
+        // Empty runway to assign another flight
+        airPlane.vacateRunway();
+        if (changeFeed != null) changeFeed.publish(ChangeType.RUNWAY_VACATED, airPlane, airPlane.getRunwayNumber());
+        if (views != null) views.runwayChanged(airPlane.getRunwayNumber(), false);
+        airplanes.remove(airPlane.getFlightNumber());
+        if (statusIndex != null) statusIndex.remove(airPlane);
+        fireRemoved(airPlane);
 
         // Check if there is a flight waiting for land
         Airplane nextAirplane = getNextAvailableFlight();
         if (nextAirplane!=null){
-            Runway emptyRunway = getNextFreeRunway();
-            assignRunway(nextAirplane.getFlightNumber(), emptyRunway);
+            recordHold();
+            assignRunway(nextAirplane, getNextFreeRunway());
+            recordPromotion(airPlane, nextAirplane);
+            fireUpdated(nextAirplane);
             return nextAirplane;
         }
         // No airplane waiting to land
         else{
+            publishView();
             return null;
         }
     }
 
     /**
+     * Sets the order in which circling planes land, such as one of {@link LandingPriority}. Planes
+     * already waiting are reordered. Planes the scheduler ranks equal land in the order they arrived.
      *
-     * @return
+     * @param scheduler The landing order, the plane comparing lowest lands first
      */
-    private Runway getNextFreeRunway() {
-        for (Runway runwayEmpty : runways)
-        {
-            if (!runwayEmpty.isAllocated())
-            {
-                return runwayEmpty;
-            }
+    public void setLandingScheduler(Comparator<? super Airplane> scheduler) {
+        landingScheduler = Objects.requireNonNull(scheduler);
+        waitingQueue.setScheduler(scheduler);
+    }
+
+    /**
+     * Returns the order in which circling planes land
+     *
+     * @return The landing scheduler, {@link LandingPriority#FIFO} unless changed
+     */
+    public Comparator<? super Airplane> getLandingScheduler() {
+        return landingScheduler;
+    }
+
+    /**
+     * Marks a flight as being in an emergency, moving it forward in the waiting queue if the landing
+     * scheduler ranks emergencies
+     *
+     * @param flightNumber The flight number
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult declareEmergency(String flightNumber) {
+        Airplane airPlane = airplanes.get(flightNumber);
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        if (!log(AirportJournal.EMERGENCY, flightNumber, null, 0)) {
+            return OperationResult.JOURNAL_FAILED;
         }
-        return null;
+        airPlane.setEmergency(true);
+        reprioritize(airPlane);
+        return OperationResult.SUCCESS;
     }
 
     /**
+     * Records the minutes of fuel a flight has left, moving it in the waiting queue if the landing
+     * scheduler ranks fuel
      *
-     * @return
+     * @param flightNumber The flight number
+     * @param fuelMinutes  The minutes of fuel left
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
      */
-    private Airplane getNextAvailableFlight() {
-        if (!waitingQueue.isEmpty()){
-            Airplane nextPlaneToLand = waitingQueue.poll();
-            return nextPlaneToLand;
+    public OperationResult updateFuel(String flightNumber, int fuelMinutes) {
+        Airplane airPlane = airplanes.get(flightNumber);
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
         }
-        else{
-            return null;
+        if (!log(AirportJournal.FUEL, flightNumber, null, fuelMinutes)) {
+            return OperationResult.JOURNAL_FAILED;
+        }
+        airPlane.setFuelMinutes(fuelMinutes);
+        reprioritize(airPlane);
+        return OperationResult.SUCCESS;
+    }
+
+    /**
+     * Records the scheduled arrival time of a flight, moving it in the waiting queue if the landing
+     * scheduler ranks arrival times
+     *
+     * @param flightNumber     The flight number
+     * @param scheduledArrival The scheduled arrival time
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult updateScheduledArrival(String flightNumber, long scheduledArrival) {
+        Airplane airPlane = airplanes.get(flightNumber);
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        if (!log(AirportJournal.SCHEDULED_ARRIVAL, flightNumber, Long.toString(scheduledArrival), 0)) {
+            return OperationResult.JOURNAL_FAILED;
         }
+        airPlane.setScheduledArrival(scheduledArrival);
+        reprioritize(airPlane);
+        return OperationResult.SUCCESS;
+    }
+
+    /**
+     * Moves a changed plane to its new place in the waiting queue, if it is waiting, and reports the change
+     */
+    private void reprioritize(Airplane airPlane) {
+        waitingQueue.update(airPlane);
+        fireUpdated(airPlane);
+    }
+
+    /**
+     * Sends a circling flight to another airport, removing it from the waiting queue and the airport
+     *
+     * @param flightNumber The flight number
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult divertFlight(String flightNumber) {
+        Airplane airPlane = airplanes.get(flightNumber);
+        if (airPlane == null) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        if (!waitingQueue.contains(airPlane)) {
+            return OperationResult.NOT_WAITING;
+        }
+        if (!log(AirportJournal.DIVERT, flightNumber, null, 0)) {
+            return OperationResult.JOURNAL_FAILED;
+        }
+        waitingQueue.remove(airPlane);
+        if (metrics != null) {
+            recordHold();
+            metrics.recordState(runways.length - freeRunways.freeCount(), waitingQueue.size());
+        }
+        airplanes.remove(flightNumber);
+        if (statusIndex != null) statusIndex.remove(airPlane);
+        fireRemoved(airPlane);
+        publishView();
+        return OperationResult.SUCCESS;
+    }
+
+    /**
+     * Turns on live metrics of flight operations, runway utilisation and the waiting queue. While
+     * they are off, operations skip all measuring.
+     *
+     * @return The metrics, newly started unless they were already on
+     */
+    public AirportMetrics enableMetrics() {
+        if (metrics == null) {
+            metrics = new AirportMetrics(runways.length, runways.length - freeRunways.freeCount(), waitingQueue.size());
+        }
+        return metrics;
+    }
+
+    /**
+     * Turns off live metrics. Metrics already handed out keep their last values.
+     */
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    /**
+     * Returns the live metrics of this airport
+     *
+     * @return The metrics, or null if they are off
+     */
+    public AirportMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the start time of an operation, or 0 if neither metrics nor a flight recording need it
+     */
+    private long clock() {
+        return metrics != null || AirportOperationEvent.isRecorded() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a finished operation if metrics are on, and emits its flight recorder event if one is being recorded
+     *
+     * @return The result, for chaining
+     */
+    private OperationResult measured(AirportOperation operation, String flightNumber, OperationResult result, long start) {
+        if (metrics != null) {
+            metrics.record(operation, result, start, runways.length - freeRunways.freeCount(), waitingQueue.size());
+        }
+        AirportOperationEvent event = new AirportOperationEvent();
+        if (event.shouldCommit()) {
+            Airplane airPlane = airplanes.get(flightNumber);
+            event.operation = operation.name();
+            event.flight = flightNumber;
+            event.result = result.name();
+            event.runway = airPlane != null && airPlane.isAllocatedARunway() ? airPlane.getRunwayNumber() : 0;
+            event.latency = start != 0 ? System.nanoTime() - start : 0;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Emits the flight recorder event of a waiting flight given the runway of a departing one, if one is being recorded
+     */
+    private void recordPromotion(Airplane departed, Airplane promoted) {
+        QueuePromotionEvent event = new QueuePromotionEvent();
+        if (event.shouldCommit()) {
+            long since = waitingQueue.lastRemovedSince();
+            event.departedFlight = departed.getFlightNumber();
+            event.promotedFlight = promoted.getFlightNumber();
+            event.runway = promoted.getRunwayNumber();
+            event.holdTime = since != 0 ? System.nanoTime() - since : 0;
+            event.stillWaiting = waitingQueue.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Records how long the plane just taken out of the waiting queue circled, if it was measured
+     */
+    private void recordHold() {
+        long since = waitingQueue.lastRemovedSince();
+        if (metrics != null && since != 0) {
+            metrics.recordHold(System.nanoTime() - since);
+        }
+    }
+
+    /**
+     * Returns the lowest numbered free runway without scanning the runway array
+     *
+     * @return The free runway, or null if every runway is booked
+     */
+    private Runway getNextFreeRunway() {
+        int runwayNumber = freeRunways.lowestFree();
+        return runwayNumber == 0 ? null : runways[runwayNumber - 1];
+    }
+
+    /**
+     *
+     * @return
+     */
+    private Airplane getNextAvailableFlight() {
+        return waitingQueue.poll();     // null if no plane is waiting
     }
 
     public int getNumberOfRunways(){return runways.length;}
@@ -284,36 +1155,32 @@ public class Airport {
     /**
      * Returns all the planes due for arrival
      *
-     * @return
+     * @return A live read-only view of every plane not departing
      */
     public Set<Airplane> getAllArrivals(){
-        Set<Airplane> airplaneSet = new HashSet<>();
-        Set<String> airplaneNumberSet = airplanes.keySet();
-        for (String airplaneNumber: airplaneNumberSet){
-            Airplane airPlane = airplanes.get(airplaneNumber);
-            if (airPlane.getStatus()!=AirplaneStatus.DEPARTING){
-                airplaneSet.add(airPlane);
-            }
-        }
-        return airplaneSet;
+        return statusIndex().arrivals();
     }
 
 
     /**
      * Returns all the planes due for departure
      *
-     * @return
+     * @return A live read-only view of every departing plane
      */
     public Set<Airplane> getAllDepartures(){
-        Set<Airplane> airplaneSet = new HashSet<>();
-        Set<String> airplaneNumberSet = airplanes.keySet();
-        for (String airplaneNumber: airplaneNumberSet){
-            Airplane airPlane = airplanes.get(airplaneNumber);
-            if (airPlane.getStatus()==AirplaneStatus.DEPARTING){
-                airplaneSet.add(airPlane);
-            }
+        return statusIndex().departures();
+    }
+
+    /**
+     * Returns the status index, building it first for a memory-mapped airport
+     *
+     * @return The status index
+     */
+    private StatusIndex statusIndex() {
+        if (statusIndex == null) {
+            statusIndex = new StatusIndex(airplanes.values());  // creates every plane still in a mapped snapshot
         }
-        return airplaneSet;
+        return statusIndex;
     }
 
 }
@@ -0,0 +1,90 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+/**
+ * One state change of an {@link Airport}, as read from a {@link ChangeFeed}.
+ *
+ * <p>Instances are preallocated and reused: the feed overwrites its slots as it wraps around, and a
+ * subscription hands every change to its handler in one of the same two instances. Copy any field
+ * that must outlive the handler call.
+ *
+ * @author Dhairya
+ * @since December 15, 2023
+ */
+public final class AirportChange {
+    // Attributes
+    long sequence;              // Position of the change in the feed, from 0
+    ChangeType type;            // Kind of change
+    Airplane airplane;          // Changed flight, null for RESET
+    String flightNumber;        // Flight number, null for RESET
+    AirplaneStatus status;      // Status of the flight when it changed, null for RESET
+    int runwayNumber;           // Runway of the flight or the runway booked or vacated, 0 if none
+
+    AirportChange() {
+    }
+
+    /**
+     * Copies every field of another change into this one.
+     *
+     * @param other The change to copy
+     */
+    void copyFrom(AirportChange other) {
+        sequence = other.sequence;
+        type = other.type;
+        airplane = other.airplane;
+        flightNumber = other.flightNumber;
+        status = other.status;
+        runwayNumber = other.runwayNumber;
+    }
+
+    /**
+     * Gets the position of the change in the feed.
+     *
+     * @return The sequence number, counting from 0
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the changed flight. This is the live airplane, which may have changed again since.
+     *
+     * @return The airplane, or null for {@link ChangeType#RESET}
+     */
+    public Airplane getAirplane() {
+        return airplane;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    /**
+     * Gets the status of the flight at the time of the change.
+     *
+     * @return The status, or null for {@link ChangeType#RESET}
+     */
+    public AirplaneStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the runway of the flight at the time of the change, or the runway booked or vacated.
+     *
+     * @return The runway number, or 0 if none
+     */
+    public int getRunwayNumber() {
+        return runwayNumber;
+    }
+
+    @Override
+    public String toString() {
+        return sequence + " " + type + (flightNumber == null ? "" : " " + flightNumber + " " + status + " runway=" + runwayNumber);
+    }
+}
@@ -0,0 +1,314 @@
+package com.project.airportsimulator.airport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only write-ahead journal of airport state transitions.
+ *
+ * <p>The file starts with an int magic and a short version, followed by one record per successful
+ * mutating call. Each record is an int payload length, an int CRC32C of the payload and the payload:
+ * long sequence, byte operation, string flight number, string text and var-int number, encoded as
+ * in {@link SnapshotOutput}. A torn or corrupt record at the tail is dropped when the journal is
+ * opened.
+ *
+ * <p>Appends only copy the record into a buffer. A background thread writes the buffer out and
+ * forces it to disk once per sync interval, so many records share one fsync (group commit) and at
+ * most one interval of records can be lost in a crash.
+ *
+ * @author Dhairya
+ * @since December 1, 2023
+ */
+class AirportJournal implements AutoCloseable {
+    static final int MAGIC = 0x41504A4C;    // "APJL"
+    static final short VERSION = 1;
+    private static final int HEADER_SIZE = 6;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Operations
+    static final byte REGISTER = 1;         // flight number, origin city
+    static final byte LAND_REQUEST = 2;     // flight number
+    static final byte LAND = 3;             // flight number, runway number
+    static final byte BOARD = 4;            // flight number, destination city
+    static final byte TAKE_OFF = 5;         // flight number
+    static final byte EMERGENCY = 6;        // flight number
+    static final byte FUEL = 7;             // flight number, minutes of fuel left
+    static final byte SCHEDULED_ARRIVAL = 8;    // flight number, scheduled arrival time as decimal text
+    static final byte DIVERT = 9;           // flight number
+
+    /**
+     * Receives the records of a journal while it is being opened.
+     */
+    interface Replay {
+        void apply(long sequence, byte operation, String flightNumber, String text, int number);
+    }
+
+    // Attributes
+    private final FileChannel channel;                  // Journal file, positioned at its end
+    private final ByteBuffer pending;                    // Records appended but not yet written to the channel
+    private ByteBuffer record;                          // Scratch space for encoding one record
+    private final CRC32C checksum = new CRC32C();       // Checksum of the record being encoded
+    private final ScheduledExecutorService syncer;      // Writes and forces pending records once per interval
+    private long nextSequence;                          // Sequence number of the next appended record
+    private boolean dirty;                              // True if records were appended since the last sync
+    private volatile IOException syncFailure;           // Failure of the background sync, reported on next append
+
+    private AirportJournal(FileChannel channel, long nextSequence, long syncIntervalMillis) {
+        this.channel = channel;
+        this.pending = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.record = ByteBuffer.allocate(256);
+        this.nextSequence = nextSequence;
+        this.syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "airport-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::backgroundSync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens or creates a journal, hands every intact record to the replay callback and positions the
+     * journal for appending after the last intact record.
+     *
+     * @param fileName           The journal file
+     * @param syncIntervalMillis The time between background syncs to disk
+     * @param appliedSequence    The last sequence number already reflected in the caller's state
+     * @param replay             Receives the existing records in order
+     * @return The journal, ready for appends
+     * @throws IOException If the file cannot be opened or is not a journal
+     */
+    static AirportJournal open(String fileName, long syncIntervalMillis, long appliedSequence, Replay replay) throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long lastSequence = 0;
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                channel.force(true);
+            } else {
+                lastSequence = replayRecords(channel, fileName, replay);
+            }
+            channel.position(channel.size());
+            return new AirportJournal(channel, Math.max(lastSequence, appliedSequence) + 1, syncIntervalMillis);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static long replayRecords(FileChannel channel, String fileName, Replay replay) throws IOException {
+        SnapshotInput input = new SnapshotInput(channel.position(0));
+        if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+            throw new IOException(fileName + " is not a supported airport journal");
+        }
+        CRC32C checksum = new CRC32C();
+        long size = channel.size();
+        long validEnd = HEADER_SIZE;
+        long lastSequence = 0;
+        while (size - validEnd >= 8) {
+            int length = input.readInt();
+            int expected = input.readInt();
+            if (length < 0 || length > size - validEnd - 8) {
+                break;      // torn record
+            }
+            byte[] payload = new byte[length];
+            input.readBytes(payload);
+            checksum.reset();
+            checksum.update(payload);
+            if ((int) checksum.getValue() != expected) {
+                break;      // corrupt record
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            long sequence = buffer.getLong();
+            byte operation = buffer.get();
+            String flightNumber = getString(buffer);
+            String text = getString(buffer);
+            int number = getVarInt(buffer);
+            replay.apply(sequence, operation, flightNumber, text, number);
+            lastSequence = sequence;
+            validEnd += 8 + length;
+        }
+        if (validEnd < size) {
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Appends a record. The record becomes durable at the next sync.
+     *
+     * @param operation    The operation performed
+     * @param flightNumber The flight it was performed on
+     * @param text         The city argument, or null
+     * @param number       The runway argument, or 0
+     * @return The sequence number of the record
+     * @throws IOException If the record, or an earlier background sync, could not be written
+     */
+    synchronized long append(byte operation, String flightNumber, String text, int number) throws IOException {
+        IOException failure = syncFailure;
+        if (failure != null) {
+            throw failure;
+        }
+        long sequence = nextSequence++;
+        record.clear();
+        record.position(8);
+        record.putLong(sequence);
+        record.put(operation);
+        putString(flightNumber);
+        putString(text);
+        putVarInt(number);
+        int length = record.position() - 8;
+        checksum.reset();
+        checksum.update(record.array(), 8, length);
+        record.putInt(0, length);
+        record.putInt(4, (int) checksum.getValue());
+        record.flip();
+
+        if (record.remaining() > pending.remaining()) {
+            writePending();
+        }
+        if (record.remaining() > pending.capacity()) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } else {
+            pending.put(record);
+        }
+        dirty = true;
+        return sequence;
+    }
+
+    /**
+     * Writes every appended record and forces it to disk.
+     *
+     * @throws IOException If the journal cannot be written
+     */
+    void sync() throws IOException {
+        synchronized (this) {
+            writePending();
+            dirty = false;
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Drops every record, used once a snapshot containing them has been saved.
+     *
+     * @throws IOException If the journal cannot be truncated
+     */
+    synchronized void reset() throws IOException {
+        pending.clear();
+        dirty = false;
+        channel.truncate(HEADER_SIZE);
+        channel.position(HEADER_SIZE);
+        channel.force(true);
+    }
+
+    /**
+     * Returns the sequence number of the last appended record.
+     *
+     * @return The last sequence number, or 0 if none
+     */
+    synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Syncs the journal, stops the background thread and closes the file.
+     *
+     * @throws IOException If the journal cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        syncer.shutdown();
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void backgroundSync() {
+        try {
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                writePending();
+                dirty = false;
+            }
+            channel.force(false);   // outside the lock so appends are not blocked by the disk
+        } catch (IOException e) {
+            syncFailure = e;
+        }
+    }
+
+    private void writePending() throws IOException {
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        pending.clear();
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            putVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarInt(bytes.length + 1);
+        ensure(bytes.length);
+        record.put(bytes);
+    }
+
+    private void putVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            record.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        record.put((byte) value);
+    }
+
+    private void ensure(int bytes) {
+        if (record.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes));
+            record.flip();
+            larger.put(record);
+            record = larger;
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = getVarInt(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte next = buffer.get();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+    }
+}
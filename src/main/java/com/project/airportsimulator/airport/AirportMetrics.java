@@ -0,0 +1,377 @@
+package com.project.airportsimulator.airport;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live instrumentation of an {@link Airport}, enabled through {@link Airport#enableMetrics()}.
+ *
+ * <p>Counts every flight operation and records its latency in a {@link LatencyHistogram}, counts
+ * rejections by {@link OperationResult}, and tracks runway utilisation (current and averaged over
+ * time), the depth of the waiting queue and how long flights circle before they get a runway.
+ *
+ * <p>Metrics are written only by the thread driving the airport, without locks or allocation, and
+ * may be read from any thread: pull a consistent copy with {@link #snapshot()}, or publish them over
+ * JMX with {@link #registerMBean(String)}. While metrics are disabled the airport skips all of this
+ * behind a single null check.
+ *
+ * @author Dhairya
+ * @since December 13, 2023
+ */
+public class AirportMetrics implements AirportMetricsMXBean {
+    private static final AirportOperation[] OPERATIONS = AirportOperation.values();
+    private static final OperationResult[] RESULTS = OperationResult.values();
+
+    // Gauge slots
+    private static final int BOOKED = 0;            // runways booked now
+    private static final int WAITING = 1;           // flights circling now
+    private static final int MAX_WAITING = 2;       // most flights circling at once
+    private static final int BUSY = 3;              // booked runway-nanoseconds so far, as double bits
+    private static final int LAST_CHANGE = 4;       // time of the last gauge update
+    private static final int STARTED = 5;           // time metrics were enabled or reset
+    private static final int GAUGES = 6;
+
+    // Attributes
+    private final int numberOfRunways;              // runways of the airport
+    private final AtomicLongArray operationCounts = new AtomicLongArray(OPERATIONS.length);  // per operation
+    private final AtomicLongArray rejectionCounts = new AtomicLongArray(RESULTS.length);    // per failed result
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];  // per operation
+    private final LatencyHistogram holdTimes = new LatencyHistogram();    // time from joining the queue to a runway
+    private final AtomicLongArray gauges = new AtomicLongArray(GAUGES);
+    private volatile boolean resetRequested;        // set by readers, carried out by the recording thread
+    private ObjectName objectName;                  // name registered with JMX, or null
+
+    /**
+     * Constructs metrics for an airport in the given state.
+     *
+     * @param numberOfRunways The number of runways
+     * @param bookedRunways   The number of runways booked now
+     * @param waiting         The number of flights circling now
+     */
+    AirportMetrics(int numberOfRunways, int bookedRunways, int waiting) {
+        this.numberOfRunways = numberOfRunways;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        long now = System.nanoTime();
+        gauges.set(BOOKED, bookedRunways);
+        gauges.set(WAITING, waiting);
+        gauges.set(MAX_WAITING, waiting);
+        gauges.set(LAST_CHANGE, now);
+        gauges.set(STARTED, now);
+    }
+
+    /**
+     * Records a finished operation and the airport state after it.
+     *
+     * @param operation     The operation
+     * @param result        Its outcome
+     * @param startNanos    The {@link System#nanoTime()} the operation started at
+     * @param bookedRunways The number of runways booked after the operation
+     * @param waiting       The number of flights circling after the operation
+     */
+    void record(AirportOperation operation, OperationResult result, long startNanos, int bookedRunways, int waiting) {
+        long now = System.nanoTime();
+        if (resetRequested) {
+            clear(now);
+        }
+        int index = operation.ordinal();
+        operationCounts.lazySet(index, operationCounts.get(index) + 1);
+        latencies[index].record(now - startNanos);
+        if (!result.isSuccess()) {
+            int reason = result.ordinal();
+            rejectionCounts.lazySet(reason, rejectionCounts.get(reason) + 1);
+            return;
+        }
+        updateGauges(now, bookedRunways, waiting);
+    }
+
+    /**
+     * Records the airport state after a change outside the measured operations, such as a diversion.
+     *
+     * @param bookedRunways The number of runways booked now
+     * @param waiting       The number of flights circling now
+     */
+    void recordState(int bookedRunways, int waiting) {
+        updateGauges(System.nanoTime(), bookedRunways, waiting);
+    }
+
+    /**
+     * Records how long a flight circled before it got a runway or left the queue.
+     *
+     * @param nanos The time spent in the waiting queue
+     */
+    void recordHold(long nanos) {
+        holdTimes.record(nanos);
+    }
+
+    private void updateGauges(long now, int bookedRunways, int waiting) {
+        // Integrate booked runways over time for the average utilisation
+        long booked = gauges.get(BOOKED);
+        double busy = Double.longBitsToDouble(gauges.get(BUSY)) + (double) booked * (now - gauges.get(LAST_CHANGE));
+        gauges.lazySet(BUSY, Double.doubleToRawLongBits(busy));
+        gauges.lazySet(LAST_CHANGE, now);
+        gauges.lazySet(BOOKED, bookedRunways);
+        gauges.lazySet(WAITING, waiting);
+        if (waiting > gauges.get(MAX_WAITING)) gauges.lazySet(MAX_WAITING, waiting);
+    }
+
+    private void clear(long now) {
+        resetRequested = false;
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            operationCounts.lazySet(i, 0);
+            latencies[i].reset();
+        }
+        for (int i = 0; i < RESULTS.length; i++) {
+            rejectionCounts.lazySet(i, 0);
+        }
+        holdTimes.reset();
+        gauges.lazySet(MAX_WAITING, gauges.get(WAITING));
+        gauges.lazySet(BUSY, Double.doubleToRawLongBits(0));
+        gauges.lazySet(LAST_CHANGE, now);
+        gauges.lazySet(STARTED, now);
+    }
+
+    /**
+     * Copies the current metrics.
+     *
+     * @return An immutable copy
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Publishes these metrics on the platform MBean server.
+     *
+     * @param name The airport name used in the object name, such as the city
+     * @return The object name, {@code com.project.airportsimulator:type=Airport,name=<name>}
+     * @throws JMException If the name is invalid or already taken
+     */
+    public synchronized ObjectName registerMBean(String name) throws JMException {
+        unregisterMBean();
+        ObjectName newName = ObjectName.getInstance("com.project.airportsimulator:type=Airport,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+        objectName = newName;
+        return newName;
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, if registered.
+     *
+     * @throws JMException If the MBean server refuses
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * Starts all counters and histograms afresh. Takes effect with the next recorded operation, so
+     * it is safe to call from any thread.
+     */
+    @Override
+    public void reset() {
+        resetRequested = true;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        Snapshot snapshot = snapshot();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (AirportOperation operation : OPERATIONS) {
+            counts.put(operation.name(), snapshot.getCount(operation));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getRejectionCounts() {
+        Snapshot snapshot = snapshot();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (OperationResult result : RESULTS) {
+            if (!result.isSuccess()) counts.put(result.name(), snapshot.getRejections(result));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Double> getMedianLatencyMicros() {
+        return latencyMicros(50);
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMicros() {
+        return latencyMicros(99);
+    }
+
+    @Override
+    public Map<String, Double> getMaxLatencyMicros() {
+        return latencyMicros(100);
+    }
+
+    private Map<String, Double> latencyMicros(double percentile) {
+        Snapshot snapshot = snapshot();
+        Map<String, Double> latencyMicros = new LinkedHashMap<>();
+        for (AirportOperation operation : OPERATIONS) {
+            LatencyHistogram.Snapshot latency = snapshot.getLatency(operation);
+            long nanos = percentile >= 100 ? latency.getMax() : latency.getValueAtPercentile(percentile);
+            latencyMicros.put(operation.name(), nanos / 1e3);
+        }
+        return latencyMicros;
+    }
+
+    @Override
+    public int getBookedRunways() {
+        return snapshot().getBookedRunways();
+    }
+
+    @Override
+    public double getRunwayUtilization() {
+        return snapshot().getRunwayUtilization();
+    }
+
+    @Override
+    public double getAverageRunwayUtilization() {
+        return snapshot().getAverageRunwayUtilization();
+    }
+
+    @Override
+    public int getWaitingQueueDepth() {
+        return snapshot().getWaitingQueueDepth();
+    }
+
+    @Override
+    public int getMaxWaitingQueueDepth() {
+        return snapshot().getMaxWaitingQueueDepth();
+    }
+
+    @Override
+    public long getHolds() {
+        return snapshot().getHoldTimes().getCount();
+    }
+
+    @Override
+    public double getMeanHoldMillis() {
+        return snapshot().getHoldTimes().getMean() / 1e6;
+    }
+
+    @Override
+    public double getP99HoldMillis() {
+        return snapshot().getHoldTimes().getValueAtPercentile(99) / 1e6;
+    }
+
+    /**
+     * Immutable copy of the metrics at one point in time.
+     */
+    public static final class Snapshot {
+        private final long takenAt;             // System.nanoTime() of the copy
+        private final int numberOfRunways;
+        private final long[] operationCounts = new long[OPERATIONS.length];
+        private final long[] rejectionCounts = new long[RESULTS.length];
+        private final Map<AirportOperation, LatencyHistogram.Snapshot> latencies = new EnumMap<>(AirportOperation.class);
+        private final LatencyHistogram.Snapshot holdTimes;
+        private final long[] gauges = new long[GAUGES];
+
+        private Snapshot(AirportMetrics metrics) {
+            takenAt = System.nanoTime();
+            numberOfRunways = metrics.numberOfRunways;
+            for (int i = 0; i < GAUGES; i++) {
+                gauges[i] = metrics.gauges.get(i);
+            }
+            for (AirportOperation operation : OPERATIONS) {
+                operationCounts[operation.ordinal()] = metrics.operationCounts.get(operation.ordinal());
+                latencies.put(operation, metrics.latencies[operation.ordinal()].snapshot());
+            }
+            for (int i = 0; i < RESULTS.length; i++) {
+                rejectionCounts[i] = metrics.rejectionCounts.get(i);
+            }
+            holdTimes = metrics.holdTimes.snapshot();
+        }
+
+        /**
+         * Gets how often an operation was called, including rejected calls.
+         *
+         * @param operation The operation
+         * @return The call count
+         */
+        public long getCount(AirportOperation operation) {
+            return operationCounts[operation.ordinal()];
+        }
+
+        /**
+         * Gets how often operations were rejected for a reason.
+         *
+         * @param reason The failed result
+         * @return The rejection count, 0 for {@link OperationResult#SUCCESS}
+         */
+        public long getRejections(OperationResult reason) {
+            return rejectionCounts[reason.ordinal()];
+        }
+
+        /**
+         * Gets the latencies of an operation.
+         *
+         * @param operation The operation
+         * @return The latency histogram in nanoseconds
+         */
+        public LatencyHistogram.Snapshot getLatency(AirportOperation operation) {
+            return latencies.get(operation);
+        }
+
+        /**
+         * Gets how long flights circled before they got a runway or were diverted.
+         *
+         * @return The hold time histogram in nanoseconds
+         */
+        public LatencyHistogram.Snapshot getHoldTimes() {
+            return holdTimes;
+        }
+
+        public int getNumberOfRunways() {
+            return numberOfRunways;
+        }
+
+        public int getBookedRunways() {
+            return (int) gauges[BOOKED];
+        }
+
+        /**
+         * Gets the share of runways booked now.
+         *
+         * @return The utilisation from 0 to 1
+         */
+        public double getRunwayUtilization() {
+            return numberOfRunways == 0 ? 0 : (double) gauges[BOOKED] / numberOfRunways;
+        }
+
+        /**
+         * Gets the share of runways booked on average since metrics were enabled or reset.
+         *
+         * @return The time-weighted utilisation from 0 to 1
+         */
+        public double getAverageRunwayUtilization() {
+            long elapsed = takenAt - gauges[STARTED];
+            if (numberOfRunways == 0 || elapsed <= 0) {
+                return getRunwayUtilization();
+            }
+            double busy = Double.longBitsToDouble(gauges[BUSY]) + (double) gauges[BOOKED] * (takenAt - gauges[LAST_CHANGE]);
+            return busy / ((double) numberOfRunways * elapsed);
+        }
+
+        public int getWaitingQueueDepth() {
+            return (int) gauges[WAITING];
+        }
+
+        public int getMaxWaitingQueueDepth() {
+            return (int) gauges[MAX_WAITING];
+        }
+    }
+}
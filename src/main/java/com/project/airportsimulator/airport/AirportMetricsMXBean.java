@@ -0,0 +1,45 @@
+package com.project.airportsimulator.airport;
+
+import java.util.Map;
+
+/**
+ * Management interface through which {@link AirportMetrics} are published over JMX.
+ *
+ * <p>Maps are keyed by {@link AirportOperation} or {@link OperationResult} name. Latencies are in
+ * microseconds and hold times in milliseconds.
+ *
+ * @author Dhairya
+ * @since December 13, 2023
+ */
+public interface AirportMetricsMXBean {
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Long> getRejectionCounts();
+
+    Map<String, Double> getMedianLatencyMicros();
+
+    Map<String, Double> getP99LatencyMicros();
+
+    Map<String, Double> getMaxLatencyMicros();
+
+    int getBookedRunways();
+
+    double getRunwayUtilization();
+
+    double getAverageRunwayUtilization();
+
+    int getWaitingQueueDepth();
+
+    int getMaxWaitingQueueDepth();
+
+    long getHolds();
+
+    double getMeanHoldMillis();
+
+    double getP99HoldMillis();
+
+    /**
+     * Starts all counters and histograms afresh.
+     */
+    void reset();
+}
@@ -0,0 +1,36 @@
+package com.project.airportsimulator.airport;
+
+/**
+ * Enumerated type representing the flight operations of an {@link Airport} that are measured by
+ * {@link AirportMetrics}.
+ *
+ * @author Dhairya
+ * @since December 13, 2023
+ */
+public enum AirportOperation {
+    REGISTER("Register"),
+    LAND_REQUEST("Land request"),
+    LAND("Land"),
+    BOARD("Board"),
+    TAKE_OFF("Take off");
+
+    private final String description;
+
+    /**
+     * Constructor for AirportOperation enum.
+     *
+     * @param description A human-readable description of the operation.
+     */
+    AirportOperation(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get a description of the operation.
+     *
+     * @return A description of the operation.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
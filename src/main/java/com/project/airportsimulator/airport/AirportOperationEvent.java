@@ -0,0 +1,49 @@
+package com.project.airportsimulator.airport;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted for every measured {@link AirportOperation} of an {@link Airport},
+ * including rejected ones.
+ *
+ * @author Dhairya
+ * @since December 14, 2023
+ */
+@Name("com.project.airportsimulator.AirportOperation")
+@Label("Airport Operation")
+@Category({"Airport Simulator", "Operations"})
+@Description("A flight operation ran against an airport")
+@StackTrace(false)
+final class AirportOperationEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Flight")
+    String flight;
+
+    @Label("Result")
+    String result;
+
+    @Label("Runway")
+    @Description("Runway allocated to the flight afterwards, 0 if none")
+    int runway;
+
+    @Label("Latency")
+    @Description("How long the operation took, 0 if recording started during it")
+    @Timespan
+    long latency;
+
+    /**
+     * Checks whether a recording is collecting these events, so callers can skip taking timestamps.
+     *
+     * @return True if the event is enabled
+     */
+    static boolean isRecorded() {
+        return new AirportOperationEvent().isEnabled();
+    }
+}
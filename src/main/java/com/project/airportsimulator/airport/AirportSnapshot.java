@@ -0,0 +1,345 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Versioned binary snapshot of an airport.
+ *
+ * <p>Layout (all values big-endian):
+ * <pre>
+ * header    int magic, short version, int runwayCount, int cityCount, int flightCount, int queueCount,
+ *           long journalSequence (the last journal record included in the snapshot)
+ * runways   ceil(runwayCount / 8) bytes, bit i set if runway i + 1 is booked
+ * cities    cityCount strings, each city name stored once
+ * flights   flightCount records: string flightNumber, var-int originId + 1, var-int destinationId + 1,
+ *           byte status ordinal, var-int runwayNumber (0 if none), byte priority flags (bit 0
+ *           emergency, bit 1 fuel reported, bit 2 arrival scheduled), var-int fuelMinutes if reported,
+ *           long scheduledArrival if scheduled, var-int queuePosition + 1; a stored city id of 0
+ *           stands for null and a stored queue position of 0 for not waiting
+ * queue     queueCount longs, the file offset of each waiting flight's record in queue order
+ * index     int tableSize (a power of two), then tableSize longs: record offset + 1 or 0 for an
+ *           empty slot, open addressing with linear probing on the flight number hash
+ * trailer   long queueOffset, long indexOffset
+ * </pre>
+ * Var-ints and strings are encoded as described in {@link SnapshotOutput}. A file of any other
+ * version, or whose waiting queue does not match its flight records, is rejected.
+ *
+ * @author Dhairya
+ * @since November 29, 2023
+ */
+class AirportSnapshot {
+    static final int MAGIC = 0x41505254;    // "APRT"
+    static final short VERSION = 1;
+    private static final int EMERGENCY = 1;
+    private static final int FUEL_REPORTED = 2;
+    private static final int ARRIVAL_SCHEDULED = 4;
+    private static final int TRAILER_SIZE = 16;
+    private static final AirplaneStatus[] STATUSES = AirplaneStatus.values();
+
+    // Attributes
+    final Runway[] runways;                   // Restored runways with their booking state
+    final Map<String, Airplane> airplanes;    // Restored planes keyed by flight number
+    final List<Airplane> waitingQueue;        // Restored waiting queue in its saved order
+    final long journalSequence;               // Last journal record included in the snapshot
+
+    private AirportSnapshot(Runway[] runways, Map<String, Airplane> airplanes, List<Airplane> waitingQueue, long journalSequence) {
+        this.runways = runways;
+        this.airplanes = airplanes;
+        this.waitingQueue = waitingQueue;
+        this.journalSequence = journalSequence;
+    }
+
+    /**
+     * Writes a snapshot, replacing the file if it exists.
+     *
+     * <p>The snapshot is written to a temporary file, forced to disk and then moved over the target,
+     * so a crash while saving leaves the previous snapshot intact.
+     *
+     * @param fileName        The file to write
+     * @param runways         The runways of the airport
+     * @param airplanes       The registered planes
+     * @param waitingQueue    The waiting queue, in landing order
+     * @param journalSequence The last journal record reflected in the saved state
+     * @throws IOException If the file cannot be written
+     */
+    static void write(String fileName, Runway[] runways, Collection<Airplane> airplanes, Collection<Airplane> waitingQueue,
+                      long journalSequence) throws IOException {
+        // Number the cities used by the saved flights
+        Map<Integer, Integer> fileCityIds = new HashMap<>();    // file city id of each dictionary id used
+        List<String> cities = new ArrayList<>();
+        for (Airplane airPlane : airplanes) {
+            useCity(airPlane.getOriginCityId(), fileCityIds, cities);
+            useCity(airPlane.getDestinationCityId(), fileCityIds, cities);
+        }
+
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SnapshotOutput output = new SnapshotOutput(channel);
+            output.writeInt(MAGIC);
+            output.writeShort(VERSION);
+            output.writeInt(runways.length);
+            output.writeInt(cities.size());
+            output.writeInt(airplanes.size());
+            output.writeInt(waitingQueue.size());
+            output.writeLong(journalSequence);
+
+            int bits = 0;
+            for (int i = 0; i < runways.length; i++) {
+                if (runways[i].isAllocated()) bits |= 1 << (i & 7);
+                if ((i & 7) == 7 || i == runways.length - 1) {
+                    output.writeByte(bits);
+                    bits = 0;
+                }
+            }
+
+            for (String city : cities) {
+                output.writeString(city);
+            }
+
+            Map<Airplane, Integer> queuePositions = new HashMap<>();
+            for (Airplane airPlane : waitingQueue) {
+                queuePositions.put(airPlane, queuePositions.size());
+            }
+            long[] queueOffsets = new long[waitingQueue.size()];
+            long[] index = new long[tableSize(airplanes.size())];
+            int mask = index.length - 1;
+
+            for (Airplane airPlane : airplanes) {
+                long recordOffset = output.position();
+                int slot = slot(airPlane.getFlightNumber(), mask);
+                while (index[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                index[slot] = recordOffset + 1;
+
+                output.writeString(airPlane.getFlightNumber());
+                output.writeVarInt(fileCityId(airPlane.getOriginCityId(), fileCityIds) + 1);
+                output.writeVarInt(fileCityId(airPlane.getDestinationCityId(), fileCityIds) + 1);
+                output.writeByte(airPlane.getStatus().ordinal());
+                output.writeVarInt(airPlane.isAllocatedARunway() ? airPlane.getRunwayNumber() : 0);
+                writePriority(output, airPlane);
+                Integer queuePosition = airPlane.getStatus() == AirplaneStatus.WAITING ? queuePositions.get(airPlane) : null;
+                output.writeVarInt(queuePosition == null ? 0 : queuePosition + 1);
+                if (queuePosition != null) queueOffsets[queuePosition] = recordOffset;
+            }
+
+            long queueOffset = output.position();
+            for (long recordOffset : queueOffsets) {
+                output.writeLong(recordOffset);
+            }
+            long indexOffset = output.position();
+            output.writeInt(index.length);
+            for (long entry : index) {
+                output.writeLong(entry);
+            }
+            output.writeLong(queueOffset);
+            output.writeLong(indexOffset);
+            output.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a whole snapshot into memory.
+     *
+     * @param fileName The file to read
+     * @return The restored airport state
+     * @throws IOException If the file cannot be read or is not a snapshot of a supported version
+     */
+    static AirportSnapshot read(String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            SnapshotInput input = new SnapshotInput(channel);
+            readVersion(input, fileName);
+            int runwayCount = input.readInt();
+            int cityCount = input.readInt();
+            int flightCount = input.readInt();
+            int queueCount = input.readInt();
+            long journalSequence = input.readLong();
+            Runway[] runways = readRunways(input, runwayCount);
+            int[] cities = readCities(input, cityCount);
+
+            Map<String, Airplane> airplanes = new HashMap<>(Math.max(16, (int) (flightCount / 0.75f) + 1));
+            Airplane[] waiting = new Airplane[queueCount];
+            for (int i = 0; i < flightCount; i++) {
+                Airplane airPlane = readFlight(input, cities, runways);
+                int queuePosition = input.readVarInt() - 1;
+                airplanes.put(airPlane.getFlightNumber(), airPlane);
+                if (queuePosition >= 0) {
+                    if (queuePosition >= queueCount || waiting[queuePosition] != null) {
+                        throw new IOException(fileName + " is corrupt: invalid queue position " + queuePosition + " of flight-" + airPlane.getFlightNumber());
+                    }
+                    waiting[queuePosition] = airPlane;
+                }
+            }
+            for (int i = 0; i < queueCount; i++) {
+                if (waiting[i] == null) {
+                    throw new IOException(fileName + " is corrupt: no flight at queue position " + i);
+                }
+            }
+
+            return new AirportSnapshot(runways, airplanes, Arrays.asList(waiting), journalSequence);
+        }
+    }
+
+    /**
+     * Maps a snapshot into memory. Only runways, cities and waiting flights are read up front; other
+     * flights are materialized by the returned map when first looked up.
+     *
+     * @param fileName The file to map
+     * @return The restored airport state, backed by the mapped file
+     * @throws IOException If the file cannot be mapped or is not a snapshot of the current version
+     */
+    static AirportSnapshot map(String fileName) throws IOException {
+        MappedSnapshotInput input;
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            input = new MappedSnapshotInput(channel);
+        }
+        try {
+            return readMapped(input, fileName);
+        } catch (IOException | RuntimeException e) {
+            input.close();      // a rejected file must not stay mapped
+            throw e;
+        }
+    }
+
+    private static AirportSnapshot readMapped(MappedSnapshotInput input, String fileName) throws IOException {
+        readVersion(input, fileName);
+        int runwayCount = input.readInt();
+        int cityCount = input.readInt();
+        int flightCount = input.readInt();
+        int queueCount = input.readInt();
+        long journalSequence = input.readLong();
+        Runway[] runways = readRunways(input, runwayCount);
+        int[] cities = readCities(input, cityCount);
+        long flightsOffset = input.position();
+
+        input.seek(input.size() - TRAILER_SIZE);
+        long queueOffset = input.readLong();
+        long indexOffset = input.readLong();
+        input.seek(indexOffset);
+        int tableSize = input.readInt();
+
+        LazyAirplaneMap airplanes = new LazyAirplaneMap(input, cities, runways, flightsOffset, flightCount,
+                indexOffset + 4, tableSize);
+        List<Airplane> waitingQueue = new ArrayList<>(queueCount);
+        for (int i = 0; i < queueCount; i++) {
+            input.seek(queueOffset + 8L * i);
+            long recordOffset = input.readLong();
+            if (recordOffset < flightsOffset || recordOffset >= queueOffset) {
+                throw new IOException(fileName + " is corrupt: invalid record offset " + recordOffset + " at queue position " + i);
+            }
+            waitingQueue.add(airplanes.materializeAt(recordOffset));
+        }
+        return new AirportSnapshot(runways, airplanes, waitingQueue, journalSequence);
+    }
+
+    /**
+     * Reads the fields of one flight record, leaving the queue position unread.
+     *
+     * @param input   The source positioned at the start of a record
+     * @param cities  The shared dictionary id of each city in the snapshot
+     * @param runways The restored runways
+     * @return The restored airplane
+     * @throws IOException If the record cannot be read
+     */
+    static Airplane readFlight(SnapshotSource input, int[] cities, Runway[] runways) throws IOException {
+        String flightNumber = input.readString();
+        int origin = city(input.readVarInt() - 1, cities);
+        int destination = city(input.readVarInt() - 1, cities);
+        AirplaneStatus status = STATUSES[input.readByte()];
+        int runwayNumber = input.readVarInt();
+        Runway runway = runwayNumber == 0 ? null : runways[runwayNumber - 1];
+        Airplane airPlane = new Airplane(flightNumber, origin, destination, status, runway);
+        int flags = input.readByte();
+        airPlane.setEmergency((flags & EMERGENCY) != 0);
+        if ((flags & FUEL_REPORTED) != 0) airPlane.setFuelMinutes(input.readVarInt());
+        if ((flags & ARRIVAL_SCHEDULED) != 0) airPlane.setScheduledArrival(input.readLong());
+        return airPlane;
+    }
+
+    private static void writePriority(SnapshotOutput output, Airplane airPlane) throws IOException {
+        boolean fuelReported = airPlane.getFuelMinutes() != Integer.MAX_VALUE;
+        boolean arrivalScheduled = airPlane.getScheduledArrival() != Long.MAX_VALUE;
+        output.writeByte((airPlane.isEmergency() ? EMERGENCY : 0) | (fuelReported ? FUEL_REPORTED : 0)
+                | (arrivalScheduled ? ARRIVAL_SCHEDULED : 0));
+        if (fuelReported) output.writeVarInt(airPlane.getFuelMinutes());
+        if (arrivalScheduled) output.writeLong(airPlane.getScheduledArrival());
+    }
+
+    /**
+     * Returns the home slot of a flight number in the index.
+     *
+     * @param flightNumber The flight number
+     * @param mask         The index table size minus one
+     * @return The slot to start probing at
+     */
+    static int slot(String flightNumber, int mask) {
+        int hash = flightNumber.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int tableSize(int flightCount) {
+        // Keep the index at most half full
+        return Integer.highestOneBit(Math.max(flightCount, 1) * 2 - 1) << 1;
+    }
+
+    private static void readVersion(SnapshotSource input, String fileName) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException(fileName + " is not an airport snapshot");
+        }
+        short version = input.readShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported airport snapshot version " + version);
+        }
+    }
+
+    private static Runway[] readRunways(SnapshotSource input, int runwayCount) throws IOException {
+        Runway[] runways = new Runway[runwayCount];
+        int bits = 0;
+        for (int i = 0; i < runwayCount; i++) {
+            if ((i & 7) == 0) bits = input.readByte();
+            runways[i] = new Runway(i + 1);
+            if ((bits & (1 << (i & 7))) != 0) runways[i].book();
+        }
+        return runways;
+    }
+
+    private static int[] readCities(SnapshotSource input, int cityCount) throws IOException {
+        CityDictionary dictionary = CityDictionary.getDefault();
+        int[] cities = new int[cityCount];
+        for (int i = 0; i < cityCount; i++) {
+            String city = input.readString();
+            if (!dictionary.canIntern(city)) {
+                throw new IOException("Too many distinct cities to load " + city);
+            }
+            cities[i] = dictionary.intern(city);
+        }
+        return cities;
+    }
+
+    private static void useCity(int cityId, Map<Integer, Integer> fileCityIds, List<String> cities) {
+        if (cityId != CityDictionary.NONE && fileCityIds.putIfAbsent(cityId, cities.size()) == null) {
+            cities.add(CityDictionary.getDefault().getName(cityId));
+        }
+    }
+
+    private static int fileCityId(int cityId, Map<Integer, Integer> fileCityIds) {
+        return cityId == CityDictionary.NONE ? -1 : fileCityIds.get(cityId);
+    }
+
+    private static int city(int fileCityId, int[] cities) {
+        return fileCityId < 0 ? CityDictionary.NONE : cities[fileCityId];
+    }
+}
@@ -0,0 +1,155 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, versioned view of an {@link Airport} at one point in time, published through
+ * {@link Airport#enableViews()}.
+ *
+ * <p>Views are taken in O(1) by reading the latest published reference and may be read by any thread
+ * for as long as needed, without locks and without holding up the airport. Consecutive views share
+ * the unchanged parts of their flight maps, so publishing one costs the airport thread a few small
+ * copies per changed flight.
+ *
+ * @author Dhairya
+ * @since December 18, 2023
+ */
+public final class AirportView {
+    // Attributes
+    private final long version;                 // Number of changes published before this view
+    private final PersistentFlightMap flights;  // Flights by flight number
+    private final long[] bookedRunways;         // Bit per booked runway, bit 0 is runway 1; never modified
+    private final int numberOfRunways;          // Runways of the airport
+    private final int waitingCount;             // Flights circling in the waiting queue
+
+    AirportView(long version, PersistentFlightMap flights, long[] bookedRunways, int numberOfRunways, int waitingCount) {
+        this.version = version;
+        this.flights = flights;
+        this.bookedRunways = bookedRunways;
+        this.numberOfRunways = numberOfRunways;
+        this.waitingCount = waitingCount;
+    }
+
+    /**
+     * Gets the version of the view, which grows with every published change.
+     *
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Finds the record of a flight.
+     *
+     * @param flightNumber The flight number
+     * @return The record, or null if the flight was not at the airport
+     */
+    public FlightRecord getFlight(String flightNumber) {
+        return flights.get(flightNumber);
+    }
+
+    public int getNumberOfFlights() {
+        return flights.size();
+    }
+
+    /**
+     * Hands every flight to an action, in no particular order.
+     *
+     * @param action The action
+     */
+    public void forEachFlight(Consumer<? super FlightRecord> action) {
+        flights.forEach(action);
+    }
+
+    /**
+     * Hands every flight added, changed or removed since an older view to an action. Views of the
+     * same airport share the flights that did not change, which are skipped, so the cost follows the
+     * number of changes rather than the number of flights.
+     *
+     * @param older  The older view, or null to hand over every flight as added
+     * @param action Receives the old record, null if added, and the new record, null if removed
+     */
+    public void forEachChangeSince(AirportView older, BiConsumer<? super FlightRecord, ? super FlightRecord> action) {
+        flights.forEachChange(older == null ? PersistentFlightMap.EMPTY : older.flights, action);
+    }
+
+    /**
+     * Lists flights that have not started boarding, like {@link Airport#getAllArrivals()}.
+     *
+     * @return A new list of the arriving flights
+     */
+    public List<FlightRecord> getArrivals() {
+        List<FlightRecord> arrivals = new ArrayList<>();
+        flights.forEach(record -> {
+            if (record.getStatus() != AirplaneStatus.DEPARTING) arrivals.add(record);
+        });
+        return arrivals;
+    }
+
+    /**
+     * Lists flights that are boarding, like {@link Airport#getAllDepartures()}.
+     *
+     * @return A new list of the departing flights
+     */
+    public List<FlightRecord> getDepartures() {
+        List<FlightRecord> departures = new ArrayList<>();
+        flights.forEach(record -> {
+            if (record.getStatus() == AirplaneStatus.DEPARTING) departures.add(record);
+        });
+        return departures;
+    }
+
+    /**
+     * Lists the flights circling in the waiting queue, in the order they started circling. The
+     * landing scheduler may let them land in another order.
+     *
+     * @return A new list of the circling flights
+     */
+    public List<FlightRecord> getWaitingFlights() {
+        List<FlightRecord> waiting = new ArrayList<>(waitingCount);
+        flights.forEach(record -> {
+            if (record.isCircling()) waiting.add(record);
+        });
+        waiting.sort(Comparator.comparingLong(FlightRecord::getWaitingOrder));
+        return waiting;
+    }
+
+    public int getWaitingCount() {
+        return waitingCount;
+    }
+
+    public int getNumberOfRunways() {
+        return numberOfRunways;
+    }
+
+    /**
+     * Checks whether a runway was booked.
+     *
+     * @param runwayNumber The runway number, from 1
+     * @return True if the runway was booked; false otherwise
+     */
+    public boolean isRunwayBooked(int runwayNumber) {
+        int bit = runwayNumber - 1;
+        return bit >= 0 && bit < numberOfRunways && (bookedRunways[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Counts the booked runways.
+     *
+     * @return The number of booked runways
+     */
+    public int getBookedRunways() {
+        int booked = 0;
+        for (long word : bookedRunways) {
+            booked += Long.bitCount(word);
+        }
+        return booked;
+    }
+}
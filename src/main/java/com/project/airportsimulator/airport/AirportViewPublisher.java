@@ -0,0 +1,115 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+import java.util.List;
+
+/**
+ * Builds the {@link AirportView}s of an airport on the airport thread and publishes them to readers.
+ *
+ * <p>Changes go into the next version's persistent flight map as they happen; {@link #publish(int)}
+ * makes them visible together once an operation is complete, so readers never see half an operation.
+ *
+ * @author Dhairya
+ * @since December 18, 2023
+ */
+class AirportViewPublisher {
+    // Attributes
+    private PersistentFlightMap flights = PersistentFlightMap.EMPTY;   // Flights of the next view
+    private long[] bookedRunways;       // Booked runway bits of the next view, copied before changing once published
+    private boolean runwaysShared;      // True while the last published view holds bookedRunways
+    private final int numberOfRunways;
+    private long version;               // Changes made so far
+    private long nextWaitingOrder;      // Order given to the next flight that starts circling
+    private volatile AirportView view;  // Latest published view
+
+    /**
+     * Constructs a publisher holding the current state of an airport and publishes its first view.
+     *
+     * @param airplanes The flights of the airport
+     * @param runways   The runways of the airport
+     * @param waiting   The flights circling, in landing order
+     * @param version   The version of the first view
+     */
+    AirportViewPublisher(Iterable<Airplane> airplanes, Runway[] runways, List<Airplane> waiting, long version) {
+        numberOfRunways = runways.length;
+        bookedRunways = new long[(runways.length + 63) >>> 6];
+        for (Runway runway : runways) {
+            if (runway.isAllocated()) runwayChanged(runway.getRunwayNumber(), true);
+        }
+        for (Airplane airPlane : waiting) {
+            flights = flights.with(new FlightRecord(airPlane, nextWaitingOrder++));
+        }
+        for (Airplane airPlane : airplanes) {
+            if (flights.get(airPlane.getFlightNumber()) == null) flights = flights.with(new FlightRecord(airPlane, -1));
+        }
+        this.version = version;
+        publish(waiting.size());
+    }
+
+    /**
+     * Records the new state of a flight.
+     *
+     * @param airPlane The changed flight
+     */
+    void flightChanged(Airplane airPlane) {
+        FlightRecord previous = flights.get(airPlane.getFlightNumber());
+        long waitingOrder = -1;
+        if (airPlane.getStatus() == AirplaneStatus.WAITING && !airPlane.isAllocatedARunway()) {
+            waitingOrder = previous != null && previous.isCircling() ? previous.getWaitingOrder() : nextWaitingOrder++;
+        }
+        flights = flights.with(new FlightRecord(airPlane, waitingOrder));
+        version++;
+    }
+
+    /**
+     * Records that a flight left the airport.
+     *
+     * @param airPlane The removed flight
+     */
+    void flightRemoved(Airplane airPlane) {
+        flights = flights.without(airPlane.getFlightNumber());
+        version++;
+    }
+
+    /**
+     * Records that a runway was booked or vacated.
+     *
+     * @param runwayNumber The runway number
+     * @param booked       True if booked, false if vacated
+     */
+    void runwayChanged(int runwayNumber, boolean booked) {
+        if (runwaysShared) {
+            bookedRunways = bookedRunways.clone();
+            runwaysShared = false;
+        }
+        int bit = runwayNumber - 1;
+        if (booked) bookedRunways[bit >>> 6] |= 1L << bit;
+        else bookedRunways[bit >>> 6] &= ~(1L << bit);
+        version++;
+    }
+
+    /**
+     * Makes the changes recorded so far visible to readers as one new view.
+     *
+     * @param waitingCount The number of flights circling now
+     */
+    void publish(int waitingCount) {
+        AirportView current = view;
+        if (current != null && current.getVersion() == version) {
+            return;
+        }
+        runwaysShared = true;
+        view = new AirportView(version, flights, bookedRunways, numberOfRunways, waitingCount);
+    }
+
+    /**
+     * Returns the latest published view.
+     *
+     * @return The view
+     */
+    AirportView getView() {
+        return view;
+    }
+}
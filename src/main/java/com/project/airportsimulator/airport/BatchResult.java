@@ -0,0 +1,126 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+
+/**
+ * Outcome of each flight in a batch operation of {@link Airport}.
+ *
+ * <p>Items are reported in the order the flights were given. A failed item carries the result the
+ * matching single-flight operation would have returned, and leaves the airport unchanged.
+ *
+ * @author Dhairya
+ * @since December 4, 2023
+ */
+public class BatchResult {
+    // Attributes
+    private final String[] flightNumbers;   // Flight number of each item
+    private final OperationResult[] results; // Result of each item
+    private final int[] runwayNumbers;      // Runway assigned by each item, 0 if none
+    private Airplane[] promoted;            // Waiting flight given a runway by each item, created on first use
+    private int failureCount;               // Number of failed items
+
+    BatchResult(int size) {
+        flightNumbers = new String[size];
+        results = new OperationResult[size];
+        runwayNumbers = new int[size];
+    }
+
+    void set(int index, String flightNumber, OperationResult result, int runwayNumber, Airplane promotedFlight) {
+        flightNumbers[index] = flightNumber;
+        results[index] = result;
+        runwayNumbers[index] = runwayNumber;
+        if (!result.isSuccess()) failureCount++;
+        if (promotedFlight != null) {
+            if (promoted == null) promoted = new Airplane[flightNumbers.length];
+            promoted[index] = promotedFlight;
+        }
+    }
+
+    /**
+     * Gets the number of items in the batch.
+     *
+     * @return The number of items
+     */
+    public int size() {
+        return flightNumbers.length;
+    }
+
+    /**
+     * Gets the flight number of an item.
+     *
+     * @param index The position of the item in the batch
+     * @return The flight number
+     */
+    public String getFlightNumber(int index) {
+        return flightNumbers[index];
+    }
+
+    /**
+     * Checks whether an item succeeded.
+     *
+     * @param index The position of the item in the batch
+     * @return True if the operation was applied to the flight; false otherwise
+     */
+    public boolean isSuccess(int index) {
+        return results[index].isSuccess();
+    }
+
+    /**
+     * Gets the result of an item.
+     *
+     * @param index The position of the item in the batch
+     * @return The result
+     */
+    public OperationResult getResult(int index) {
+        return results[index];
+    }
+
+    /**
+     * Gets the reason an item failed.
+     *
+     * @param index The position of the item in the batch
+     * @return The failure message, or null if the item succeeded
+     */
+    public String getError(int index) {
+        return results[index].isSuccess() ? null : results[index].getDescription();
+    }
+
+    /**
+     * Gets the runway assigned by an item. For landing requests this is the runway of the flight
+     * itself, for take-offs the runway handed to the next waiting flight.
+     *
+     * @param index The position of the item in the batch
+     * @return The runway number, or 0 if no runway was assigned
+     */
+    public int getRunwayNumber(int index) {
+        return runwayNumbers[index];
+    }
+
+    /**
+     * Gets the waiting flight that was given the runway freed by a take-off.
+     *
+     * @param index The position of the item in the batch
+     * @return The flight, or null if none was waiting or the item is not a take-off
+     */
+    public Airplane getPromotedFlight(int index) {
+        return promoted == null ? null : promoted[index];
+    }
+
+    /**
+     * Gets the number of failed items.
+     *
+     * @return The number of items that were not applied
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Checks whether every item succeeded.
+     *
+     * @return True if no item failed; false otherwise
+     */
+    public boolean isAllSuccess() {
+        return failureCount == 0;
+    }
+}
@@ -0,0 +1,205 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Feed of {@link Airport} state changes in a ring buffer, opened through
+ * {@link Airport#openChangeFeed(int)}.
+ *
+ * <p>The airport thread is the only writer. It copies each change into a preallocated slot and moves
+ * on, never waiting for readers and never allocating. Any number of {@link Subscription}s read the
+ * feed from their own threads at their own pace, in batches. A subscription that falls more than a
+ * full ring behind loses the overwritten changes and is told how many through
+ * {@link ChangeHandler#onMissed(long)}.
+ *
+ * <p>Each slot is guarded like a sequence lock: the writer marks it as being written, fills it, and
+ * publishes the sequence number last. A reader copies the slot and accepts the copy only if the
+ * sequence number is the same before and after.
+ *
+ * @author Dhairya
+ * @since December 15, 2023
+ */
+public class ChangeFeed {
+    private static final long WRITING = -1;     // version of a slot being overwritten
+
+    // Attributes
+    private final AirportChange[] slots;        // preallocated changes, reused as the ring wraps
+    private final AtomicLongArray versions;     // sequence held by each slot, WRITING while it is filled
+    private final int mask;                     // slot index of a sequence is sequence & mask
+    private final AtomicLong published = new AtomicLong();   // sequence of the next change to publish
+    private long next;                          // writer's copy of published
+
+    /**
+     * Constructs an empty feed.
+     *
+     * @param capacity The number of changes kept for slow subscribers, rounded up to a power of two
+     * @throws IllegalArgumentException If the capacity is not positive or too large
+     */
+    ChangeFeed(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid change feed capacity " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        slots = new AirportChange[size];
+        versions = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AirportChange();
+            versions.set(i, WRITING);      // never published
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Publishes a change of a flight. Must only be called by the airport thread.
+     *
+     * @param type         The kind of change
+     * @param airplane     The changed flight, or null for {@link ChangeType#RESET}
+     * @param runwayNumber The runway of the flight or the runway booked or vacated, 0 if none
+     */
+    void publish(ChangeType type, Airplane airplane, int runwayNumber) {
+        long sequence = next++;
+        int index = (int) sequence & mask;
+        versions.set(index, WRITING);
+        VarHandle.storeStoreFence();    // readers must not see new fields under the old version
+        AirportChange slot = slots[index];
+        slot.sequence = sequence;
+        slot.type = type;
+        slot.airplane = airplane;
+        slot.flightNumber = airplane == null ? null : airplane.getFlightNumber();
+        slot.status = airplane == null ? null : airplane.getStatus();
+        slot.runwayNumber = runwayNumber;
+        versions.lazySet(index, sequence);
+        published.lazySet(next);
+    }
+
+    /**
+     * Returns the number of changes kept for slow subscribers.
+     *
+     * @return The ring size
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns the number of changes published so far.
+     *
+     * @return The sequence of the next change
+     */
+    public long getPublished() {
+        return published.get();
+    }
+
+    /**
+     * Starts reading the changes published from now on.
+     *
+     * @return A new subscription, to be polled by one thread at a time
+     */
+    public Subscription subscribe() {
+        return new Subscription(published.get());
+    }
+
+    /**
+     * Read position of one subscriber in the feed.
+     */
+    public final class Subscription {
+        private AirportChange view = new AirportChange();      // copy handed to the handler
+        private AirportChange ahead = new AirportChange();     // copy read before the handler gets view
+        private long position;          // sequence of the next change to read
+        private long missed;            // changes overwritten before they were read
+
+        private Subscription(long position) {
+            this.position = position;
+        }
+
+        /**
+         * Hands up to the given number of unread changes to a handler, oldest first. The last change
+         * handed over is always flagged as the end of the batch.
+         *
+         * @param handler  The handler receiving the changes
+         * @param maxBatch The most changes to read in this call
+         * @return The number of changes read, 0 if none was waiting
+         */
+        public int poll(ChangeHandler handler, int maxBatch) {
+            long end = Math.min(catchUp(handler), position + maxBatch);
+            int read = 0;
+            while (position < end) {
+                int index = (int) position & mask;
+                AirportChange slot = slots[index];
+                if (versions.get(index) == position) {
+                    ahead.copyFrom(slot);
+                    VarHandle.loadLoadFence();  // the copy must be complete before checking the version again
+                    if (versions.get(index) == position) {
+                        // Hand over the previous change only now that it is known not to be the last
+                        if (read > 0) handler.onChange(view, false);
+                        AirportChange handed = view;
+                        view = ahead;
+                        ahead = handed;
+                        position++;
+                        read++;
+                        continue;
+                    }
+                }
+                // Overwritten while reading, so skip what the writer has lapped
+                end = Math.min(catchUp(handler), position + maxBatch - read);
+            }
+            if (read > 0) handler.onChange(view, true);
+            return read;
+        }
+
+        /**
+         * Hands every unread change to a handler, in batches of at most one ring.
+         *
+         * @param handler The handler receiving the changes
+         * @return The number of changes read
+         */
+        public long drain(ChangeHandler handler) {
+            long read = 0;
+            int batch;
+            while ((batch = poll(handler, slots.length)) > 0) {
+                read += batch;
+            }
+            return read;
+        }
+
+        /**
+         * Returns the number of changes published but not read yet.
+         *
+         * @return The lag, which may exceed the capacity if changes were lost
+         */
+        public long getLag() {
+            return published.get() - position;
+        }
+
+        /**
+         * Returns the number of changes lost because this subscription fell behind.
+         *
+         * @return The count of missed changes
+         */
+        public long getMissed() {
+            return missed;
+        }
+
+        /**
+         * Skips the changes the writer has already overwritten
+         *
+         * @return The sequence of the next change to be published
+         */
+        private long catchUp(ChangeHandler handler) {
+            long available = published.get();
+            long oldest = available - slots.length + 1;     // the slot after the newest may be being rewritten
+            if (position < oldest) {
+                long lost = oldest - position;
+                missed += lost;
+                position = oldest;
+                handler.onMissed(lost);
+            }
+            return available;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.airportsimulator.airport;
+
+/**
+ * Receives the changes read by a {@link ChangeFeed.Subscription}.
+ *
+ * @author Dhairya
+ * @since December 15, 2023
+ */
+@FunctionalInterface
+public interface ChangeHandler {
+
+    /**
+     * Called for every change, in feed order.
+     *
+     * @param change     The change, an instance reused for later calls
+     * @param endOfBatch True for the last change of this poll, so views can apply the batch at once
+     */
+    void onChange(AirportChange change, boolean endOfBatch);
+
+    /**
+     * Called when the subscription fell so far behind that the feed overwrote changes it had not read.
+     * Views should list the airport again.
+     *
+     * @param count The number of changes lost
+     */
+    default void onMissed(long count) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.airportsimulator.airport;
+
+/**
+ * Enumerated type representing the kinds of {@link AirportChange} published on a {@link ChangeFeed}.
+ *
+ * @author Dhairya
+ * @since December 15, 2023
+ */
+public enum ChangeType {
+    FLIGHT_UPDATED("Flight registered or changed"),
+    FLIGHT_REMOVED("Flight took off or was diverted"),
+    RUNWAY_BOOKED("Runway booked"),
+    RUNWAY_VACATED("Runway vacated"),
+    RESET("Airport state replaced");
+
+    private final String description;
+
+    /**
+     * Constructor for ChangeType enum.
+     *
+     * @param description A human-readable description of the change.
+     */
+    ChangeType(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get a description of the change.
+     *
+     * @return A description of the change.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,266 @@
+package com.project.airportsimulator.airport;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared dictionary that interns city names to compact int ids.
+ *
+ * <p>Every distinct city name is stored once and identified by a dense id, so flights keep an int
+ * per city instead of their own copy of the name, and two cities are equal exactly when their ids
+ * are. A city can also be registered with its IATA airport code, after which the code resolves to
+ * the same id as the name. Looking up a known name or code does not allocate, and ids are never
+ * reused.
+ *
+ * <p>Because ids are never reused, a dictionary only grows: the {@link #getDefault() shared} one
+ * keeps every distinct name interned by any airport, schedule or snapshot for the life of the JVM,
+ * including names no flight uses any more. It therefore holds at most {@link #MAX_CITIES} cities,
+ * roughly a hundred bytes each, and refuses new names once full. The airport operations check
+ * {@link #canIntern(String)} first and reject such a flight with {@link OperationResult#TOO_MANY_CITIES}.
+ *
+ * <p>Names and codes are kept in a sorted index for case-insensitive prefix lookup, used to suggest
+ * cities while typing. The index is rebuilt by the first prefix lookup after cities changed rather
+ * than on every change, so interning a city stays cheap even while a large schedule is imported.
+ * Lookups may run on any thread; new cities are added under a lock.
+ *
+ * @author Dhairya
+ * @since December 8, 2023
+ */
+public class CityDictionary {
+    public static final int NONE = -1;     // id standing for no city
+    public static final int MAX_CITIES = 1 << 20;   // far more than the world's airports, bounds a JVM-wide dictionary
+    private static final CityDictionary DEFAULT = new CityDictionary();
+
+    // Attributes
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();    // id of each name and code
+    private volatile String[] names = new String[64];       // name of each id
+    private volatile String[] codes = new String[64];       // IATA code of each id, or null
+    private volatile int size;                              // number of cities
+    private volatile int modifications;                     // names and codes added so far
+    private volatile PrefixIndex prefixIndex = new PrefixIndex(new String[0], new int[0], 0);   // sorted names and codes, possibly stale
+    private final int maxCities;                            // most cities the dictionary accepts
+
+    /**
+     * Constructs an empty dictionary holding up to {@link #MAX_CITIES} cities.
+     */
+    public CityDictionary() {
+        this(MAX_CITIES);
+    }
+
+    CityDictionary(int maxCities) {
+        this.maxCities = maxCities;
+    }
+
+    /**
+     * Gets the dictionary shared by every airplane and airport.
+     *
+     * @return The shared dictionary
+     */
+    public static CityDictionary getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the id of a city name or IATA code, adding the name as a new city if unknown.
+     *
+     * @param nameOrCode The city name or a registered IATA code, may be null
+     * @return The id, or {@link #NONE} for null
+     * @throws IllegalStateException If the name is unknown and the dictionary is full
+     */
+    public int intern(String nameOrCode) {
+        if (nameOrCode == null) {
+            return NONE;
+        }
+        int id = find(nameOrCode);
+        return id != NONE ? id : add(nameOrCode, null);
+    }
+
+    /**
+     * Registers a city with its IATA code. An already known name keeps its id and gains the code.
+     *
+     * @param name     The city name
+     * @param iataCode The three letter IATA code
+     * @return The id of the city
+     * @throws IllegalArgumentException If the code is not three letters or belongs to another city
+     * @throws IllegalStateException    If the name is unknown and the dictionary is full
+     */
+    public synchronized int register(String name, String iataCode) {
+        if (iataCode.length() != 3 || !iataCode.chars().allMatch(Character::isLetter)) {
+            throw new IllegalArgumentException("Invalid IATA code " + iataCode);
+        }
+        String code = iataCode.toUpperCase(Locale.ROOT);
+        Integer id = ids.get(name);
+        Integer codeOwner = ids.get(code);
+        if (codeOwner != null && !codeOwner.equals(id)) {
+            throw new IllegalArgumentException("IATA code " + code + " already belongs to " + names[codeOwner]);
+        }
+        if (id == null) {
+            return add(name, code);
+        }
+        if (codes[id] == null) {
+            codes[id] = code;
+            ids.put(code, id);
+            modifications++;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of a known city name or IATA code without adding it.
+     *
+     * @param nameOrCode The city name or IATA code
+     * @return The id, or {@link #NONE} if unknown
+     */
+    public int find(String nameOrCode) {
+        if (nameOrCode == null) {
+            return NONE;
+        }
+        Integer id = ids.get(nameOrCode);
+        if (id == null && nameOrCode.length() == 3) {
+            id = ids.get(nameOrCode.toUpperCase(Locale.ROOT));     // IATA codes are matched ignoring case
+        }
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * Checks whether a city name or IATA code can be interned, that is whether it is null, already
+     * known or still fits.
+     *
+     * @param nameOrCode The city name or IATA code, may be null
+     * @return True if {@link #intern(String)} will not throw for it; false otherwise
+     */
+    public boolean canIntern(String nameOrCode) {
+        return size < maxCities || find(nameOrCode) != NONE || nameOrCode == null;
+    }
+
+    /**
+     * Gets the name of a city.
+     *
+     * @param id The city id
+     * @return The shared name string, or null for {@link #NONE}
+     */
+    public String getName(int id) {
+        return id == NONE ? null : names[id];
+    }
+
+    /**
+     * Gets the IATA code of a city.
+     *
+     * @param id The city id
+     * @return The code, or null if none was registered
+     */
+    public String getIataCode(int id) {
+        return id == NONE ? null : codes[id];
+    }
+
+    /**
+     * Gets the number of cities.
+     *
+     * @return The city count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the cities whose name or IATA code starts with the given text, ignoring case.
+     *
+     * @param prefix The typed text
+     * @param limit  The maximum number of cities to return
+     * @return The ids of matching cities, in alphabetical order of the matching name or code
+     */
+    public int[] complete(String prefix, int limit) {
+        PrefixIndex index = prefixIndex;
+        if (index.modifications != modifications) {
+            index = PrefixIndex.build(this);
+            prefixIndex = index;
+        }
+        return index.find(prefix.toLowerCase(Locale.ROOT), limit);
+    }
+
+    private synchronized int add(String name, String code) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            return existing;    // added by another thread meanwhile
+        }
+        int id = size;
+        if (id == maxCities) {
+            throw new IllegalStateException("City dictionary is full, cannot add " + name);
+        }
+        if (id == names.length) {
+            codes = Arrays.copyOf(codes, id << 1);
+            names = Arrays.copyOf(names, id << 1);
+        }
+        names[id] = name;
+        codes[id] = code;
+        size = id + 1;      // publishes the name before the id becomes visible
+        ids.put(name, id);
+        if (code != null) {
+            ids.put(code, id);
+        }
+        modifications++;
+        return id;
+    }
+
+    /**
+     * Immutable sorted array of lower-case keys, rebuilt as a whole once it is out of date.
+     */
+    private static final class PrefixIndex {
+        private final String[] keys;
+        private final int[] keyIds;
+        private final int modifications;    // dictionary changes covered by this index
+
+        PrefixIndex(String[] keys, int[] keyIds, int modifications) {
+            this.keys = keys;
+            this.keyIds = keyIds;
+            this.modifications = modifications;
+        }
+
+        /**
+         * Sorts the current names and codes of a dictionary, without taking its lock. A change made
+         * meanwhile may or may not be included, and is picked up by the next rebuild either way.
+         */
+        static PrefixIndex build(CityDictionary dictionary) {
+            int modifications = dictionary.modifications;     // read first, so the index never claims more than it holds
+            int cities = dictionary.size;
+            String[] names = dictionary.names;
+            String[] codes = dictionary.codes;
+            String[] unsorted = new String[cities * 2];
+            int[] unsortedIds = new int[cities * 2];
+            int count = 0;
+            for (int id = 0; id < cities; id++) {
+                unsorted[count] = names[id].toLowerCase(Locale.ROOT);
+                unsortedIds[count++] = id;
+                if (codes[id] != null) {
+                    unsorted[count] = codes[id].toLowerCase(Locale.ROOT);
+                    unsortedIds[count++] = id;
+                }
+            }
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) order[i] = i;
+            Arrays.sort(order, (first, second) -> unsorted[first].compareTo(unsorted[second]));
+            String[] keys = new String[count];
+            int[] keyIds = new int[count];
+            for (int i = 0; i < count; i++) {
+                keys[i] = unsorted[order[i]];
+                keyIds[i] = unsortedIds[order[i]];
+            }
+            return new PrefixIndex(keys, keyIds, modifications);
+        }
+
+        int[] find(String lowerPrefix, int limit) {
+            int position = Arrays.binarySearch(keys, lowerPrefix);
+            if (position < 0) position = -position - 1;
+            int[] found = new int[Math.min(limit, keys.length - position)];
+            int count = 0;
+            for (int i = position; i < keys.length && count < found.length && keys[i].startsWith(lowerPrefix); i++) {
+                boolean seen = false;
+                for (int j = 0; j < count && !seen; j++) {
+                    seen = found[j] == keyIds[i];   // name and code of one city both matched
+                }
+                if (!seen) found[count++] = keyIds[i];
+            }
+            return Arrays.copyOf(found, count);
+        }
+    }
+}
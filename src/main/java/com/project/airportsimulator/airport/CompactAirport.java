@@ -0,0 +1,256 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+import com.project.airportsimulator.airport.portexceptions.AirportException;
+
+/**
+ * Airport for very large fleets that keeps its flights in a {@link FlightStore}, by default a
+ * {@link FlightRegistry} on the heap or, for the largest fleets, an {@link OffHeapFlightRegistry}.
+ *
+ * <p>Offers the non-throwing operations of {@link Airport}, with the same validation and results.
+ * There is no {@link Airplane} object per flight: state lives in the registry's primitive columns,
+ * circling flights in a FIFO ring of flight ids and free runways in a bitset, so the steady-state
+ * lifecycle of a flight does not allocate beyond interning its number. {@link #getAirplane(String)}
+ * hands out detached {@link Airplane} copies for display.
+ *
+ * @author Dhairya
+ * @since December 7, 2023
+ */
+public class CompactAirport {
+    // Attributes
+    private final FlightStore flights;              // registered flights
+    private final FreeRunwayIndex freeRunways;      // runways not allocated to any flight
+    private int[] waitingQueue = new int[16];       // ring of circling flight ids, in arrival order
+    private int waitingHead;                        // index of the next flight to land in the ring
+    private int waitingCount;                       // number of circling flights
+    private int lastPromotedId = -1;                // flight given a runway by the last take-off, or -1
+
+    /**
+     * This Constructor creates an empty registry and allocates number of runways
+     *
+     * @param numberOfRunways The number of runway
+     * @param expectedFlights The number of flights expected to be registered at once
+     * @throws AirportException if negative number used for runway
+     */
+    public CompactAirport(int numberOfRunways, int expectedFlights) {
+        this(numberOfRunways, new FlightRegistry(expectedFlights));
+    }
+
+    /**
+     * This Constructor allocates number of runways and keeps flights in the given store
+     *
+     * @param numberOfRunways The number of runway
+     * @param flights         The empty store to keep flights in, such as an {@link OffHeapFlightRegistry}
+     * @throws AirportException if negative number used for runway, or the store is not empty
+     */
+    public CompactAirport(int numberOfRunways, FlightStore flights) {
+        if (numberOfRunways < 0) {
+            throw new AirportException("Invalid Runway Number set");
+        }
+        if (flights.size() != 0) {
+            throw new AirportException("Flight store already holds " + flights.size() + " flights");
+        }
+        freeRunways = new FreeRunwayIndex(numberOfRunways);
+        this.flights = flights;
+    }
+
+    /**
+     * Add or register an incoming plane with airport
+     *
+     * @param flightNumber The flight number of incoming flight
+     * @param cityOfOrigin The city of origin of flight (from location the flight is coming)
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult tryFlightRegister(String flightNumber, String cityOfOrigin) {
+        return flights.register(flightNumber, cityOfOrigin) < 0 ? OperationResult.ALREADY_REGISTERED : OperationResult.SUCCESS;
+    }
+
+    /**
+     * Assigns the lowest numbered free runway to a flight requesting to land
+     *
+     * @param flightNumber The flight number of the flight requesting to land
+     * @return The assigned runway number, 0 if the flight joined the waiting queue, or the negative
+     *         {@link OperationResult#getCode() code} of why the flight was rejected
+     */
+    public int tryAirplaneAssignedRunway(String flightNumber) {
+        int id = flights.find(flightNumber);
+        if (id < 0) {
+            return OperationResult.NOT_REGISTERED.getCode();
+        }
+        AirplaneStatus status = flights.getStatus(id);
+        int runwayNumber = freeRunways.lowestFree();
+        if (runwayNumber == 0) {
+            if (status != AirplaneStatus.DUE) {
+                return OperationResult.ALREADY_ARRIVED.getCode();
+            }
+            flights.setStatus(id, AirplaneStatus.WAITING);
+            enqueue(id);
+            return 0;
+        }
+        if (status.compareTo(AirplaneStatus.WAITING) > 0) {
+            return OperationResult.ALREADY_AT_AIRPORT.getCode();
+        }
+        if (flights.getRunwayNumber(id) != 0) {
+            return OperationResult.RUNWAY_ALREADY_ALLOCATED.getCode();
+        }
+        assignRunway(id, runwayNumber);
+        return runwayNumber;
+    }
+
+    /**
+     * Lands a flight on its assigned runway
+     *
+     * @param flightNumber The flight number of the landing flight
+     * @param runwayNumber The runway the flight lands on
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult tryReadyToLand(String flightNumber, int runwayNumber) {
+        int id = flights.find(flightNumber);
+        if (id < 0) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        int assigned = flights.getRunwayNumber(id);
+        if (assigned == 0) {
+            return OperationResult.RUNWAY_NOT_ASSIGNED;
+        }
+        if (assigned != runwayNumber) {
+            return OperationResult.WRONG_RUNWAY;
+        }
+        if (flights.getStatus(id).compareTo(AirplaneStatus.WAITING) > 0) {
+            return OperationResult.ALREADY_LANDED;
+        }
+        flights.setStatus(id, AirplaneStatus.LANDED);
+        return OperationResult.SUCCESS;
+    }
+
+    /**
+     * Starts boarding a landed flight for its destination
+     *
+     * @param flightNumber The flight number of the boarding flight
+     * @param destination  The destination city of the flight
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult tryReadyToBoard(String flightNumber, String destination) {
+        int id = flights.find(flightNumber);
+        if (id < 0) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        AirplaneStatus status = flights.getStatus(id);
+        if (status.compareTo(AirplaneStatus.LANDED) < 0) {
+            return OperationResult.NOT_LANDED;
+        }
+        if (status == AirplaneStatus.DEPARTING) {
+            return OperationResult.ALREADY_BOARDING;
+        }
+        flights.setStatus(id, AirplaneStatus.DEPARTING);
+        flights.setDestinationCity(id, destination);
+        return OperationResult.SUCCESS;
+    }
+
+    /**
+     * Lets a boarded flight take off and hands its runway to the next circling flight. The promoted
+     * flight, if any, is returned by {@link #getLastPromotedFlight()}.
+     *
+     * @param flightNumber The flight number of the departing flight
+     * @return {@link OperationResult#SUCCESS}, or why the flight was rejected
+     */
+    public OperationResult tryReadyToTakeOff(String flightNumber) {
+        lastPromotedId = -1;
+        int id = flights.find(flightNumber);
+        if (id < 0) {
+            return OperationResult.NOT_REGISTERED;
+        }
+        AirplaneStatus status = flights.getStatus(id);
+        if (status.compareTo(AirplaneStatus.LANDED) < 0) {
+            return OperationResult.NOT_LANDED;
+        }
+        if (status == AirplaneStatus.LANDED) {
+            return OperationResult.NOT_BOARDING;
+        }
+        freeRunways.markFree(flights.getRunwayNumber(id));
+        flights.remove(id);
+        if (waitingCount > 0) {
+            lastPromotedId = dequeue();
+            assignRunway(lastPromotedId, freeRunways.lowestFree());
+        }
+        return OperationResult.SUCCESS;
+    }
+
+    /**
+     * Returns a copy of the flight given the runway freed by the last take-off
+     *
+     * @return The flight, or null if no flight was waiting or the last take-off was rejected
+     */
+    public Airplane getLastPromotedFlight() {
+        return lastPromotedId < 0 ? null : view(lastPromotedId);
+    }
+
+    /**
+     * Returns a detached copy of a registered flight. Changing the copy does not change the airport.
+     *
+     * @param flightNumber The flight number
+     * @return The copy, or null if the flight is not registered
+     */
+    public Airplane getAirplane(String flightNumber) {
+        int id = flights.find(flightNumber);
+        return id < 0 ? null : view(id);
+    }
+
+    /**
+     * Returns the store holding the flights, for read access by id
+     *
+     * @return The flight store
+     */
+    public FlightStore getRegistry() {
+        return flights;
+    }
+
+    public int getNumberOfRunways() {
+        return freeRunways.size();
+    }
+
+    public int getNumberOfFlights() {
+        return flights.size();
+    }
+
+    public int getNumberOfWaitingFlights() {
+        return waitingCount;
+    }
+
+    private void assignRunway(int id, int runwayNumber) {
+        freeRunways.markBooked(runwayNumber);
+        flights.setRunwayNumber(id, runwayNumber);
+        if (flights.getStatus(id) == AirplaneStatus.DUE) flights.setStatus(id, AirplaneStatus.WAITING);
+    }
+
+    private Airplane view(int id) {
+        Runway runway = null;
+        int runwayNumber = flights.getRunwayNumber(id);
+        if (runwayNumber != 0) {
+            runway = new Runway(runwayNumber);  // detached, so the copy cannot free the real runway
+            runway.book();
+        }
+        return new Airplane(flights.getFlightNumber(id), flights.getOriginCityId(id), flights.getDestinationCityId(id),
+                flights.getStatus(id), runway);
+    }
+
+    private void enqueue(int id) {
+        if (waitingCount == waitingQueue.length) {
+            int[] grown = new int[waitingCount << 1];
+            int tail = waitingQueue.length - waitingHead;
+            System.arraycopy(waitingQueue, waitingHead, grown, 0, tail);
+            System.arraycopy(waitingQueue, 0, grown, tail, waitingHead);
+            waitingQueue = grown;
+            waitingHead = 0;
+        }
+        waitingQueue[(waitingHead + waitingCount++) & (waitingQueue.length - 1)] = id;
+    }
+
+    private int dequeue() {
+        int id = waitingQueue[waitingHead];
+        waitingHead = (waitingHead + 1) & (waitingQueue.length - 1);
+        waitingCount--;
+        return id;
+    }
+}
@@ -0,0 +1,289 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+import com.project.airportsimulator.airport.portexceptions.AirportException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe airport that can be driven by several controller threads at once.
+ *
+ * <p>Offers the same operations as {@link Airport}. Flights are kept in a concurrent registry, free
+ * runways in a lock-free pool that is claimed through {@link Runway#tryBook()}, and circling planes
+ * in a lock-free FIFO queue. Transitions of a single flight are serialized on one of a fixed set of
+ * striped {@link ReentrantLock}s chosen by flight number, so different flights rarely contend. The
+ * locks are never nested and never held across a blocking call, and unlike {@code synchronized} a
+ * virtual thread waiting for one does not pin its carrier thread.
+ *
+ * @author Dhairya
+ * @since November 26, 2023
+ */
+public class ConcurrentAirport {
+    private static final int LOCK_STRIPES = 256;    // power of two
+
+    // Attributes
+    private final Map<String, Airplane> airplanes;       // added planes
+    private final Queue<Airplane> waitingQueue;          // circling planes waiting to land, in arrival order
+    private final Queue<Runway> freeRunways;             // runways not allocated to any plane
+    private final Runway[] runways;                      // Available runways in airport
+    private final ReentrantLock[] flightLocks;           // serialize transitions of flights hashing to each stripe
+
+    // Methods
+
+    /**
+     * This Constructor creates an empty collection of planes and allocates number of runways
+     *
+     * @param numberOfRunways The number of runway
+     * @throws AirportException if negative number used for runway
+     */
+    public ConcurrentAirport(int numberOfRunways) {
+        if (numberOfRunways < 0) {
+            throw new AirportException("Invalid Runway Number set");
+        }
+        runways = new Runway[numberOfRunways];
+        freeRunways = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < numberOfRunways; i++) {
+            runways[i] = new Runway(i + 1);
+            freeRunways.add(runways[i]);
+        }
+        airplanes = new ConcurrentHashMap<>();
+        waitingQueue = new ConcurrentLinkedQueue<>();
+        flightLocks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            flightLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Add or register an incoming plane with airport
+     *
+     * @param flightNumber The flight number of incoming flight
+     * @param cityOfOrigin The city of origin of flight (from location the flight is coming)
+     * @throws AirportException If flight is already registered with airplane
+     */
+    public void flightRegister(String flightNumber, String cityOfOrigin) {
+        if (airplanes.putIfAbsent(flightNumber, new Airplane(flightNumber, cityOfOrigin)) != null) {
+            throw new AirportException("flight-" + flightNumber + " already registered with airport.");
+        }
+    }
+
+    /**
+     * Assigns a free runway to a flight requesting to land, or puts it in the waiting queue
+     *
+     * @param flightNumber The flight number of the flight requesting to land
+     * @return The assigned runway number, or 0 if the flight joined the waiting queue
+     * @throws AirportException If flight is not registered or has already requested to land
+     */
+    public int airplaneAssignedRunway(String flightNumber) {
+        Airplane airPlane = findAirplane(flightNumber);     //throws exception if flight not been registered with airport yet
+        ReentrantLock lock = lockFor(airPlane);
+        lock.lock();
+        try {
+            if (airPlane.getStatus() != AirplaneStatus.DUE) {
+                throw new AirportException("Flight-" + flightNumber + " has either already arrived at airport or already been assigned runway.");
+            }
+            Runway emptyRunway = freeRunways.poll();
+            if (emptyRunway != null) {
+                airPlane.allocateRunway(emptyRunway);
+                airPlane.upgradeStatus();
+                return emptyRunway.getRunwayNumber();
+            }
+            airPlane.upgradeStatus();
+            waitingQueue.add(airPlane);
+        } finally {
+            lock.unlock();
+        }
+        // A runway may have been released between the failed claim and joining the queue
+        drainWaitingQueue();
+        return 0;
+    }
+
+    /**
+     * Marks a flight as landed on its assigned runway
+     *
+     * @param flightNumber The flight number
+     * @param runwayNumber The runway the flight is landing on
+     * @throws AirportException If flight is unknown, not assigned that runway or already landed
+     */
+    public void readyToLand(String flightNumber, int runwayNumber) {
+        Airplane airPlane = findAirplane(flightNumber); //throws exception if flight not been registered with airport yet
+        ReentrantLock lock = lockFor(airPlane);
+        lock.lock();
+        try {
+            if (!airPlane.isAllocatedARunway()) {
+                throw new AirportException("Flight-" + flightNumber + " has not been assigned runway yet.");
+            }
+            if (airPlane.getRunwayNumber() != runwayNumber) {
+                throw new AirportException("Flight-" + flightNumber + " is assigned runway number=" + airPlane.getRunwayNumber() + " not runway=" + runwayNumber);
+            }
+            if (airPlane.getStatus().compareTo(AirplaneStatus.WAITING) > 0) {
+                throw new AirportException("Flight-" + flightNumber + " has already landed");
+            }
+            airPlane.upgradeStatus();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts boarding a landed flight for its next destination
+     *
+     * @param flightNumber The flight number
+     * @param destination  The destination city
+     * @throws AirportException If flight is unknown, has not landed or is already departing
+     */
+    public void readyToBoard(String flightNumber, String destination) {
+        Airplane airPlane = findAirplane(flightNumber); //throws exception if flight not been registered with airport yet
+        ReentrantLock lock = lockFor(airPlane);
+        lock.lock();
+        try {
+            if (airPlane.getStatus().compareTo(AirplaneStatus.LANDED) < 0) {
+                throw new AirportException("Flight-" + flightNumber + " hasn't landed yet.");
+            }
+            if (airPlane.getStatus() == AirplaneStatus.DEPARTING) {
+                throw new AirportException("Flight-" + flightNumber + " already registered for depart");
+            }
+            airPlane.upgradeStatus();
+            airPlane.setDestinationCity(destination);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a departing flight, frees its runway and hands the runway to the next waiting flight
+     *
+     * @param flightNumber The flight number
+     * @return The waiting airplane that was assigned the freed runway, or null if none was waiting
+     * @throws AirportException If flight is unknown or has not started boarding
+     */
+    public Airplane readyToTakeOff(String flightNumber) {
+        Airplane airPlane = findAirplane(flightNumber); //throws exception if flight not been registered with airport yet
+        ReentrantLock lock = lockFor(airPlane);
+        lock.lock();
+        try {
+            if (airPlane.getStatus().compareTo(AirplaneStatus.LANDED) < 0) {
+                throw new AirportException("Flight-" + flightNumber + " has not landed yet");
+            }
+            if (airPlane.getStatus() == AirplaneStatus.LANDED) {
+                throw new AirportException("Flight-" + flightNumber + " has not started boarding yet.");
+            }
+            // Only the thread that removes the flight may release its runway
+            if (!airplanes.remove(flightNumber, airPlane)) {
+                throw new AirportException("Flight-" + flightNumber + " has not been registered yet.");
+            }
+            Runway runway = airPlane.getRunway();
+            airPlane.vacateRunway();
+            freeRunways.add(runway);
+        } finally {
+            lock.unlock();
+        }
+        return drainWaitingQueue();
+    }
+
+    /**
+     * Assigns free runways to waiting flights until either runs out
+     *
+     * @return The first airplane assigned a runway by this call, or null
+     */
+    private Airplane drainWaitingQueue() {
+        Airplane firstAssigned = null;
+        while (!waitingQueue.isEmpty()) {
+            Runway emptyRunway = freeRunways.poll();
+            if (emptyRunway == null) {
+                break;
+            }
+            Airplane nextAirplane = waitingQueue.poll();
+            if (nextAirplane == null) {
+                // Another thread drained the queue first. A plane queued since then may have found no
+                // free runway while this one was held, so give it back and check the queue again.
+                freeRunways.add(emptyRunway);
+                continue;
+            }
+            ReentrantLock lock = lockFor(nextAirplane);
+            lock.lock();
+            try {
+                nextAirplane.allocateRunway(emptyRunway);
+            } finally {
+                lock.unlock();
+            }
+            if (firstAssigned == null) firstAssigned = nextAirplane;
+        }
+        return firstAssigned;
+    }
+
+    /**
+     * Finds a registered flight
+     *
+     * @param flightNumber The flight number
+     * @return The registered airplane
+     * @throws AirportException If flight has not been registered
+     */
+    private Airplane findAirplane(String flightNumber) {
+        Airplane airPlane = airplanes.get(flightNumber);
+        if (airPlane == null) {
+            throw new AirportException("Flight-" + flightNumber + " has not been registered yet.");
+        }
+        return airPlane;
+    }
+
+    /**
+     * Returns the runway currently allocated to a flight, for example to check whether a waiting
+     * flight has been given a runway
+     *
+     * @param flightNumber The flight number
+     * @return The runway number, or 0 if none is allocated
+     * @throws AirportException If flight has not been registered
+     */
+    public int getRunwayNumber(String flightNumber) {
+        Airplane airPlane = findAirplane(flightNumber);
+        ReentrantLock lock = lockFor(airPlane);
+        lock.lock();
+        try {
+            return airPlane.isAllocatedARunway() ? airPlane.getRunwayNumber() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(Airplane airPlane) {
+        int hash = airPlane.getFlightNumber().hashCode() * 0x9E3779B9;
+        return flightLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    public int getNumberOfRunways(){return runways.length;}
+
+    /**
+     * Returns all the planes due for arrival
+     *
+     * @return A weakly consistent copy of the planes not departing
+     */
+    public Set<Airplane> getAllArrivals() {
+        Set<Airplane> airplaneSet = new HashSet<>();
+        for (Airplane airPlane : airplanes.values()) {
+            if (airPlane.getStatus() != AirplaneStatus.DEPARTING) {
+                airplaneSet.add(airPlane);
+            }
+        }
+        return airplaneSet;
+    }
+
+    /**
+     * Returns all the planes due for departure
+     *
+     * @return A weakly consistent copy of the departing planes
+     */
+    public Set<Airplane> getAllDepartures() {
+        Set<Airplane> airplaneSet = new HashSet<>();
+        for (Airplane airPlane : airplanes.values()) {
+            if (airPlane.getStatus() == AirplaneStatus.DEPARTING) {
+                airplaneSet.add(airPlane);
+            }
+        }
+        return airplaneSet;
+    }
+}
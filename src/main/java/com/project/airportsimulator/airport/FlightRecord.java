@@ -0,0 +1,110 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+/**
+ * Immutable state of one flight at one point in time, as held by an {@link AirportView}.
+ *
+ * @author Dhairya
+ * @since December 18, 2023
+ */
+public final class FlightRecord {
+    // Attributes
+    private final String flightNumber;      // The flight number
+    private final int originCityId;         // Origin city in the shared CityDictionary
+    private final int destinationCityId;    // Destination city, CityDictionary.NONE until boarding
+    private final AirplaneStatus status;    // Status of the flight
+    private final int runwayNumber;         // Allocated runway, 0 if none
+    private final boolean emergency;        // True once the flight declared an emergency
+    private final int fuelMinutes;          // Minutes of fuel left, MAX_VALUE if not reported
+    private final long scheduledArrival;    // Scheduled arrival time, MAX_VALUE if not known
+    private final long waitingOrder;        // Order the flight started circling in, -1 if not circling
+
+    /**
+     * Captures the current state of an airplane.
+     *
+     * @param airplane     The airplane
+     * @param waitingOrder The order it started circling in, or -1 if it is not circling
+     */
+    FlightRecord(Airplane airplane, long waitingOrder) {
+        this.flightNumber = airplane.getFlightNumber();
+        this.originCityId = airplane.getOriginCityId();
+        this.destinationCityId = airplane.getDestinationCityId();
+        this.status = airplane.getStatus();
+        this.runwayNumber = airplane.isAllocatedARunway() ? airplane.getRunwayNumber() : 0;
+        this.emergency = airplane.isEmergency();
+        this.fuelMinutes = airplane.getFuelMinutes();
+        this.scheduledArrival = airplane.getScheduledArrival();
+        this.waitingOrder = waitingOrder;
+    }
+
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+
+    public String getOriginCity() {
+        return CityDictionary.getDefault().getName(originCityId);
+    }
+
+    public int getOriginCityId() {
+        return originCityId;
+    }
+
+    /**
+     * Gets the destination city of the flight.
+     *
+     * @return The destination city, or null if not boarding yet
+     */
+    public String getDestinationCity() {
+        return CityDictionary.getDefault().getName(destinationCityId);
+    }
+
+    public int getDestinationCityId() {
+        return destinationCityId;
+    }
+
+    public AirplaneStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the runway allocated to the flight.
+     *
+     * @return The runway number, or 0 if none is allocated
+     */
+    public int getRunwayNumber() {
+        return runwayNumber;
+    }
+
+    public boolean isEmergency() {
+        return emergency;
+    }
+
+    public int getFuelMinutes() {
+        return fuelMinutes;
+    }
+
+    public long getScheduledArrival() {
+        return scheduledArrival;
+    }
+
+    /**
+     * Checks whether the flight is circling in the waiting queue.
+     *
+     * @return True if it waits for a runway; false otherwise
+     */
+    public boolean isCircling() {
+        return waitingOrder >= 0;
+    }
+
+    long getWaitingOrder() {
+        return waitingOrder;
+    }
+
+    @Override
+    public String toString() {
+        return "Number: " + flightNumber + "\tOrigin City: " + getOriginCity() + "\tFlight Status: " + status
+                + (runwayNumber == 0 ? "" : "\tRunway: " + runwayNumber);
+    }
+}
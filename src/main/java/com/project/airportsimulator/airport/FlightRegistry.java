@@ -0,0 +1,361 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+import java.util.*;
+
+/**
+ * Flight registry that stores flights in parallel primitive arrays instead of one object per flight.
+ *
+ * <p>Each flight number is interned once, at registration, to a dense {@code int} id. The id indexes
+ * columns holding the status ordinal, runway number and origin and destination city ids, and the
+ * flight number characters live in one shared {@code char} arena. Looking up a flight hashes the
+ * number through its cached {@link String#hashCode()} and compares it against the arena, so lookups
+ * never allocate. Ids of removed flights are reused by later registrations.
+ *
+ * <p>Cities are stored as their ids in the shared {@link CityDictionary}.
+ *
+ * @author Dhairya
+ * @since December 7, 2023
+ */
+public class FlightRegistry implements FlightStore {
+    private static final AirplaneStatus[] STATUSES = AirplaneStatus.values();
+    private static final byte FREE = -1;        // status of an id that is not in use
+
+    // Attributes
+    private int[] table;            // open addressing hash table of id + 1, 0 for an empty slot
+    private int mask;               // table length minus one
+    private int[] hashes;           // flight number hash of each id
+    private char[] names;           // arena of flight numbers, each stored as its length then its characters
+    private int[] nameOffsets;      // offset of each id's flight number in the arena
+    private int namesUsed;          // arena characters in use, including removed names
+    private int namesGarbage;       // arena characters of removed names
+    private byte[] statuses;        // status ordinal of each id, FREE if the id is not in use
+    private int[] runwayNumbers;    // runway number of each id, 0 if none
+    private int[] originIds;        // city id of each id's origin, CityDictionary.NONE if none
+    private int[] destinationIds;   // city id of each id's destination, CityDictionary.NONE if none
+    private int[] freeIds;          // stack of ids released by removals
+    private int freeIdCount;        // number of ids on the free stack
+    private int nextId;             // lowest id never handed out
+    private int size;               // number of registered flights
+    private final CityDictionary dictionary = CityDictionary.getDefault();
+
+    /**
+     * Constructs a registry sized for the given number of flights.
+     *
+     * @param expectedFlights The number of flights expected to be registered at once
+     */
+    public FlightRegistry(int expectedFlights) {
+        int capacity = Math.max(16, expectedFlights);
+        table = new int[tableSize(capacity)];
+        mask = table.length - 1;
+        hashes = new int[capacity];
+        names = new char[capacity * 8];
+        nameOffsets = new int[capacity];
+        statuses = new byte[capacity];
+        runwayNumbers = new int[capacity];
+        originIds = new int[capacity];
+        destinationIds = new int[capacity];
+        freeIds = new int[16];
+    }
+
+    /**
+     * Registers a flight as due.
+     *
+     * @param flightNumber The flight number
+     * @param cityOfOrigin The city of origin
+     * @return The id of the new flight, or -1 if the flight number is already registered
+     */
+    public int register(String flightNumber, String cityOfOrigin) {
+        int hash = flightNumber.hashCode();
+        int slot = home(hash);
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (hashes[entry - 1] == hash && nameEquals(entry - 1, flightNumber)) {
+                return -1;
+            }
+        }
+        int id = freeIdCount > 0 ? freeIds[--freeIdCount] : nextId++;
+        if (id == statuses.length) {
+            growColumns();
+        }
+        hashes[id] = hash;
+        nameOffsets[id] = storeName(flightNumber);
+        statuses[id] = (byte) AirplaneStatus.DUE.ordinal();
+        runwayNumbers[id] = 0;
+        originIds[id] = dictionary.intern(cityOfOrigin);
+        destinationIds[id] = CityDictionary.NONE;
+        table[slot] = id + 1;
+        if (++size > table.length >>> 1) {
+            rehash(table.length << 1);
+        }
+        return id;
+    }
+
+    /**
+     * Finds the id of a registered flight without allocating.
+     *
+     * @param flightNumber The flight number
+     * @return The id, or -1 if the flight is not registered
+     */
+    public int find(String flightNumber) {
+        int hash = flightNumber.hashCode();
+        for (int slot = home(hash), entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (hashes[entry - 1] == hash && nameEquals(entry - 1, flightNumber)) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a flight. Its id may be handed to a later registration.
+     *
+     * @param id The id of a registered flight
+     */
+    public void remove(int id) {
+        checkRegistered(id);
+        int slot = home(hashes[id]);
+        while (table[slot] != id + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // Backward shift deletion keeps every probe chain unbroken without tombstones
+        table[slot] = 0;
+        for (int next = (slot + 1) & mask, entry; (entry = table[next]) != 0; next = (next + 1) & mask) {
+            int home = home(hashes[entry - 1]);
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table[slot] = entry;
+                table[next] = 0;
+                slot = next;
+            }
+        }
+        namesGarbage += names[nameOffsets[id]] + 1;
+        statuses[id] = FREE;
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIdCount << 1);
+        }
+        freeIds[freeIdCount++] = id;
+        size--;
+        if (namesGarbage > namesUsed >>> 1 && namesGarbage > 1024) {
+            compactNames();
+        }
+    }
+
+    /**
+     * Checks whether an id belongs to a registered flight.
+     *
+     * @param id The id
+     * @return True if the id is in use; false otherwise
+     */
+    public boolean isRegistered(int id) {
+        return id >= 0 && id < nextId && statuses[id] != FREE;
+    }
+
+    /**
+     * Gets the flight number of a flight. Builds a new string on every call.
+     *
+     * @param id The id of a registered flight
+     * @return The flight number
+     */
+    public String getFlightNumber(int id) {
+        checkRegistered(id);
+        int offset = nameOffsets[id];
+        return new String(names, offset + 1, names[offset]);
+    }
+
+    /**
+     * Gets the status of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The status
+     */
+    public AirplaneStatus getStatus(int id) {
+        checkRegistered(id);
+        return STATUSES[statuses[id]];
+    }
+
+    /**
+     * Sets the status of a flight.
+     *
+     * @param id     The id of a registered flight
+     * @param status The new status
+     */
+    public void setStatus(int id, AirplaneStatus status) {
+        checkRegistered(id);
+        statuses[id] = (byte) status.ordinal();
+    }
+
+    /**
+     * Gets the runway number of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The runway number, or 0 if none is allocated
+     */
+    public int getRunwayNumber(int id) {
+        checkRegistered(id);
+        return runwayNumbers[id];
+    }
+
+    /**
+     * Sets the runway number of a flight.
+     *
+     * @param id           The id of a registered flight
+     * @param runwayNumber The runway number, or 0 for none
+     */
+    public void setRunwayNumber(int id, int runwayNumber) {
+        checkRegistered(id);
+        runwayNumbers[id] = runwayNumber;
+    }
+
+    /**
+     * Gets the city of origin of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The city of origin
+     */
+    public String getOriginCity(int id) {
+        checkRegistered(id);
+        return dictionary.getName(originIds[id]);
+    }
+
+    /**
+     * Gets the destination city of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The destination city, or null if not boarding yet
+     */
+    public String getDestinationCity(int id) {
+        checkRegistered(id);
+        return dictionary.getName(destinationIds[id]);
+    }
+
+    /**
+     * Gets the city id of the origin of a flight, for comparing cities without their names.
+     *
+     * @param id The id of a registered flight
+     * @return The id in the shared {@link CityDictionary}
+     */
+    public int getOriginCityId(int id) {
+        checkRegistered(id);
+        return originIds[id];
+    }
+
+    /**
+     * Gets the city id of the destination of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The id in the shared {@link CityDictionary}, or {@link CityDictionary#NONE} if not boarding yet
+     */
+    public int getDestinationCityId(int id) {
+        checkRegistered(id);
+        return destinationIds[id];
+    }
+
+    /**
+     * Sets the destination city of a flight.
+     *
+     * @param id              The id of a registered flight
+     * @param destinationCity The destination city
+     */
+    public void setDestinationCity(int id, String destinationCity) {
+        checkRegistered(id);
+        destinationIds[id] = dictionary.intern(destinationCity);
+    }
+
+    /**
+     * Gets the number of registered flights.
+     *
+     * @return The flight count
+     */
+    public int size() {
+        return size;
+    }
+
+    private void checkRegistered(int id) {
+        if (!isRegistered(id)) {
+            throw new IllegalArgumentException("No flight with id " + id);
+        }
+    }
+
+    private boolean nameEquals(int id, String flightNumber) {
+        int offset = nameOffsets[id];
+        int length = names[offset];
+        if (length != flightNumber.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (names[offset + 1 + i] != flightNumber.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int storeName(String flightNumber) {
+        int length = flightNumber.length();
+        if (length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Flight number too long");
+        }
+        if (namesUsed + length + 1 > names.length) {
+            names = Arrays.copyOf(names, Math.max(names.length + (names.length >>> 1), namesUsed + length + 1));
+        }
+        int offset = namesUsed;
+        names[offset] = (char) length;
+        flightNumber.getChars(0, length, names, offset + 1);
+        namesUsed += length + 1;
+        return offset;
+    }
+
+    private void compactNames() {
+        char[] compacted = new char[Math.max(16, (namesUsed - namesGarbage) * 2)];
+        int used = 0;
+        for (int id = 0; id < nextId; id++) {
+            if (statuses[id] != FREE) {
+                int offset = nameOffsets[id];
+                int length = names[offset] + 1;
+                System.arraycopy(names, offset, compacted, used, length);
+                nameOffsets[id] = used;
+                used += length;
+            }
+        }
+        names = compacted;
+        namesUsed = used;
+        namesGarbage = 0;
+    }
+
+    private void growColumns() {
+        int capacity = statuses.length << 1;
+        hashes = Arrays.copyOf(hashes, capacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        runwayNumbers = Arrays.copyOf(runwayNumbers, capacity);
+        originIds = Arrays.copyOf(originIds, capacity);
+        destinationIds = Arrays.copyOf(destinationIds, capacity);
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        mask = tableSize - 1;
+        for (int id = 0; id < nextId; id++) {
+            if (statuses[id] != FREE) {
+                int slot = home(hashes[id]);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id + 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the table slot a flight number hash probes first
+     */
+    int home(int hash) {
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int tableSize(int capacity) {
+        // Keep the table at most half full
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+/**
+ * Storage of flight records by dense {@code int} id, behind a {@link CompactAirport}.
+ *
+ * <p>{@link FlightRegistry} keeps the records in primitive arrays on the heap, and
+ * {@link OffHeapFlightRegistry} keeps them in native memory. Cities are stored as their ids in the
+ * shared {@link CityDictionary}.
+ *
+ * @author Dhairya
+ * @since December 16, 2023
+ */
+public interface FlightStore {
+
+    /**
+     * Registers a flight as due.
+     *
+     * @param flightNumber The flight number
+     * @param cityOfOrigin The city of origin
+     * @return The id of the new flight, or -1 if the flight number is already registered
+     */
+    int register(String flightNumber, String cityOfOrigin);
+
+    /**
+     * Finds the id of a registered flight without allocating.
+     *
+     * @param flightNumber The flight number
+     * @return The id, or -1 if the flight is not registered
+     */
+    int find(String flightNumber);
+
+    /**
+     * Removes a flight. Its id may be handed to a later registration.
+     *
+     * @param id The id of a registered flight
+     */
+    void remove(int id);
+
+    /**
+     * Checks whether an id belongs to a registered flight.
+     *
+     * @param id The id
+     * @return True if the id is in use; false otherwise
+     */
+    boolean isRegistered(int id);
+
+    /**
+     * Gets the flight number of a flight. Builds a new string on every call.
+     *
+     * @param id The id of a registered flight
+     * @return The flight number
+     */
+    String getFlightNumber(int id);
+
+    AirplaneStatus getStatus(int id);
+
+    void setStatus(int id, AirplaneStatus status);
+
+    /**
+     * Gets the runway number of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The runway number, or 0 if none is allocated
+     */
+    int getRunwayNumber(int id);
+
+    void setRunwayNumber(int id, int runwayNumber);
+
+    String getOriginCity(int id);
+
+    /**
+     * Gets the destination city of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The destination city, or null if not boarding yet
+     */
+    String getDestinationCity(int id);
+
+    int getOriginCityId(int id);
+
+    /**
+     * Gets the city id of the destination of a flight.
+     *
+     * @param id The id of a registered flight
+     * @return The id in the shared {@link CityDictionary}, or {@link CityDictionary#NONE} if not boarding yet
+     */
+    int getDestinationCityId(int id);
+
+    void setDestinationCity(int id, String destinationCity);
+
+    /**
+     * Gets the number of registered flights.
+     *
+     * @return The flight count
+     */
+    int size();
+}
@@ -0,0 +1,103 @@
+package com.project.airportsimulator.airport;
+
+/**
+ * Keeps track of which runways of an airport are free.
+ *
+ * <p>Free runways are stored as set bits in a two level bitset. The lower level holds one bit per
+ * runway and the upper level holds one bit per non-empty lower word, so finding the lowest free
+ * runway, booking it and vacating it never scans the whole runway array and never allocates memory.
+ *
+ * @author Dhairya
+ * @since November 25, 2023
+ */
+class FreeRunwayIndex {
+    // Attributes
+    private final long[] freeRunways;   // bit (runwayNumber - 1) is set while that runway is free
+    private final long[] freeWords;     // bit w is set while freeRunways[w] has at least one free runway
+    private final int numberOfRunways;  // Number of runways tracked
+    private int freeCount;              // Number of free runways
+
+    /**
+     * Constructs an index where every runway is free.
+     *
+     * @param numberOfRunways The number of runways to keep track of
+     */
+    FreeRunwayIndex(int numberOfRunways) {
+        this.numberOfRunways = numberOfRunways;
+        this.freeRunways = new long[(numberOfRunways + 63) >>> 6];
+        this.freeWords = new long[(freeRunways.length + 63) >>> 6];
+        for (int i = 0; i < numberOfRunways; i++) {
+            markFree(i + 1);
+        }
+    }
+
+    /**
+     * Returns the lowest numbered free runway.
+     *
+     * @return The runway number, or 0 if every runway is booked
+     */
+    int lowestFree() {
+        for (int upper = 0; upper < freeWords.length; upper++) {
+            long summary = freeWords[upper];
+            if (summary != 0) {
+                int word = (upper << 6) + Long.numberOfTrailingZeros(summary);
+                return (word << 6) + Long.numberOfTrailingZeros(freeRunways[word]) + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Marks the given runway as booked.
+     *
+     * @param runwayNumber The runway number
+     */
+    void markBooked(int runwayNumber) {
+        int bit = runwayNumber - 1;
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        if ((freeRunways[word] & mask) == 0) {
+            return;     // already booked
+        }
+        freeRunways[word] &= ~mask;
+        if (freeRunways[word] == 0) {
+            freeWords[word >>> 6] &= ~(1L << word);
+        }
+        freeCount--;
+    }
+
+    /**
+     * Marks the given runway as free.
+     *
+     * @param runwayNumber The runway number
+     */
+    void markFree(int runwayNumber) {
+        int bit = runwayNumber - 1;
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        if ((freeRunways[word] & mask) != 0) {
+            return;     // already free
+        }
+        freeRunways[word] |= mask;
+        freeWords[word >>> 6] |= 1L << word;
+        freeCount++;
+    }
+
+    /**
+     * Returns the number of free runways.
+     *
+     * @return The free runway count
+     */
+    int freeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Returns the number of runways tracked by this index.
+     *
+     * @return The runway count
+     */
+    int size() {
+        return numberOfRunways;
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+
+import java.util.Comparator;
+
+/**
+ * Enumerated type representing the built-in landing schedulers of the waiting queue.
+ *
+ * <p>Each scheduler orders circling flights, the one comparing lowest lands first. Flights that
+ * compare equal land in the order they joined the queue, so {@link #FIFO} orders by arrival alone.
+ * Any other {@code Comparator<Airplane>} can be passed to {@link Airport#setLandingScheduler}.
+ *
+ * @author Dhairya
+ * @since December 6, 2023
+ */
+public enum LandingPriority implements Comparator<Airplane> {
+    FIFO("First come, first served") {
+        @Override
+        public int compare(Airplane first, Airplane second) {
+            return 0;
+        }
+    },
+    EMERGENCY_FIRST("Emergencies first, then lowest fuel") {
+        @Override
+        public int compare(Airplane first, Airplane second) {
+            if (first.isEmergency() != second.isEmergency()) {
+                return first.isEmergency() ? -1 : 1;
+            }
+            return Integer.compare(first.getFuelMinutes(), second.getFuelMinutes());
+        }
+    },
+    EARLIEST_ARRIVAL("Earliest scheduled arrival first") {
+        @Override
+        public int compare(Airplane first, Airplane second) {
+            return Long.compare(first.getScheduledArrival(), second.getScheduledArrival());
+        }
+    };
+
+    private final String description;
+
+    /**
+     * Constructor for LandingPriority enum.
+     *
+     * @param description A human-readable description of the scheduler.
+     */
+    LandingPriority(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Get a description of the scheduler.
+     *
+     * @return A description of the scheduler.
+     */
+    public String getDescription() {
+        return description;
+    }
+}
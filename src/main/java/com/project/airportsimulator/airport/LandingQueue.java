@@ -0,0 +1,239 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+
+import java.util.*;
+
+/**
+ * Waiting queue of circling planes, ordered by a pluggable landing scheduler.
+ *
+ * <p>Backed by an indexed 4-ary heap. Every entry remembers its heap slot and is found by airplane
+ * through a hash map, so a single flight can be re-prioritised or removed in O(log n) without
+ * rebuilding the heap. Entries that the scheduler ranks equal keep the order they were added in.
+ *
+ * @author Dhairya
+ * @since December 6, 2023
+ */
+class LandingQueue {
+    private static final int ARITY = 4;
+
+    /**
+     * Heap entry of one waiting plane.
+     */
+    private static final class Entry {
+        final Airplane airplane;
+        final long sequence;    // order the plane joined the queue, breaks ties
+        final long since;       // System.nanoTime() the plane joined the queue, 0 if not measured
+        int slot;               // current position in the heap array
+
+        Entry(Airplane airplane, long sequence, long since) {
+            this.airplane = airplane;
+            this.sequence = sequence;
+            this.since = since;
+        }
+    }
+
+    // Attributes
+    private Comparator<? super Airplane> scheduler;     // Plane comparing lowest lands first
+    private Entry[] heap = new Entry[16];               // 4-ary min-heap of entries
+    private int size;                                   // Number of waiting planes
+    private long nextSequence;                          // Sequence given to the next added plane
+    private long lastRemovedSince;                      // Join time of the plane last polled or removed
+    private final Map<Airplane, Entry> entries = new HashMap<>();   // Entry of each waiting plane
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param scheduler The landing order
+     */
+    LandingQueue(Comparator<? super Airplane> scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds a plane behind every waiting plane it does not outrank.
+     *
+     * @param airplane The plane to add
+     * @throws IllegalStateException If the plane is already waiting
+     */
+    void add(Airplane airplane) {
+        add(airplane, 0);
+    }
+
+    /**
+     * Adds a plane behind every waiting plane it does not outrank, remembering when it joined.
+     *
+     * @param airplane The plane to add
+     * @param since    The {@link System#nanoTime()} the plane joined the queue, or 0 if not measured
+     * @throws IllegalStateException If the plane is already waiting
+     */
+    void add(Airplane airplane, long since) {
+        Entry entry = new Entry(airplane, nextSequence++, since);
+        if (entries.putIfAbsent(airplane, entry) != null) {
+            throw new IllegalStateException("Flight-" + airplane.getFlightNumber() + " is already waiting");
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        entry.slot = size;
+        heap[size++] = entry;
+        siftUp(entry.slot);
+    }
+
+    /**
+     * Removes and returns the plane that lands next.
+     *
+     * @return The plane, or null if none is waiting
+     */
+    Airplane poll() {
+        if (size == 0) {
+            return null;
+        }
+        Entry first = heap[0];
+        removeAt(0);
+        entries.remove(first.airplane);
+        lastRemovedSince = first.since;
+        return first.airplane;
+    }
+
+    /**
+     * Checks whether a plane is waiting.
+     *
+     * @param airplane The plane
+     * @return True if the plane is in the queue
+     */
+    boolean contains(Airplane airplane) {
+        return entries.containsKey(airplane);
+    }
+
+    /**
+     * Removes a specific plane, for example one diverted to another airport.
+     *
+     * @param airplane The plane to remove
+     * @return True if the plane was waiting
+     */
+    boolean remove(Airplane airplane) {
+        Entry entry = entries.remove(airplane);
+        if (entry == null) {
+            return false;
+        }
+        removeAt(entry.slot);
+        lastRemovedSince = entry.since;
+        return true;
+    }
+
+    /**
+     * Moves a plane to its place after a change of the fields the scheduler looks at.
+     *
+     * @param airplane The changed plane
+     * @return True if the plane was waiting
+     */
+    boolean update(Airplane airplane) {
+        Entry entry = entries.get(airplane);
+        if (entry == null) {
+            return false;
+        }
+        siftDown(siftUp(entry.slot));
+        return true;
+    }
+
+    /**
+     * Changes the landing order and rebuilds the heap in O(n).
+     *
+     * @param scheduler The new landing order
+     */
+    void setScheduler(Comparator<? super Airplane> scheduler) {
+        this.scheduler = scheduler;
+        for (int i = size / ARITY; i >= 0; i--) {    // from the last parent up to the root
+            if (i < size) siftDown(i);
+        }
+    }
+
+    /**
+     * Returns the number of waiting planes.
+     *
+     * @return The queue length
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns when the plane last taken out by {@link #poll()} or {@link #remove(Airplane)} joined
+     * the queue.
+     *
+     * @return The {@link System#nanoTime()} it joined, or 0 if not measured
+     */
+    long lastRemovedSince() {
+        return lastRemovedSince;
+    }
+
+    /**
+     * Returns the waiting planes in the order they would land.
+     *
+     * @return A sorted copy of the queue
+     */
+    List<Airplane> inLandingOrder() {
+        Entry[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, this::compare);
+        List<Airplane> planes = new ArrayList<>(size);
+        for (Entry entry : sorted) {
+            planes.add(entry.airplane);
+        }
+        return planes;
+    }
+
+    private void removeAt(int slot) {
+        Entry last = heap[--size];
+        heap[size] = null;
+        if (slot < size) {
+            place(last, slot);
+            siftDown(siftUp(slot));
+        }
+    }
+
+    private int siftUp(int slot) {
+        Entry entry = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) / ARITY;
+            if (compare(entry, heap[parent]) >= 0) {
+                break;
+            }
+            place(heap[parent], slot);
+            slot = parent;
+        }
+        place(entry, slot);
+        return slot;
+    }
+
+    private void siftDown(int slot) {
+        Entry entry = heap[slot];
+        while (true) {
+            int firstChild = slot * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int best = firstChild;
+            int lastChild = Math.min(firstChild + ARITY, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (compare(heap[child], heap[best]) < 0) best = child;
+            }
+            if (compare(heap[best], entry) >= 0) {
+                break;
+            }
+            place(heap[best], slot);
+            slot = best;
+        }
+        place(entry, slot);
+    }
+
+    private void place(Entry entry, int slot) {
+        heap[slot] = entry;
+        entry.slot = slot;
+    }
+
+    private int compare(Entry first, Entry second) {
+        int order = scheduler.compare(first.airplane, second.airplane);
+        return order != 0 ? order : Long.compare(first.sequence, second.sequence);
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.airportsimulator.airport;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations with log-linear buckets, in the style of HdrHistogram. Durations are in
+ * nanoseconds unless the owner of the histogram says otherwise.
+ *
+ * <p>Values below 32 get a bucket each; above that, every power of two is split into 32 buckets, so
+ * any recorded value is known to within about 3% over the whole range of {@code long}, in a fixed
+ * 15 KB of counts. Recording is a few array writes and never allocates.
+ *
+ * <p>Values are recorded by a single thread. Any thread may take a {@link #snapshot()} at any time;
+ * it sees every value recorded before, but counts of values recorded meanwhile may be partly missing.
+ *
+ * @author Dhairya
+ * @since December 13, 2023
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final int TOTAL = BUCKETS;           // slot of the value count
+    private static final int SUM = BUCKETS + 1;         // slot of the sum of values
+    private static final int MAX = BUCKETS + 2;         // slot of the largest value
+
+    // Attributes
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 3);   // count of each bucket, then totals
+
+    /**
+     * Records one value.
+     *
+     * @param value The duration, negative values count as 0
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        int bucket = bucketOf(value);
+        // Single writer, so plain increments published with release semantics suffice
+        counts.lazySet(bucket, counts.get(bucket) + 1);
+        counts.lazySet(SUM, counts.get(SUM) + value);
+        if (value > counts.get(MAX)) counts.lazySet(MAX, value);
+        counts.lazySet(TOTAL, counts.get(TOTAL) + 1);
+    }
+
+    /**
+     * Adds every value of another histogram, for example to merge histograms recorded by different
+     * threads. Must be called by the recording thread.
+     *
+     * @param other The values to add
+     */
+    public void add(Snapshot other) {
+        for (int i = 0; i < MAX; i++) {     // buckets, count and sum
+            if (other.counts[i] != 0) counts.lazySet(i, counts.get(i) + other.counts[i]);
+        }
+        if (other.counts[MAX] > counts.get(MAX)) counts.lazySet(MAX, other.counts[MAX]);
+    }
+
+    /**
+     * Forgets every recorded value. Must be called by the recording thread.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.lazySet(i, 0);
+        }
+    }
+
+    /**
+     * Copies the current counts.
+     *
+     * @return An immutable copy
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        for (int i = copy.length - 1; i >= 0; i--) {   // totals first, so buckets are never behind them
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Immutable copy of a histogram's counts.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return The value count
+         */
+        public long getCount() {
+            return counts[TOTAL];
+        }
+
+        /**
+         * Gets the largest recorded value.
+         *
+         * @return The maximum, or 0 if nothing was recorded
+         */
+        public long getMax() {
+            return counts[MAX];
+        }
+
+        /**
+         * Gets the mean of the recorded values.
+         *
+         * @return The mean, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            return counts[TOTAL] == 0 ? 0 : (double) counts[SUM] / counts[TOTAL];
+        }
+
+        /**
+         * Gets the value below which the given share of recorded values fall.
+         *
+         * @param percentile The percentile, from 0 to 100
+         * @return The value, accurate to about 3%, or 0 if nothing was recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) total += counts[i];
+            long wanted = Math.max(1, (long) Math.ceil(total * Math.min(100, percentile) / 100));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += counts[bucket];
+                if (seen >= wanted) {
+                    long low = lowestValueOf(bucket);
+                    long high = bucket + 1 < BUCKETS ? lowestValueOf(bucket + 1) - 1 : Long.MAX_VALUE;
+                    return Math.min(counts[MAX], low + (high - low) / 2);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Flight registry backed by a memory-mapped snapshot.
+ *
+ * <p>Flights stored in the snapshot are only turned into {@link Airplane} objects when they are
+ * first looked up, through the snapshot's hash index. Materialized, newly registered and removed
+ * flights are tracked on the heap, so the mapped file is never written. Iterating the map
+ * materializes every remaining flight once, after which the map behaves like a plain
+ * {@link HashMap} and unmaps the file.
+ *
+ * <p>Not thread-safe, not even for lookups: {@link #get(Object)} reads the snapshot through one
+ * shared {@link MappedSnapshotInput} position. Like the {@link Airport} owning it, the map must only
+ * be used by one thread at a time. {@link Airport#save(String)} materializes the map before it writes,
+ * so a snapshot can be saved over the file it was mapped from.
+ *
+ * @author Dhairya
+ * @since November 30, 2023
+ */
+class LazyAirplaneMap extends AbstractMap<String, Airplane> {
+    // Attributes
+    private MappedSnapshotInput input;                  // Mapped snapshot, null once every flight is materialized
+    private final int[] cities;                         // Dictionary id of each city of the snapshot
+    private final Runway[] runways;                     // Runways flights refer to
+    private final long flightsOffset;                   // File offset of the first flight record
+    private final int flightCount;                      // Number of flight records in the snapshot
+    private final long indexOffset;                     // File offset of the first index slot
+    private final int indexMask;                        // Index table size minus one
+    private final Map<String, Airplane> materialized;   // Flights currently on the heap, including new registrations
+    private final Set<String> removed;                  // Snapshot flights removed since loading
+    private int size;                                   // Number of flights in the registry
+
+    LazyAirplaneMap(MappedSnapshotInput input, int[] cities, Runway[] runways, long flightsOffset,
+                    int flightCount, long indexOffset, int tableSize) {
+        this.input = input;
+        this.cities = cities;
+        this.runways = runways;
+        this.flightsOffset = flightsOffset;
+        this.flightCount = flightCount;
+        this.indexOffset = indexOffset;
+        this.indexMask = tableSize - 1;
+        this.materialized = new HashMap<>();
+        this.removed = new HashSet<>();
+        this.size = flightCount;
+    }
+
+    @Override
+    public Airplane get(Object key) {
+        Airplane airPlane = materialized.get(key);
+        if (airPlane != null || input == null || !(key instanceof String) || removed.contains(key)) {
+            return airPlane;
+        }
+        long recordOffset = find((String) key);
+        return recordOffset < 0 ? null : materializeAt(recordOffset);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (materialized.containsKey(key)) {
+            return true;
+        }
+        return input != null && key instanceof String && !removed.contains(key) && find((String) key) >= 0;
+    }
+
+    @Override
+    public Airplane put(String key, Airplane value) {
+        if (input == null) {
+            return materialized.put(key, value);
+        }
+        Airplane previous = get(key);
+        materialized.put(key, value);
+        if (previous == null) size++;
+        return previous;
+    }
+
+    @Override
+    public Airplane remove(Object key) {
+        if (input == null) {
+            return materialized.remove(key);
+        }
+        Airplane previous = get(key);
+        if (previous != null) {
+            materialized.remove(key);
+            removed.add((String) key);
+            size--;
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return input == null ? materialized.size() : size;
+    }
+
+    @Override
+    public Set<Entry<String, Airplane>> entrySet() {
+        materializeAll();
+        return materialized.entrySet();
+    }
+
+    /**
+     * Materializes the flight record at the given offset, or returns it if already materialized.
+     *
+     * @param recordOffset The file offset of the record
+     * @return The airplane of that record
+     */
+    Airplane materializeAt(long recordOffset) {
+        try {
+            input.seek(recordOffset);
+            Airplane airPlane = AirportSnapshot.readFlight(input, cities, runways);
+            Airplane existing = materialized.putIfAbsent(airPlane.getFlightNumber(), airPlane);
+            return existing != null ? existing : airPlane;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Materializes every flight still only stored in the snapshot and unmaps the file.
+     */
+    void materializeAll() {
+        if (input == null) {
+            return;
+        }
+        try {
+            input.seek(flightsOffset);
+            for (int i = 0; i < flightCount; i++) {
+                Airplane airPlane = AirportSnapshot.readFlight(input, cities, runways);
+                input.readVarInt();     // queue position, waiting flights are materialized on load
+                if (!removed.contains(airPlane.getFlightNumber())) {
+                    materialized.putIfAbsent(airPlane.getFlightNumber(), airPlane);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        removed.clear();
+        input.close();
+        input = null;
+    }
+
+    /**
+     * Unmaps the file without materializing, for a map that is being discarded. Flights not
+     * materialized yet are lost.
+     */
+    void close() {
+        if (input != null) {
+            input.close();
+            input = null;
+        }
+    }
+
+    private long find(String flightNumber) {
+        byte[] expected = flightNumber.getBytes(StandardCharsets.UTF_8);
+        try {
+            for (int slot = AirportSnapshot.slot(flightNumber, indexMask); ; slot = (slot + 1) & indexMask) {
+                input.seek(indexOffset + 8L * slot);
+                long entry = input.readLong();
+                if (entry == 0) {
+                    return -1;
+                }
+                input.seek(entry - 1);
+                if (input.matchString(expected)) {
+                    return entry - 1;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.airportsimulator.airport;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Random-access reader of a snapshot file mapped into memory.
+ *
+ * <p>The file is mapped in 1 GiB chunks so snapshots larger than a single {@link MappedByteBuffer}
+ * can be read. Pages are only loaded by the operating system when a read touches them.
+ *
+ * <p>Every read moves one shared position, so an input must only be used by one thread at a time.
+ * A mapping normally lasts until the garbage collector finds the buffers unreachable, and while it
+ * lasts Windows refuses to replace the file. {@link #close()} therefore unmaps it right away where
+ * the JDK allows it.
+ *
+ * @author Dhairya
+ * @since November 30, 2023
+ */
+class MappedSnapshotInput implements SnapshotSource {
+    private static final int CHUNK_BITS = 30;
+    private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+    private static final Object UNSAFE = unsafe();          // sun.misc.Unsafe, or null if not accessible
+    private static final Method INVOKE_CLEANER = invokeCleaner();
+
+    // Attributes
+    private final MappedByteBuffer[] chunks;    // Mapped regions of the file, CHUNK_SIZE bytes each except the last
+    private final long size;                    // Size of the mapped file
+    private MappedByteBuffer chunk;             // Chunk holding the current position
+    private int chunkIndex;                     // Index of the current chunk
+    private int local;                          // Current position within the current chunk
+
+    /**
+     * Maps the whole file read-only. The mapping stays valid after the channel is closed.
+     *
+     * @param channel The channel of the file to map
+     * @throws IOException If the file cannot be mapped
+     */
+    MappedSnapshotInput(FileChannel channel) throws IOException {
+        size = channel.size();
+        int count = (int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS);
+        chunks = new MappedByteBuffer[Math.max(count, 1)];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << CHUNK_BITS;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, size - start));
+        }
+        seek(0);
+    }
+
+    /**
+     * Unmaps the file. Reading afterwards fails instead of touching the released memory.
+     */
+    void close() {
+        chunk = null;
+        for (int i = 0; i < chunks.length; i++) {
+            MappedByteBuffer mapped = chunks[i];
+            chunks[i] = null;
+            if (mapped != null && INVOKE_CLEANER != null) {
+                try {
+                    INVOKE_CLEANER.invoke(UNSAFE, mapped);
+                } catch (ReflectiveOperationException e) {
+                    // left to the garbage collector
+                }
+            }
+        }
+    }
+
+    private static Object unsafe() {
+        try {
+            Field field = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Method invokeCleaner() {
+        try {
+            return UNSAFE == null ? null : UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Moves to the given file offset.
+     *
+     * @param offset The offset of the next value to read
+     */
+    void seek(long offset) {
+        chunkIndex = (int) (offset >>> CHUNK_BITS);
+        local = (int) (offset & (CHUNK_SIZE - 1));
+        chunk = chunkIndex < chunks.length ? chunks[chunkIndex] : null;
+    }
+
+    /**
+     * Returns the file offset of the next value to read.
+     *
+     * @return The current position
+     */
+    long position() {
+        return ((long) chunkIndex << CHUNK_BITS) + local;
+    }
+
+    /**
+     * Returns the size of the mapped file.
+     *
+     * @return The file size in bytes
+     */
+    long size() {
+        return size;
+    }
+
+    @Override
+    public byte readByte() {
+        if (chunk == null || local >= chunk.limit()) {
+            seek(position());   // step into the next chunk
+            if (chunk == null || local >= chunk.limit()) {
+                throw new IndexOutOfBoundsException("Read past end of snapshot file");
+            }
+        }
+        return chunk.get(local++);
+    }
+
+    @Override
+    public short readShort() {
+        return (short) ((readByte() & 0xFF) << 8 | (readByte() & 0xFF));
+    }
+
+    @Override
+    public int readInt() {
+        return (readByte() & 0xFF) << 24 | (readByte() & 0xFF) << 16 | (readByte() & 0xFF) << 8 | (readByte() & 0xFF);
+    }
+
+    @Override
+    public long readLong() {
+        return (long) readInt() << 32 | (readInt() & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte next = readByte();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed var-int in snapshot file");
+    }
+
+    @Override
+    public String readString() throws IOException {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = readByte();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a string and checks it against the given UTF-8 bytes without creating a String.
+     *
+     * @param expected The bytes to compare with
+     * @return True if the stored string has exactly these bytes; false otherwise
+     * @throws IOException If the stored length is malformed
+     */
+    boolean matchString(byte[] expected) throws IOException {
+        int length = readVarInt() - 1;
+        if (length != expected.length) {
+            return false;
+        }
+        for (byte b : expected) {
+            if (readByte() != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
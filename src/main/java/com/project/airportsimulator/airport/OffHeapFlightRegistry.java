@@ -0,0 +1,370 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Flight registry that keeps every flight record in native memory, for fleets too large to hold on
+ * the heap without long garbage collection pauses.
+ *
+ * <p>Records are fixed-width and live in direct buffers of {@value #CHUNK_RECORDS} records each, so
+ * the registry grows by adding chunks and never copies records. A record holds the flight number
+ * hash, runway number, origin and destination city ids, status ordinal and the flight number itself:
+ * up to {@value #INLINE_NAME} Latin-1 characters inline, longer or other names in a native overflow
+ * arena. Flights are found through an open addressing hash table of ids, also in native memory.
+ * Ids of removed flights are chained through their records and reused by later registrations.
+ *
+ * <p>The heap holds only a handful of objects whatever the fleet size, so garbage collection never
+ * has to scan or copy flight state. Native memory is limited by {@code -XX:MaxDirectMemorySize}, and
+ * buffers replaced when the hash table grows are released once the collector finds them unreachable.
+ *
+ * @author Dhairya
+ * @since December 16, 2023
+ */
+public class OffHeapFlightRegistry implements FlightStore {
+    private static final AirplaneStatus[] STATUSES = AirplaneStatus.values();
+    private static final byte FREE = -1;            // status of an id that is not in use
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final int INLINE_NAME = 16;      // longest flight number stored in the record
+
+    // Record layout
+    private static final int HASH = 0;              // int, flight number hash
+    private static final int RUNWAY = 4;            // int, runway number, or the next free id of a removed record
+    private static final int ORIGIN = 8;            // int, origin city id
+    private static final int DESTINATION = 12;      // int, destination city id
+    private static final int STATUS = 16;           // byte, status ordinal, FREE if not in use
+    private static final int INLINE = 17;           // byte, 1 if the name is inline, 0 if in the overflow arena
+    private static final int LENGTH = 18;           // short, flight number length
+    private static final int NAME = 20;             // inline Latin-1 name, or the int arena offset of the name
+    private static final int RECORD = NAME + INLINE_NAME;  // 36 bytes
+
+    // Attributes
+    private ByteBuffer[] chunks = new ByteBuffer[4];    // record chunks, allocated as needed
+    private ByteBuffer table;       // open addressing hash table of id + 1, 0 for an empty slot
+    private int mask;               // table slot count minus one
+    private ByteBuffer overflow;    // arena of flight numbers too long to inline, as UTF-16 characters
+    private int overflowUsed;       // arena characters in use, including removed names
+    private int overflowGarbage;    // arena characters of removed names
+    private int freeHead = -1;      // most recently removed id, -1 if none
+    private int nextId;             // lowest id never handed out
+    private int size;               // number of registered flights
+    private final CityDictionary dictionary = CityDictionary.getDefault();
+
+    /**
+     * Constructs a registry sized for the given number of flights.
+     *
+     * @param expectedFlights The number of flights expected to be registered at once
+     */
+    public OffHeapFlightRegistry(int expectedFlights) {
+        int slots = Integer.highestOneBit(Math.max(16, expectedFlights) * 2 - 1) << 1;  // at most half full
+        table = allocate(slots * 4L);
+        mask = slots - 1;
+        overflow = allocate(1024);
+    }
+
+    @Override
+    public int register(String flightNumber, String cityOfOrigin) {
+        int hash = flightNumber.hashCode();
+        int slot = home(hash);
+        for (int entry; (entry = table.getInt(slot << 2)) != 0; slot = (slot + 1) & mask) {
+            if (recordOf(entry - 1).getInt(offsetOf(entry - 1) + HASH) == hash && nameEquals(entry - 1, flightNumber)) {
+                return -1;
+            }
+        }
+        int id;
+        if (freeHead >= 0) {
+            id = freeHead;
+            freeHead = recordOf(id).getInt(offsetOf(id) + RUNWAY);
+        } else {
+            id = nextId++;
+            if (id >>> CHUNK_SHIFT == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length << 1);
+            }
+            if (chunks[id >>> CHUNK_SHIFT] == null) {
+                chunks[id >>> CHUNK_SHIFT] = allocate((long) CHUNK_RECORDS * RECORD);
+            }
+        }
+        ByteBuffer record = recordOf(id);
+        int offset = offsetOf(id);
+        record.putInt(offset + HASH, hash);
+        record.putInt(offset + RUNWAY, 0);
+        record.putInt(offset + ORIGIN, dictionary.intern(cityOfOrigin));
+        record.putInt(offset + DESTINATION, CityDictionary.NONE);
+        record.put(offset + STATUS, (byte) AirplaneStatus.DUE.ordinal());
+        storeName(record, offset, flightNumber);
+        table.putInt(slot << 2, id + 1);
+        if (++size > (mask + 1) >>> 1) {
+            rehash((mask + 1) << 1);
+        }
+        return id;
+    }
+
+    @Override
+    public int find(String flightNumber) {
+        int hash = flightNumber.hashCode();
+        for (int slot = home(hash), entry; (entry = table.getInt(slot << 2)) != 0; slot = (slot + 1) & mask) {
+            if (recordOf(entry - 1).getInt(offsetOf(entry - 1) + HASH) == hash && nameEquals(entry - 1, flightNumber)) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void remove(int id) {
+        checkRegistered(id);
+        ByteBuffer record = recordOf(id);
+        int offset = offsetOf(id);
+        int slot = home(record.getInt(offset + HASH));
+        while (table.getInt(slot << 2) != id + 1) {
+            slot = (slot + 1) & mask;
+        }
+        // Backward shift deletion keeps every probe chain unbroken without tombstones
+        table.putInt(slot << 2, 0);
+        for (int next = (slot + 1) & mask, entry; (entry = table.getInt(next << 2)) != 0; next = (next + 1) & mask) {
+            int home = home(recordOf(entry - 1).getInt(offsetOf(entry - 1) + HASH));
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table.putInt(slot << 2, entry);
+                table.putInt(next << 2, 0);
+                slot = next;
+            }
+        }
+        if (record.get(offset + INLINE) == 0) {
+            overflowGarbage += record.getShort(offset + LENGTH) & 0xFFFF;
+        }
+        record.put(offset + STATUS, FREE);
+        record.putInt(offset + RUNWAY, freeHead);
+        freeHead = id;
+        size--;
+        if (overflowGarbage > overflowUsed >>> 1 && overflowGarbage > 1024) {
+            compactOverflow();
+        }
+    }
+
+    @Override
+    public boolean isRegistered(int id) {
+        return id >= 0 && id < nextId && recordOf(id).get(offsetOf(id) + STATUS) != FREE;
+    }
+
+    @Override
+    public String getFlightNumber(int id) {
+        checkRegistered(id);
+        ByteBuffer record = recordOf(id);
+        int offset = offsetOf(id);
+        int length = record.getShort(offset + LENGTH) & 0xFFFF;
+        char[] name = new char[length];
+        if (record.get(offset + INLINE) != 0) {
+            for (int i = 0; i < length; i++) {
+                name[i] = (char) (record.get(offset + NAME + i) & 0xFF);
+            }
+        } else {
+            int start = record.getInt(offset + NAME);
+            for (int i = 0; i < length; i++) {
+                name[i] = overflow.getChar((start + i) << 1);
+            }
+        }
+        return new String(name);
+    }
+
+    @Override
+    public AirplaneStatus getStatus(int id) {
+        checkRegistered(id);
+        return STATUSES[recordOf(id).get(offsetOf(id) + STATUS)];
+    }
+
+    @Override
+    public void setStatus(int id, AirplaneStatus status) {
+        checkRegistered(id);
+        recordOf(id).put(offsetOf(id) + STATUS, (byte) status.ordinal());
+    }
+
+    @Override
+    public int getRunwayNumber(int id) {
+        checkRegistered(id);
+        return recordOf(id).getInt(offsetOf(id) + RUNWAY);
+    }
+
+    @Override
+    public void setRunwayNumber(int id, int runwayNumber) {
+        checkRegistered(id);
+        recordOf(id).putInt(offsetOf(id) + RUNWAY, runwayNumber);
+    }
+
+    @Override
+    public String getOriginCity(int id) {
+        return dictionary.getName(getOriginCityId(id));
+    }
+
+    @Override
+    public String getDestinationCity(int id) {
+        return dictionary.getName(getDestinationCityId(id));
+    }
+
+    @Override
+    public int getOriginCityId(int id) {
+        checkRegistered(id);
+        return recordOf(id).getInt(offsetOf(id) + ORIGIN);
+    }
+
+    @Override
+    public int getDestinationCityId(int id) {
+        checkRegistered(id);
+        return recordOf(id).getInt(offsetOf(id) + DESTINATION);
+    }
+
+    @Override
+    public void setDestinationCity(int id, String destinationCity) {
+        checkRegistered(id);
+        recordOf(id).putInt(offsetOf(id) + DESTINATION, dictionary.intern(destinationCity));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the native memory held by the registry.
+     *
+     * @return The allocated bytes of records, hash table and overflow arena
+     */
+    public long getNativeBytes() {
+        long bytes = table.capacity() + (long) overflow.capacity();
+        for (ByteBuffer chunk : chunks) {
+            if (chunk != null) bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+
+    private ByteBuffer recordOf(int id) {
+        return chunks[id >>> CHUNK_SHIFT];
+    }
+
+    private static int offsetOf(int id) {
+        return (id & (CHUNK_RECORDS - 1)) * RECORD;
+    }
+
+    private void checkRegistered(int id) {
+        if (!isRegistered(id)) {
+            throw new IllegalArgumentException("No flight with id " + id);
+        }
+    }
+
+    private boolean nameEquals(int id, String flightNumber) {
+        ByteBuffer record = recordOf(id);
+        int offset = offsetOf(id);
+        int length = record.getShort(offset + LENGTH) & 0xFFFF;
+        if (length != flightNumber.length()) {
+            return false;
+        }
+        if (record.get(offset + INLINE) != 0) {
+            for (int i = 0; i < length; i++) {
+                if ((record.get(offset + NAME + i) & 0xFF) != flightNumber.charAt(i)) {
+                    return false;
+                }
+            }
+        } else {
+            int start = record.getInt(offset + NAME);
+            for (int i = 0; i < length; i++) {
+                if (overflow.getChar((start + i) << 1) != flightNumber.charAt(i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void storeName(ByteBuffer record, int offset, String flightNumber) {
+        int length = flightNumber.length();
+        if (length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("Flight number too long");
+        }
+        record.putShort(offset + LENGTH, (short) length);
+        if (isInlined(flightNumber)) {
+            record.put(offset + INLINE, (byte) 1);
+            for (int i = 0; i < length; i++) {
+                record.put(offset + NAME + i, (byte) flightNumber.charAt(i));
+            }
+            return;
+        }
+        if ((long) (overflowUsed + length) << 1 > overflow.capacity()) {
+            growOverflow(overflowUsed + length);
+        }
+        record.put(offset + INLINE, (byte) 0);
+        record.putInt(offset + NAME, overflowUsed);
+        for (int i = 0; i < length; i++) {
+            overflow.putChar((overflowUsed + i) << 1, flightNumber.charAt(i));
+        }
+        overflowUsed += length;
+    }
+
+    private static boolean isInlined(String flightNumber) {
+        if (flightNumber.length() > INLINE_NAME) {
+            return false;
+        }
+        for (int i = 0; i < flightNumber.length(); i++) {
+            if (flightNumber.charAt(i) > 0xFF) return false;
+        }
+        return true;
+    }
+
+    private void growOverflow(int characters) {
+        long bytes = Math.max((long) overflow.capacity() + (overflow.capacity() >>> 1), (long) characters << 1);
+        if (bytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Flight number overflow arena is full");
+        }
+        ByteBuffer grown = allocate(bytes);
+        grown.put(0, overflow, 0, overflowUsed << 1);
+        overflow = grown;
+    }
+
+    private void compactOverflow() {
+        ByteBuffer compacted = allocate(Math.max(1024, (long) (overflowUsed - overflowGarbage) << 2));
+        int used = 0;
+        for (int id = 0; id < nextId; id++) {
+            ByteBuffer record = recordOf(id);
+            int offset = offsetOf(id);
+            if (record.get(offset + STATUS) != FREE && record.get(offset + INLINE) == 0) {
+                int length = record.getShort(offset + LENGTH) & 0xFFFF;
+                compacted.put(used << 1, overflow, record.getInt(offset + NAME) << 1, length << 1);
+                record.putInt(offset + NAME, used);
+                used += length;
+            }
+        }
+        overflow = compacted;
+        overflowUsed = used;
+        overflowGarbage = 0;
+    }
+
+    private void rehash(int slots) {
+        if (slots > 1 << 28) {     // byte offsets of slots must fit an int
+            throw new IllegalStateException("Flight registry is full");
+        }
+        table = allocate(slots * 4L);
+        mask = slots - 1;
+        for (int id = 0; id < nextId; id++) {
+            ByteBuffer record = recordOf(id);
+            int offset = offsetOf(id);
+            if (record.get(offset + STATUS) != FREE) {
+                int slot = home(record.getInt(offset + HASH));
+                while (table.getInt(slot << 2) != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table.putInt(slot << 2, id + 1);
+            }
+        }
+    }
+
+    private int home(int hash) {
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static ByteBuffer allocate(long bytes) {
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());   // zero-filled
+    }
+}
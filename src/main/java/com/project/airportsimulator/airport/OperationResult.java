@@ -0,0 +1,93 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airport.portexceptions.AirportException;
+
+/**
+ * Enumerated type representing the outcome of an {@link Airport} operation.
+ *
+ * <p>The {@code try} methods of {@link Airport} return these results instead of throwing, so a
+ * rejected request costs a comparison rather than an exception. Methods that return a runway number
+ * report failures as the negative {@link #getCode() code} of the result.
+ *
+ * @author Dhairya
+ * @since December 5, 2023
+ */
+public enum OperationResult {
+    SUCCESS("Success"),
+    NOT_REGISTERED("Flight has not been registered yet."),
+    ALREADY_REGISTERED("Flight already registered with airport."),
+    ALREADY_ARRIVED("Flight has either already arrived at airport or already been assigned runway."),
+    ALREADY_AT_AIRPORT("Flight already at airport."),
+    RUNWAY_ALREADY_ALLOCATED("Flight has already been allocated a runway."),
+    RUNWAY_NOT_ASSIGNED("Flight has not been assigned runway yet."),
+    WRONG_RUNWAY("Flight is assigned a different runway."),
+    ALREADY_LANDED("Flight has already landed."),
+    NOT_LANDED("Flight hasn't landed yet."),
+    ALREADY_BOARDING("Flight already registered for depart."),
+    NOT_BOARDING("Flight has not started boarding yet."),
+    NOT_WAITING("Flight is not circling in the waiting queue."),
+    JOURNAL_FAILED("Could not write the journal, the operation was not applied."),
+    TOO_MANY_CITIES("Too many distinct cities, the city cannot be added.");
+
+    private static final OperationResult[] VALUES = values();
+
+    private final String description;
+    private final AirportException exception;   // thrown by the throwing methods, shared and without stack trace
+
+    /**
+     * Constructor for OperationResult enum.
+     *
+     * @param description A human-readable description of the result.
+     */
+    OperationResult(String description) {
+        this.description = description;
+        this.exception = new AirportException(description, false);
+    }
+
+    /**
+     * Get a description of the result.
+     *
+     * @return A description of the result.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Checks whether the operation was applied.
+     *
+     * @return True for {@link #SUCCESS}; false otherwise.
+     */
+    public boolean isSuccess() {
+        return this == SUCCESS;
+    }
+
+    /**
+     * Get the compact code of the result, 0 for success and negative for failures.
+     *
+     * @return The code.
+     */
+    public int getCode() {
+        return -ordinal();
+    }
+
+    /**
+     * Get the result of a code returned by an operation. Zero and positive codes, such as runway
+     * numbers, are successes.
+     *
+     * @param code The code.
+     * @return The matching result.
+     */
+    public static OperationResult fromCode(int code) {
+        return code >= 0 ? SUCCESS : VALUES[-code];
+    }
+
+    /**
+     * Get the preallocated exception for this result, used by the throwing methods of {@link Airport}.
+     *
+     * @return The exception.
+     */
+    AirportException exception() {
+        return exception;
+    }
+}
@@ -0,0 +1,306 @@
+package com.project.airportsimulator.airport;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Immutable map of flight records by flight number, as a hash array mapped trie.
+ *
+ * <p>Every node covers five bits of the flight number hash and stores only its present children,
+ * located through a 32-bit bitmap. Adding or removing a flight copies the nodes on the path to it,
+ * at most seven small arrays, and shares every other node with the map it was derived from, so old
+ * versions stay valid and can be read by any thread while new ones are built. Flights whose hashes
+ * are equal in all 32 bits share a collision node.
+ *
+ * @author Dhairya
+ * @since December 18, 2023
+ */
+final class PersistentFlightMap {
+    static final PersistentFlightMap EMPTY = new PersistentFlightMap(new Node(0, new Object[0]), 0);
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Trie node holding a flight record, a child node or a collision node per present bit.
+     */
+    private static final class Node {
+        final int bitmap;           // which of the 32 children are present
+        final Object[] children;    // present children in bit order
+
+        Node(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+    }
+
+    /**
+     * Flights whose flight number hashes are equal.
+     */
+    private static final class Collision {
+        final FlightRecord[] records;
+
+        Collision(FlightRecord[] records) {
+            this.records = records;
+        }
+    }
+
+    // Attributes
+    private final Node root;
+    private final int size;
+
+    private PersistentFlightMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Finds the record of a flight.
+     *
+     * @param flightNumber The flight number
+     * @return The record, or null if the flight is not in the map
+     */
+    FlightRecord get(String flightNumber) {
+        int hash = spread(flightNumber.hashCode());
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object child = node.children[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (child instanceof FlightRecord record) {
+                return record.getFlightNumber().equals(flightNumber) ? record : null;
+            }
+            if (child instanceof Collision collision) {
+                for (FlightRecord record : collision.records) {
+                    if (record.getFlightNumber().equals(flightNumber)) return record;
+                }
+                return null;
+            }
+            node = (Node) child;
+        }
+    }
+
+    /**
+     * Returns a map with the given record, replacing any record of the same flight.
+     *
+     * @param record The record to add
+     * @return The new map
+     */
+    PersistentFlightMap with(FlightRecord record) {
+        String flightNumber = record.getFlightNumber();
+        int newSize = get(flightNumber) == null ? size + 1 : size;
+        return new PersistentFlightMap(put(root, record, spread(flightNumber.hashCode()), 0), newSize);
+    }
+
+    /**
+     * Returns a map without the record of a flight.
+     *
+     * @param flightNumber The flight number
+     * @return The new map, or this map if the flight is not in it
+     */
+    PersistentFlightMap without(String flightNumber) {
+        if (get(flightNumber) == null) {
+            return this;
+        }
+        Object newRoot = remove(root, flightNumber, spread(flightNumber.hashCode()), 0);
+        if (newRoot == null) {
+            return EMPTY;
+        }
+        if (newRoot instanceof FlightRecord record) {   // the root stays a node
+            newRoot = new Node(1 << ((spread(record.getFlightNumber().hashCode())) & MASK), new Object[]{record});
+        }
+        return new PersistentFlightMap((Node) newRoot, size - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Hands every record to an action, in no particular order.
+     *
+     * @param action The action
+     */
+    void forEach(Consumer<? super FlightRecord> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * Hands every flight added, changed or removed since an older map to an action. Subtries the two
+     * maps share are skipped, so a map derived from the older one by a few changes is compared in
+     * time proportional to those changes.
+     *
+     * @param older  The older map
+     * @param action Receives the old record, null if added, and the new record, null if removed
+     */
+    void forEachChange(PersistentFlightMap older, BiConsumer<? super FlightRecord, ? super FlightRecord> action) {
+        diff(older.root, root, 0, action);
+    }
+
+    private static void forEach(Object child, Consumer<? super FlightRecord> action) {
+        if (child instanceof FlightRecord record) {
+            action.accept(record);
+        } else if (child instanceof Collision collision) {
+            for (FlightRecord record : collision.records) action.accept(record);
+        } else {
+            for (Object grandchild : ((Node) child).children) forEach(grandchild, action);
+        }
+    }
+
+    private static void diff(Object older, Object newer, int shift, BiConsumer<? super FlightRecord, ? super FlightRecord> action) {
+        if (older == newer) {
+            return;
+        }
+        if (older instanceof Node olderNode && newer instanceof Node newerNode) {
+            int bits = olderNode.bitmap | newerNode.bitmap;
+            while (bits != 0) {
+                int bit = Integer.lowestOneBit(bits);
+                bits &= ~bit;
+                diff(child(olderNode, bit), child(newerNode, bit), shift + BITS, action);
+            }
+            return;
+        }
+        // A record or collision replaced by something else, so compare by flight number
+        Map<String, FlightRecord> olderRecords = new HashMap<>();
+        if (older != null) forEach(older, record -> olderRecords.put(record.getFlightNumber(), record));
+        if (newer != null) {
+            forEach(newer, record -> {
+                FlightRecord previous = olderRecords.remove(record.getFlightNumber());
+                if (previous != record) action.accept(previous, record);
+            });
+        }
+        olderRecords.values().forEach(record -> action.accept(record, null));
+    }
+
+    private static Object child(Node node, int bit) {
+        return (node.bitmap & bit) == 0 ? null : node.children[Integer.bitCount(node.bitmap & (bit - 1))];
+    }
+
+    private static Node put(Node node, FlightRecord record, int hash, int shift) {
+        int bit = 1 << ((hash >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            Object[] children = new Object[node.children.length + 1];
+            System.arraycopy(node.children, 0, children, 0, index);
+            children[index] = record;
+            System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+            return new Node(node.bitmap | bit, children);
+        }
+        Object child = node.children[index];
+        Object replacement;
+        if (child instanceof FlightRecord existing) {
+            replacement = existing.getFlightNumber().equals(record.getFlightNumber())
+                    ? record
+                    : pair(existing, spread(existing.getFlightNumber().hashCode()), record, hash, shift + BITS);
+        } else if (child instanceof Collision collision) {
+            replacement = withRecord(collision, record);
+        } else {
+            replacement = put((Node) child, record, hash, shift + BITS);
+        }
+        return replaced(node, index, replacement);
+    }
+
+    /**
+     * Builds the smallest subtrie holding two records of different flights
+     */
+    private static Object pair(FlightRecord first, int firstHash, FlightRecord second, int secondHash, int shift) {
+        if (shift >= Integer.SIZE) {
+            return new Collision(new FlightRecord[]{first, second});
+        }
+        int firstIndex = (firstHash >>> shift) & MASK;
+        int secondIndex = (secondHash >>> shift) & MASK;
+        if (firstIndex == secondIndex) {
+            return new Node(1 << firstIndex, new Object[]{pair(first, firstHash, second, secondHash, shift + BITS)});
+        }
+        return new Node((1 << firstIndex) | (1 << secondIndex),
+                firstIndex < secondIndex ? new Object[]{first, second} : new Object[]{second, first});
+    }
+
+    /**
+     * Removes a flight below a node
+     *
+     * @return The new node, a single record left over, null if the node became empty, or the same
+     *         node if the flight was not below it
+     */
+    private static Object remove(Node node, String flightNumber, int hash, int shift) {
+        int bit = 1 << ((hash >>> shift) & MASK);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        Object child = node.children[index];
+        Object replacement;
+        if (child instanceof FlightRecord record) {
+            if (!record.getFlightNumber().equals(flightNumber)) return node;
+            replacement = null;
+        } else if (child instanceof Collision collision) {
+            replacement = withoutRecord(collision, flightNumber);
+            if (replacement == collision) return node;
+        } else {
+            replacement = remove((Node) child, flightNumber, hash, shift + BITS);
+            if (replacement == child) return node;
+        }
+        if (replacement != null) {
+            if (node.children.length == 1 && replacement instanceof FlightRecord) {
+                return replacement;     // collapse, so a lone record moves up to its parent
+            }
+            return replaced(node, index, replacement);
+        }
+        if (node.children.length == 1) {
+            return null;
+        }
+        if (node.children.length == 2 && node.children[1 - index] instanceof FlightRecord other) {
+            return other;
+        }
+        Object[] children = new Object[node.children.length - 1];
+        System.arraycopy(node.children, 0, children, 0, index);
+        System.arraycopy(node.children, index + 1, children, index, children.length - index);
+        return new Node(node.bitmap & ~bit, children);
+    }
+
+    private static Node replaced(Node node, int index, Object child) {
+        Object[] children = node.children.clone();
+        children[index] = child;
+        return new Node(node.bitmap, children);
+    }
+
+    private static Collision withRecord(Collision collision, FlightRecord record) {
+        FlightRecord[] records = collision.records;
+        for (int i = 0; i < records.length; i++) {
+            if (records[i].getFlightNumber().equals(record.getFlightNumber())) {
+                FlightRecord[] replaced = records.clone();
+                replaced[i] = record;
+                return new Collision(replaced);
+            }
+        }
+        FlightRecord[] grown = Arrays.copyOf(records, records.length + 1);
+        grown[records.length] = record;
+        return new Collision(grown);
+    }
+
+    private static Object withoutRecord(Collision collision, String flightNumber) {
+        FlightRecord[] records = collision.records;
+        for (int i = 0; i < records.length; i++) {
+            if (records[i].getFlightNumber().equals(flightNumber)) {
+                if (records.length == 2) {
+                    return records[1 - i];
+                }
+                FlightRecord[] shrunk = new FlightRecord[records.length - 1];
+                System.arraycopy(records, 0, shrunk, 0, i);
+                System.arraycopy(records, i + 1, shrunk, i, shrunk.length - i);
+                return new Collision(shrunk);
+            }
+        }
+        return collision;
+    }
+
+    private static int spread(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
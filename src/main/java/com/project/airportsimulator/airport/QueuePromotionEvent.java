@@ -0,0 +1,48 @@
+package com.project.airportsimulator.airport;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted when a take-off hands its runway to the next circling flight.
+ *
+ * @author Dhairya
+ * @since December 14, 2023
+ */
+@Name("com.project.airportsimulator.QueuePromotion")
+@Label("Waiting Queue Promotion")
+@Category({"Airport Simulator", "Flights"})
+@Description("A circling flight was given the runway of a departing flight")
+@StackTrace(false)
+final class QueuePromotionEvent extends jdk.jfr.Event {
+    @Label("Departed Flight")
+    String departedFlight;
+
+    @Label("Promoted Flight")
+    String promotedFlight;
+
+    @Label("Runway")
+    int runway;
+
+    @Label("Hold Time")
+    @Description("How long the promoted flight circled, 0 if it joined the queue before recording started")
+    @Timespan
+    long holdTime;
+
+    @Label("Still Waiting")
+    @Description("Flights left in the waiting queue")
+    int stillWaiting;
+
+    /**
+     * Checks whether a recording is collecting these events, so callers can skip taking timestamps.
+     *
+     * @return True if the event is enabled
+     */
+    static boolean isRecorded() {
+        return new QueuePromotionEvent().isEnabled();
+    }
+}
@@ -3,6 +3,8 @@ package com.project.airportsimulator.airport;
 import com.project.airportsimulator.airport.portexceptions.RunwayException;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * Represents a single runway at the airport.
@@ -16,7 +18,19 @@ public class Runway implements Serializable {
 
     // Attributes
     private int runwayNumber;       // Runway number
-    private boolean isAllocated;    // Check if runway is allocated for plane
+    private volatile boolean isAllocated;    // Check if runway is allocated for plane
+    private transient FreeRunwayIndex freeIndex;    // Free runway index of owning airport, kept in sync on book/vacate
+    private transient long bookedSince;     // System.nanoTime() the runway was booked, 0 unless recorded
+
+    private static final VarHandle IS_ALLOCATED;   // CAS access to isAllocated for concurrent claims
+
+    static {
+        try {
+            IS_ALLOCATED = MethodHandles.lookup().findVarHandle(Runway.class, "isAllocated", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     /**
      * Constructs a Runway with the given runway number.
@@ -53,6 +67,24 @@ public class Runway implements Serializable {
      */
     public void book() {
         isAllocated = true;
+        if (freeIndex != null) freeIndex.markBooked(runwayNumber);
+        recordBooked();
+    }
+
+    /**
+     * Atomically books the runway if it is vacant.
+     *
+     * <p>Only one of several threads racing for the same runway can succeed.
+     *
+     * @return True if this call booked the runway; false if it was already allocated.
+     */
+    public boolean tryBook() {
+        if (!IS_ALLOCATED.compareAndSet(this, false, true)) {
+            return false;
+        }
+        if (freeIndex != null) freeIndex.markBooked(runwayNumber);
+        recordBooked();
+        return true;
     }
 
     /**
@@ -60,6 +92,40 @@ public class Runway implements Serializable {
      */
     public void vacate() {
         isAllocated = false;
+        if (freeIndex != null) freeIndex.markFree(runwayNumber);
+        RunwayEvent event = new RunwayEvent();
+        if (event.shouldCommit()) {
+            event.runway = runwayNumber;
+            event.occupiedFor = bookedSince != 0 ? System.nanoTime() - bookedSince : 0;
+            event.commit();
+        }
+        bookedSince = 0;
+    }
+
+    /**
+     * Emits a flight recorder event for a booking, if one is being recorded
+     */
+    private void recordBooked() {
+        RunwayEvent event = new RunwayEvent();
+        if (event.isEnabled()) {
+            bookedSince = System.nanoTime();
+            if (event.shouldCommit()) {
+                event.runway = runwayNumber;
+                event.booked = true;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Attaches this runway to the free runway index of its airport and syncs its current state.
+     *
+     * @param freeIndex The index to keep in sync
+     */
+    void attachIndex(FreeRunwayIndex freeIndex) {
+        this.freeIndex = freeIndex;
+        if (isAllocated) freeIndex.markBooked(runwayNumber);
+        else freeIndex.markFree(runwayNumber);
     }
 
     private void validateRunwayNumber(int runwayNumber) {
@@ -0,0 +1,42 @@
+package com.project.airportsimulator.airport;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event emitted when a {@link Runway} is booked or vacated.
+ *
+ * @author Dhairya
+ * @since December 14, 2023
+ */
+@Name("com.project.airportsimulator.Runway")
+@Label("Runway Booking")
+@Category({"Airport Simulator", "Runways"})
+@Description("A runway was booked or vacated")
+@StackTrace(false)
+final class RunwayEvent extends jdk.jfr.Event {
+    @Label("Runway")
+    int runway;
+
+    @Label("Booked")
+    @Description("True if the runway was booked, false if it was vacated")
+    boolean booked;
+
+    @Label("Occupied For")
+    @Description("How long a vacated runway was booked, 0 if booked before recording started")
+    @Timespan
+    long occupiedFor;
+
+    /**
+     * Checks whether a recording is collecting these events, so callers can skip taking timestamps.
+     *
+     * @return True if the event is enabled
+     */
+    static boolean isRecorded() {
+        return new RunwayEvent().isEnabled();
+    }
+}
@@ -0,0 +1,505 @@
+package com.project.airportsimulator.airport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming importer that registers the flights of a schedule file with an {@link Airport}.
+ *
+ * <p>Each line of the file is either a CSV record or a JSON object, which may be mixed:
+ *
+ * <pre>
+ * AC101,Toronto,1701907200
+ * "LH 440","Frankfurt, Main",2023-12-07T08:00:00Z
+ * {"flightNumber": "BA92", "origin": "London", "scheduledArrival": 1701910800}
+ * </pre>
+ *
+ * <p>A record holds the flight number, the city of origin and optionally the scheduled arrival,
+ * given either as a whole number or as an ISO-8601 date and time, which is turned into epoch
+ * seconds (UTC unless an offset is given). JSON objects may name the fields {@code flightNumber} or
+ * {@code flight}, {@code origin} or {@code cityOfOrigin}, and {@code scheduledArrival} or
+ * {@code scheduled}; other fields are ignored, and a field that is JSON {@code null} counts as
+ * missing. A first CSV line is skipped as a header if its fields start with "flight", then "origin"
+ * or "city", then, if present, "scheduled" or "arrival", ignoring case, so a first flight such as
+ * {@code FLIGHT1,Toronto} is still imported. Blank lines and lines starting with {@code #} are
+ * skipped too.
+ *
+ * <p>The file is read through a fixed buffer, so memory use does not grow with its size. Lines are
+ * parsed in place on the raw bytes: only the flight number becomes a new string, city names are
+ * decoded once per distinct city, and whole-number times are parsed without decoding. Flights are
+ * handed to {@link Airport#registerFlights(List, List, long[])} in batches. Lines that cannot be
+ * parsed or are longer than the buffer are counted and skipped.
+ *
+ * @author Dhairya
+ * @since December 12, 2023
+ */
+public class ScheduleImporter {
+    private static final int BUFFER_SIZE = 1 << 20;        // also the longest line that can be imported
+    private static final int DEFAULT_BATCH_SIZE = 8192;
+    private static final int MAX_CACHED_CITIES = 1 << 16;
+    private static final byte[][] FLIGHT_KEYS = keys("flightNumber", "flight");
+    private static final byte[][] ORIGIN_KEYS = keys("origin", "cityOfOrigin");
+    private static final byte[][] ARRIVAL_KEYS = keys("scheduledArrival", "scheduled");
+    private static final byte[] NULL = keys("null")[0];
+
+    // Attributes
+    private final Airport airport;          // Airport the flights are registered with
+    private final int batchSize;            // Flights handed to the airport at once
+    private final byte[] buffer = new byte[BUFFER_SIZE];    // Bytes read but not yet parsed
+    private final List<String> flightNumbers;   // Flight numbers of the pending batch
+    private final List<String> origins;         // Cities of origin of the pending batch
+    private final long[] arrivals;              // Scheduled arrivals of the pending batch
+    private boolean headerAllowed;          // True until the first record of a file, which may be a CSV header
+
+    // Cache of decoded city names, open addressing keyed by the hash of their UTF-8 bytes
+    private byte[][] cityBytes = new byte[256][];
+    private String[] cityNames = new String[256];
+    private int[] cityHashes = new int[256];
+    private int cityCount;
+
+    // Fields of the line being parsed, as byte ranges unless escaped, in which case the text is decoded
+    private int flightStart, flightEnd, originStart, originEnd, arrivalStart, arrivalEnd;
+    private String flightText, originText, arrivalText;
+
+    private long imported;      // Flights registered
+    private long rejected;      // Flights the airport rejected, such as duplicates
+    private long malformed;     // Lines that could not be parsed
+
+    /**
+     * Constructs an importer for the given airport.
+     *
+     * @param airport The airport to register flights with
+     */
+    public ScheduleImporter(Airport airport) {
+        this(airport, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs an importer for the given airport.
+     *
+     * @param airport   The airport to register flights with
+     * @param batchSize The number of flights handed to the airport at once
+     * @throws IllegalArgumentException If the batch size is not positive
+     */
+    public ScheduleImporter(Airport airport, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Invalid batch size " + batchSize);
+        }
+        this.airport = airport;
+        this.batchSize = batchSize;
+        this.flightNumbers = new ArrayList<>(batchSize);
+        this.origins = new ArrayList<>(batchSize);
+        this.arrivals = new long[batchSize];
+    }
+
+    /**
+     * Imports every flight of a schedule file.
+     *
+     * @param file The schedule file
+     * @return The number of flights registered by this call
+     * @throws IOException If the file cannot be read
+     */
+    public long importFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return importFrom(channel);
+        }
+    }
+
+    /**
+     * Imports every flight read from a channel until its end.
+     *
+     * @param channel The channel to read the schedule from, not closed by this method
+     * @return The number of flights registered by this call
+     * @throws IOException If the channel cannot be read
+     */
+    public long importFrom(ReadableByteChannel channel) throws IOException {
+        long before = imported;
+        headerAllowed = true;
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+        int filled = 0;
+        boolean skipping = false;       // inside a line too long for the buffer
+        while (true) {
+            view.limit(buffer.length).position(filled);
+            int read = channel.read(view);
+            if (read < 0) {
+                break;
+            }
+            filled += read;
+            int lineStart = 0;
+            for (int i = 0; i < filled; i++) {
+                if (buffer[i] == '\n') {
+                    if (!skipping) parseLine(lineStart, i);
+                    skipping = false;
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart == 0 && filled == buffer.length) {
+                if (!skipping) malformed++;
+                skipping = true;        // drop the rest of the line
+                filled = 0;
+            } else {
+                System.arraycopy(buffer, lineStart, buffer, 0, filled - lineStart);
+                filled -= lineStart;
+            }
+        }
+        if (filled > 0 && !skipping) {
+            parseLine(0, filled);       // last line without a line break
+        }
+        flush();
+        return imported - before;
+    }
+
+    private void parseLine(int start, int end) {
+        if (end > start && buffer[end - 1] == '\r') end--;
+        start = skipSpaces(start, end);
+        if (start == end || buffer[start] == '#') {
+            return;
+        }
+        flightText = originText = arrivalText = null;
+        flightStart = flightEnd = originStart = originEnd = arrivalStart = arrivalEnd = -1;
+        boolean json = buffer[start] == '{';
+        boolean parsed = json ? parseJson(start, end) : parseCsv(start, end);
+        boolean header = headerAllowed && parsed && !json && isHeader();     // JSON lines carry their own field names
+        headerAllowed = false;
+        if (header) {
+            return;
+        }
+        long arrival = parsed ? parseArrival() : Long.MIN_VALUE;
+        if (arrival == Long.MIN_VALUE || (flightText == null && flightStart == flightEnd) || (originText == null && originStart == originEnd)) {
+            malformed++;
+            return;
+        }
+        String flightNumber = flightText != null ? flightText : new String(buffer, flightStart, flightEnd - flightStart, StandardCharsets.UTF_8);
+        String origin = originText != null ? originText : city(originStart, originEnd);
+        int slot = flightNumbers.size();
+        flightNumbers.add(flightNumber);
+        origins.add(origin);
+        arrivals[slot] = arrival;
+        if (slot + 1 == batchSize) {
+            flush();
+        }
+    }
+
+    private boolean isHeader() {
+        String arrival = text(arrivalStart, arrivalEnd, arrivalText);
+        return startsWith(text(flightStart, flightEnd, flightText), "flight")
+                && (startsWith(text(originStart, originEnd, originText), "origin") || startsWith(text(originStart, originEnd, originText), "city"))
+                && (arrival.isEmpty() || startsWith(arrival, "scheduled") || startsWith(arrival, "arrival"));
+    }
+
+    private String text(int start, int end, String text) {
+        return text != null ? text : start < 0 ? "" : new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(String field, String prefix) {
+        return field.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Reads up to three comma separated fields, each optionally in double quotes with {@code ""} for a quote
+     */
+    private boolean parseCsv(int start, int end) {
+        int position = start;
+        for (int field = 0; field < 3 && position <= end; field++) {
+            position = skipSpaces(position, end);
+            int fieldStart, fieldEnd;
+            String text = null;
+            boolean quoted = position < end && buffer[position] == '"';
+            if (quoted) {
+                fieldStart = position + 1;
+                boolean escaped = false;
+                int i = fieldStart;
+                while (true) {
+                    if (i >= end) return false;     // unterminated quote
+                    if (buffer[i] == '"') {
+                        if (i + 1 < end && buffer[i + 1] == '"') {
+                            escaped = true;
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                fieldEnd = i;
+                if (escaped) text = new String(buffer, fieldStart, fieldEnd - fieldStart, StandardCharsets.UTF_8).replace("\"\"", "\"");
+                position = skipSpaces(i + 1, end);
+                if (position < end && buffer[position] != ',') return false;
+            } else {
+                fieldStart = position;
+                while (position < end && buffer[position] != ',') position++;
+                fieldEnd = trimEnd(fieldStart, position);
+            }
+            switch (field) {
+                case 0 -> { flightStart = fieldStart; flightEnd = fieldEnd; flightText = text; }
+                case 1 -> { originStart = fieldStart; originEnd = fieldEnd; originText = text; }
+                default -> { arrivalStart = fieldStart; arrivalEnd = fieldEnd; arrivalText = text; }
+            }
+            position++;     // past the comma
+        }
+        return true;
+    }
+
+    /**
+     * Reads a flat JSON object, keeping the known fields and skipping the others
+     */
+    private boolean parseJson(int start, int end) {
+        int position = skipSpaces(start + 1, end);
+        if (position < end && buffer[position] == '}') {
+            return true;
+        }
+        while (position < end) {
+            if (buffer[position] != '"') return false;
+            int keyStart = position + 1;
+            int keyEnd = stringEnd(keyStart, end);
+            if (keyEnd < 0) return false;
+            position = skipSpaces(keyEnd + 1, end);
+            if (position >= end || buffer[position] != ':') return false;
+            position = skipSpaces(position + 1, end);
+            if (position >= end) return false;
+            int valueStart, valueEnd;
+            String text = null;
+            boolean quoted = buffer[position] == '"';
+            if (quoted) {
+                valueStart = position + 1;
+                valueEnd = stringEnd(valueStart, end);
+                if (valueEnd < 0) return false;
+                if (hasEscape(valueStart, valueEnd)) {
+                    text = unescapeJson(valueStart, valueEnd);
+                    if (text == null) return false;
+                }
+                position = valueEnd + 1;
+            } else {
+                valueStart = position;
+                while (position < end && buffer[position] != ',' && buffer[position] != '}' && buffer[position] != ' ') position++;
+                valueEnd = position;
+                byte first = buffer[valueStart];
+                if (first == '{' || first == '[') return false;     // nested values are not supported
+                if (Arrays.equals(buffer, valueStart, valueEnd, NULL, 0, NULL.length)) {
+                    valueStart = valueEnd = -1;     // null, the same as a missing field
+                }
+            }
+            if (matches(keyStart, keyEnd, FLIGHT_KEYS)) {
+                flightStart = valueStart; flightEnd = valueEnd; flightText = text;
+            } else if (matches(keyStart, keyEnd, ORIGIN_KEYS)) {
+                originStart = valueStart; originEnd = valueEnd; originText = text;
+            } else if (matches(keyStart, keyEnd, ARRIVAL_KEYS)) {
+                arrivalStart = valueStart; arrivalEnd = valueEnd; arrivalText = text;
+            }
+            position = skipSpaces(position, end);
+            if (position < end && buffer[position] == '}') return true;
+            if (position >= end || buffer[position] != ',') return false;
+            position = skipSpaces(position + 1, end);
+        }
+        return false;
+    }
+
+    /**
+     * Parses the scheduled arrival field
+     *
+     * @return The arrival, {@link Long#MAX_VALUE} if absent or null, or {@link Long#MIN_VALUE} if invalid
+     */
+    private long parseArrival() {
+        if (arrivalText == null) {
+            if (arrivalStart < 0 || arrivalStart == arrivalEnd) {
+                return Long.MAX_VALUE;
+            }
+            // Whole numbers are parsed straight from the bytes
+            long value = 0;
+            int i = arrivalStart;
+            boolean negative = buffer[i] == '-';
+            if (negative) i++;
+            for (; i < arrivalEnd && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+                value = value * 10 + (buffer[i] - '0');
+            }
+            if (i == arrivalEnd && i > arrivalStart + (negative ? 1 : 0) && arrivalEnd - arrivalStart <= 18) {
+                return negative ? -value : value;
+            }
+            arrivalText = new String(buffer, arrivalStart, arrivalEnd - arrivalStart, StandardCharsets.UTF_8);
+        }
+        try {
+            return Instant.parse(arrivalText).getEpochSecond();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(arrivalText).toEpochSecond(ZoneOffset.UTC);
+            } catch (DateTimeParseException notLocal) {
+                return Long.MIN_VALUE;
+            }
+        }
+    }
+
+    private void flush() {
+        if (flightNumbers.isEmpty()) {
+            return;
+        }
+        BatchResult result = airport.registerFlights(flightNumbers, origins, arrivals);
+        rejected += result.getFailureCount();
+        imported += result.size() - result.getFailureCount();
+        flightNumbers.clear();
+        origins.clear();
+    }
+
+    /**
+     * Returns the name of the city spelled by the given bytes, decoding each distinct city only once
+     */
+    private String city(int start, int end) {
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        int mask = cityNames.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        for (String name; (name = cityNames[slot]) != null; slot = (slot + 1) & mask) {
+            if (cityHashes[slot] == hash && Arrays.equals(cityBytes[slot], 0, cityBytes[slot].length, buffer, start, end)) {
+                return name;
+            }
+        }
+        String name = new String(buffer, start, end - start, StandardCharsets.UTF_8);
+        if (cityCount < MAX_CACHED_CITIES) {
+            cityBytes[slot] = Arrays.copyOfRange(buffer, start, end);
+            cityNames[slot] = name;
+            cityHashes[slot] = hash;
+            if (++cityCount > cityNames.length >>> 1) {
+                growCityCache();
+            }
+        }
+        return name;
+    }
+
+    private void growCityCache() {
+        byte[][] oldBytes = cityBytes;
+        String[] oldNames = cityNames;
+        int[] oldHashes = cityHashes;
+        cityBytes = new byte[oldNames.length << 1][];
+        cityNames = new String[oldNames.length << 1];
+        cityHashes = new int[oldNames.length << 1];
+        int mask = cityNames.length - 1;
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                int slot = (oldHashes[i] ^ (oldHashes[i] >>> 16)) & mask;
+                while (cityNames[slot] != null) slot = (slot + 1) & mask;
+                cityBytes[slot] = oldBytes[i];
+                cityNames[slot] = oldNames[i];
+                cityHashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    private int skipSpaces(int position, int end) {
+        while (position < end && (buffer[position] == ' ' || buffer[position] == '\t')) position++;
+        return position;
+    }
+
+    private int trimEnd(int start, int end) {
+        while (end > start && (buffer[end - 1] == ' ' || buffer[end - 1] == '\t')) end--;
+        return end;
+    }
+
+    private int stringEnd(int position, int end) {
+        for (; position < end; position++) {
+            if (buffer[position] == '\\') position++;
+            else if (buffer[position] == '"') return position;
+        }
+        return -1;
+    }
+
+    private boolean hasEscape(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == '\\') return true;
+        }
+        return false;
+    }
+
+    /**
+     * Decodes a JSON string with escapes
+     *
+     * @return The text, or null if a unicode escape is not followed by four hex digits
+     */
+    private String unescapeJson(int start, int end) {
+        String raw = new String(buffer, start, end - start, StandardCharsets.UTF_8);
+        StringBuilder text = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 == raw.length()) {
+                text.append(c);
+                continue;
+            }
+            char escape = raw.charAt(++i);
+            switch (escape) {
+                case 'n' -> text.append('\n');
+                case 't' -> text.append('\t');
+                case 'r' -> text.append('\r');
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'u' -> {
+                    if (i + 4 >= raw.length()) {
+                        return null;
+                    }
+                    int code = 0;
+                    for (int digit = 0; digit < 4; digit++) {
+                        int value = Character.digit(raw.charAt(++i), 16);
+                        if (value < 0) return null;
+                        code = code << 4 | value;
+                    }
+                    text.append((char) code);
+                }
+                default -> text.append(escape);     // quote, backslash and slash
+            }
+        }
+        return text.toString();
+    }
+
+    private boolean matches(int start, int end, byte[][] keys) {
+        for (byte[] key : keys) {
+            if (Arrays.equals(key, 0, key.length, buffer, start, end)) return true;
+        }
+        return false;
+    }
+
+    private static byte[][] keys(String... names) {
+        byte[][] keys = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            keys[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the number of flights registered so far.
+     *
+     * @return The imported flight count
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * Returns the number of flights the airport rejected so far, such as already registered ones.
+     *
+     * @return The rejected flight count
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Returns the number of lines that could not be parsed so far.
+     *
+     * @return The malformed line count
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.airportsimulator.airport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered reader of values written by {@link SnapshotOutput}.
+ *
+ * @author Dhairya
+ * @since November 29, 2023
+ */
+class SnapshotInput implements SnapshotSource {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Attributes
+    private final FileChannel channel;   // Channel read from
+    private final ByteBuffer buffer;     // Bytes read from the channel but not yet consumed
+
+    /**
+     * Constructs a reader on an open channel, starting at its current position.
+     *
+     * @param channel The channel to read from
+     */
+    SnapshotInput(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.limit(0);
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        ensure(1);
+        return buffer.get();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        ensure(2);
+        return buffer.getShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        ensure(4);
+        return buffer.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        ensure(8);
+        return buffer.getLong();
+    }
+
+    @Override
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte next = readByte();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed var-int in snapshot file");
+    }
+
+    void readBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                fill(1);
+            }
+            int count = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    @Override
+    public String readString() throws IOException {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        readBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            fill(bytes);
+        }
+    }
+
+    private void fill(int bytes) throws IOException {
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of snapshot file");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.airportsimulator.airport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Buffered writer of primitive values and strings to a file channel.
+ *
+ * <p>Values are written big-endian into a reusable direct buffer that is flushed to the channel
+ * whenever it fills up. Var-ints use 7 bits per byte with the high bit marking a following byte.
+ * Strings are written as a var-int of the UTF-8 byte length plus one, with 0 standing for null,
+ * followed by the bytes.
+ *
+ * @author Dhairya
+ * @since November 29, 2023
+ */
+class SnapshotOutput {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Attributes
+    private final FileChannel channel;   // Channel written to
+    private final ByteBuffer buffer;     // Pending bytes not yet written to the channel
+    private long flushed;                // Number of bytes already written to the channel
+
+    /**
+     * Constructs a writer on an open channel.
+     *
+     * @param channel The channel to write to
+     */
+    SnapshotOutput(FileChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void writeShort(int value) throws IOException {
+        ensure(2);
+        buffer.putShort((short) value);
+    }
+
+    void writeInt(int value) throws IOException {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    void writeVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            flushed += bytes.length;
+            ByteBuffer large = ByteBuffer.wrap(bytes);
+            while (large.hasRemaining()) {
+                channel.write(large);
+            }
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        writeBytes(bytes);
+    }
+
+    /**
+     * Returns the number of bytes written so far, which is the file offset of the next value.
+     *
+     * @return The current write position
+     */
+    long position() {
+        return flushed + buffer.position();
+    }
+
+    /**
+     * Writes every pending byte to the channel.
+     *
+     * @throws IOException If the channel cannot be written
+     */
+    void flush() throws IOException {
+        buffer.flip();
+        flushed += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.project.airportsimulator.airport;
+
+import java.io.IOException;
+
+/**
+ * Source of the values making up an airport snapshot, read in file order.
+ *
+ * @author Dhairya
+ * @since November 30, 2023
+ */
+interface SnapshotSource {
+
+    byte readByte() throws IOException;
+
+    short readShort() throws IOException;
+
+    int readInt() throws IOException;
+
+    long readLong() throws IOException;
+
+    int readVarInt() throws IOException;
+
+    String readString() throws IOException;
+}
@@ -0,0 +1,138 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airplane.AirplaneStatusListener;
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+
+import java.util.*;
+
+/**
+ * Registered airplanes partitioned by their current status.
+ *
+ * <p>The index listens to every airplane added to it, so a status upgrade moves the airplane to its
+ * new partition as it happens. Arrivals and departures are served as live read-only views over the
+ * partitions, which makes listing them proportional to the result instead of the whole fleet.
+ *
+ * @author Dhairya
+ * @since December 2, 2023
+ */
+class StatusIndex implements AirplaneStatusListener {
+    // Attributes
+    private final EnumMap<AirplaneStatus, Set<Airplane>> partitions;    // Airplanes of each status
+    private final Set<Airplane> arrivals;       // Read-only view of every airplane not departing
+    private final Set<Airplane> departures;     // Read-only view of departing airplanes
+
+    /**
+     * Constructs an index of the given airplanes.
+     *
+     * @param airplanes The airplanes to index
+     */
+    StatusIndex(Collection<Airplane> airplanes) {
+        partitions = new EnumMap<>(AirplaneStatus.class);
+        for (AirplaneStatus status : AirplaneStatus.values()) {
+            partitions.put(status, new HashSet<>());
+        }
+        for (Airplane airPlane : airplanes) {
+            add(airPlane);
+        }
+        arrivals = new PartitionView(List.of(partitions.get(AirplaneStatus.DUE),
+                partitions.get(AirplaneStatus.WAITING), partitions.get(AirplaneStatus.LANDED)));
+        departures = Collections.unmodifiableSet(partitions.get(AirplaneStatus.DEPARTING));
+    }
+
+    /**
+     * Starts tracking an airplane.
+     *
+     * @param airPlane The airplane
+     */
+    void add(Airplane airPlane) {
+        partitions.get(airPlane.getStatus()).add(airPlane);
+        airPlane.setStatusListener(this);
+    }
+
+    /**
+     * Stops tracking an airplane.
+     *
+     * @param airPlane The airplane
+     */
+    void remove(Airplane airPlane) {
+        partitions.get(airPlane.getStatus()).remove(airPlane);
+        airPlane.setStatusListener(null);
+    }
+
+    @Override
+    public void statusChanged(Airplane airplane, AirplaneStatus previousStatus) {
+        partitions.get(previousStatus).remove(airplane);
+        partitions.get(airplane.getStatus()).add(airplane);
+    }
+
+    /**
+     * Returns a live read-only view of every airplane that is not departing.
+     *
+     * @return The arrivals
+     */
+    Set<Airplane> arrivals() {
+        return arrivals;
+    }
+
+    /**
+     * Returns a live read-only view of every departing airplane.
+     *
+     * @return The departures
+     */
+    Set<Airplane> departures() {
+        return departures;
+    }
+
+    /**
+     * Read-only union of disjoint partitions.
+     */
+    private static class PartitionView extends AbstractSet<Airplane> {
+        private final List<Set<Airplane>> parts;
+
+        PartitionView(List<Set<Airplane>> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Set<Airplane> part : parts) {
+                size += part.size();
+            }
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (Set<Airplane> part : parts) {
+                if (part.contains(o)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<Airplane> iterator() {
+            return new Iterator<>() {
+                private int part = 0;
+                private Iterator<Airplane> current = parts.get(0).iterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && part < parts.size() - 1) {
+                        current = parts.get(++part).iterator();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public Airplane next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
+    }
+}
@@ -25,4 +25,15 @@ public class AirportException extends RuntimeException {
     public AirportException(String message) {
         super(message);
     }
+
+    /**
+     * Constructs a new AirportException that may skip capturing its stack trace. Exceptions without a
+     * stack trace are cheap to throw and can be preallocated and shared.
+     *
+     * @param message            The error message to be associated with this exception.
+     * @param writableStackTrace False to skip capturing the stack trace.
+     */
+    public AirportException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,89 @@
+package com.project.airportsimulator.cli;
+
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.portexceptions.AirportException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Headless front-end that runs airport commands from a script or an interactive prompt.
+ *
+ * <p>Reads commands line by line from a script file, or from standard input when no file is given,
+ * and writes one result line per command to standard output, see {@link CommandInterpreter}. Input
+ * is streamed, so scripts of any length run in constant memory. When standard input is a terminal
+ * a prompt is shown and every result is flushed at once; otherwise output is buffered. Needs no
+ * JavaFX, so it starts quickly and runs on servers.
+ *
+ * <pre>
+ * java -p target/classes -m com.project.airportsimulator/com.project.airportsimulator.cli.AirportCli [--runways N] [--load FILE] [--save FILE] [SCRIPT]
+ * </pre>
+ *
+ * <p>A summary of the commands run and failed goes to standard error. The exit status is 0, or 2
+ * for invalid arguments or unreadable files.
+ *
+ * @author Dhairya
+ * @since December 11, 2023
+ */
+public class AirportCli {
+    private static final int DEFAULT_RUNWAYS = 6;   // same default as the GUI
+
+    public static void main(String[] args) {
+        int runways = DEFAULT_RUNWAYS;
+        String loadFile = null, saveFile = null, script = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--runways" -> runways = Integer.parseInt(args[++i]);
+                    case "--load" -> loadFile = args[++i];
+                    case "--save" -> saveFile = args[++i];
+                    case "--help" -> {
+                        usage();
+                        return;
+                    }
+                    default -> {
+                        if (args[i].startsWith("--") || script != null) throw new IllegalArgumentException(args[i]);
+                        script = args[i];
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            usage();
+            System.exit(2);
+        }
+
+        boolean interactive = script == null && System.console() != null;
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 1 << 16), interactive);
+        try (BufferedReader in = script == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8)) {
+            Airport airport = loadFile == null ? new Airport(runways) : new Airport(loadFile);
+            CommandInterpreter interpreter = new CommandInterpreter(airport, out);
+            String line;
+            do {
+                if (interactive) {
+                    out.print("> ");
+                    out.flush();
+                }
+            } while ((line = in.readLine()) != null && interpreter.execute(line));
+            out.flush();
+            if (saveFile != null) {
+                interpreter.getAirport().save(saveFile);
+            }
+            System.err.println(interpreter.getCommands() + " commands, " + interpreter.getFailures() + " failed");
+        } catch (IOException | AirportException e) {
+            out.flush();
+            System.err.println("Error: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: AirportCli [--runways N] [--load FILE] [--save FILE] [SCRIPT]");
+        System.err.println("Runs airport commands from SCRIPT, or from standard input if omitted.");
+        System.err.println("Commands: register, request, land, board, takeoff, emergency, fuel, divert,");
+        System.err.println("          arrivals, departures, save, load, import, metrics [off], changes, quit");
+    }
+}
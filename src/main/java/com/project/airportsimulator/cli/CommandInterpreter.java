@@ -0,0 +1,321 @@
+package com.project.airportsimulator.cli;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.AirportChange;
+import com.project.airportsimulator.airport.AirportMetrics;
+import com.project.airportsimulator.airport.AirportOperation;
+import com.project.airportsimulator.airport.ChangeFeed;
+import com.project.airportsimulator.airport.LatencyHistogram;
+import com.project.airportsimulator.airport.OperationResult;
+import com.project.airportsimulator.airport.ScheduleImporter;
+
+import javax.management.JMException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Runs text commands against an {@link Airport} and writes one result line per command.
+ *
+ * <p>Commands are one per line, a keyword followed by its arguments separated by spaces. City names
+ * take the rest of the line and may contain spaces. Blank lines and lines starting with {@code #}
+ * are ignored.
+ *
+ * <pre>
+ * register &lt;flight&gt; &lt;city of origin&gt;
+ * request &lt;flight&gt;
+ * land &lt;flight&gt; &lt;runway&gt;
+ * board &lt;flight&gt; &lt;destination city&gt;
+ * takeoff &lt;flight&gt;
+ * emergency &lt;flight&gt;
+ * fuel &lt;flight&gt; &lt;minutes&gt;
+ * divert &lt;flight&gt;
+ * arrivals | departures
+ * save &lt;file&gt; | load &lt;file&gt;
+ * import &lt;schedule file&gt;
+ * metrics [off]
+ * changes
+ * </pre>
+ *
+ * <p>A result line starts with {@code OK} or {@code ERR}, followed by the command and flight number.
+ * Successful requests add {@code runway=N} or {@code waiting}, take-offs add the promoted flight, and
+ * failures add the {@link OperationResult} name and description. Imports add the counts of
+ * {@link ScheduleImporter}. The first metrics command turns on {@link AirportMetrics} and publishes
+ * them over JMX as {@code com.project.airportsimulator:type=Airport,name=cli}. Every metrics command
+ * prints a line per operation with its count and median, 99th percentile and maximum latency in
+ * microseconds. Listings print one tab-separated line per flight before their result line. The
+ * first changes command subscribes to the {@link ChangeFeed} of the airport, and every later one
+ * prints a tab-separated line per change since the previous one, followed by the number of changes
+ * lost because more than {@value #FEED_CAPACITY} happened in between. The non-throwing {@code try}
+ * methods of {@link Airport} are used, so a rejected command costs no exception.
+ *
+ * @author Dhairya
+ * @since December 11, 2023
+ */
+public class CommandInterpreter {
+    static final int FEED_CAPACITY = 1024;  // changes kept between two changes commands
+
+    // Attributes
+    private Airport airport;            // Airport the commands run against
+    private final PrintWriter out;      // Receives the result lines
+    private long commands;              // Number of commands run
+    private long failures;              // Number of commands that failed
+    private AirportMetrics published;   // Metrics registered with JMX, or null
+    private ChangeFeed.Subscription changes;    // Reads the change feed, or null until the first changes command
+
+    /**
+     * Constructs an interpreter writing results to the given writer.
+     *
+     * @param airport The airport to run commands against
+     * @param out     The writer receiving result lines, flushed by the caller
+     */
+    public CommandInterpreter(Airport airport, PrintWriter out) {
+        this.airport = airport;
+        this.out = out;
+    }
+
+    /**
+     * Runs one command line.
+     *
+     * @param line The command line
+     * @return False if the line was a quit command; true otherwise
+     */
+    public boolean execute(String line) {
+        line = line.strip();
+        if (line.isEmpty() || line.charAt(0) == '#') {
+            return true;
+        }
+        int end = line.indexOf(' ');
+        String command = (end < 0 ? line : line.substring(0, end)).toLowerCase(Locale.ROOT);
+        String arguments = end < 0 ? "" : line.substring(end + 1).strip();
+        if (command.equals("quit") || command.equals("exit")) {
+            return false;
+        }
+        commands++;
+        switch (command) {
+            case "register" -> {
+                String[] flightAndCity = split(arguments);
+                if (flightAndCity[1].isEmpty()) {
+                    usage(command, "register <flight> <city of origin>");
+                } else {
+                    report(command, flightAndCity[0], airport.tryFlightRegister(flightAndCity[0], flightAndCity[1]));
+                }
+            }
+            case "request" -> {
+                int runwayNumber = airport.tryAirplaneAssignedRunway(arguments);
+                if (runwayNumber < 0) {
+                    report(command, arguments, OperationResult.fromCode(runwayNumber));
+                } else {
+                    out.println("OK request " + arguments + (runwayNumber == 0 ? " waiting" : " runway=" + runwayNumber));
+                }
+            }
+            case "land" -> {
+                String[] flightAndRunway = split(arguments);
+                Integer runwayNumber = parseNumber(flightAndRunway[1]);
+                if (runwayNumber == null) {
+                    usage(command, "land <flight> <runway>");
+                } else {
+                    report(command, flightAndRunway[0], airport.tryReadyToLand(flightAndRunway[0], runwayNumber));
+                }
+            }
+            case "board" -> {
+                String[] flightAndCity = split(arguments);
+                if (flightAndCity[1].isEmpty()) {
+                    usage(command, "board <flight> <destination city>");
+                } else {
+                    report(command, flightAndCity[0], airport.tryReadyToBoard(flightAndCity[0], flightAndCity[1]));
+                }
+            }
+            case "takeoff" -> {
+                OperationResult result = airport.tryReadyToTakeOff(arguments);
+                Airplane promoted = airport.getLastPromotedFlight();
+                if (result.isSuccess() && promoted != null) {
+                    out.println("OK takeoff " + arguments + " promoted=" + promoted.getFlightNumber() + " runway=" + promoted.getRunwayNumber());
+                } else {
+                    report(command, arguments, result);
+                }
+            }
+            case "emergency" -> report(command, arguments, airport.declareEmergency(arguments));
+            case "fuel" -> {
+                String[] flightAndFuel = split(arguments);
+                Integer fuelMinutes = parseNumber(flightAndFuel[1]);
+                if (fuelMinutes == null) {
+                    usage(command, "fuel <flight> <minutes>");
+                } else {
+                    report(command, flightAndFuel[0], airport.updateFuel(flightAndFuel[0], fuelMinutes));
+                }
+            }
+            case "divert" -> report(command, arguments, airport.divertFlight(arguments));
+            case "arrivals" -> list(command, airport.getAllArrivals());
+            case "departures" -> list(command, airport.getAllDepartures());
+            case "save" -> {
+                try {
+                    airport.save(arguments);
+                    out.println("OK save " + arguments);
+                } catch (IOException e) {
+                    fail(command, arguments, e.getMessage());
+                }
+            }
+            case "import" -> {
+                try {
+                    ScheduleImporter importer = new ScheduleImporter(airport);
+                    importer.importFile(Path.of(arguments));
+                    out.println("OK import " + arguments + " imported=" + importer.getImported()
+                            + " rejected=" + importer.getRejected() + " malformed=" + importer.getMalformed());
+                } catch (IOException e) {
+                    fail(command, arguments, e.getMessage());
+                }
+            }
+            case "metrics" -> {
+                if (arguments.equalsIgnoreCase("off")) {
+                    unpublishMetrics();
+                    airport.disableMetrics();
+                    out.println("OK metrics off");
+                } else {
+                    AirportMetrics metrics = airport.enableMetrics();
+                    publishMetrics(metrics);
+                    metrics(command, metrics.snapshot());
+                }
+            }
+            case "changes" -> changes(command);
+            case "load" -> {
+                try {
+                    airport = new Airport(arguments);
+                    unpublishMetrics();     // they belong to the airport just replaced
+                    if (changes != null) changes = airport.openChangeFeed(FEED_CAPACITY).subscribe();
+                    out.println("OK load " + arguments);
+                } catch (IOException e) {
+                    fail(command, arguments, e.getMessage());
+                }
+            }
+            default -> fail(command, "", "Unknown command");
+        }
+        return true;
+    }
+
+    /**
+     * Returns the airport commands run against, which a load command replaces.
+     *
+     * @return The current airport
+     */
+    public Airport getAirport() {
+        return airport;
+    }
+
+    /**
+     * Returns the number of commands run so far, not counting blank and comment lines.
+     *
+     * @return The command count
+     */
+    public long getCommands() {
+        return commands;
+    }
+
+    /**
+     * Returns the number of commands that failed so far.
+     *
+     * @return The failure count
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    private void list(String command, Collection<Airplane> airplanes) {
+        for (Airplane airPlane : airplanes) {
+            out.println(airPlane.getFlightNumber() + '\t' + airPlane.getStatus() + '\t'
+                    + (airPlane.isAllocatedARunway() ? airPlane.getRunwayNumber() : 0) + '\t'
+                    + airPlane.getOriginCity() + '\t' + (airPlane.getDestinationCity() == null ? "" : airPlane.getDestinationCity()));
+        }
+        out.println("OK " + command + " count=" + airplanes.size());
+    }
+
+    private void metrics(String command, AirportMetrics.Snapshot snapshot) {
+        long rejections = 0;
+        for (OperationResult result : OperationResult.values()) {
+            rejections += snapshot.getRejections(result);
+        }
+        for (AirportOperation operation : AirportOperation.values()) {
+            LatencyHistogram.Snapshot latency = snapshot.getLatency(operation);
+            out.println(operation.name() + '\t' + latency.getCount() + '\t' + latency.getValueAtPercentile(50) / 1000
+                    + '\t' + latency.getValueAtPercentile(99) / 1000 + '\t' + latency.getMax() / 1000);
+        }
+        out.printf(Locale.ROOT, "OK %s rejected=%d booked=%d/%d utilization=%.3f waiting=%d maxWaiting=%d holds=%d%n",
+                command, rejections, snapshot.getBookedRunways(), snapshot.getNumberOfRunways(),
+                snapshot.getAverageRunwayUtilization(), snapshot.getWaitingQueueDepth(),
+                snapshot.getMaxWaitingQueueDepth(), snapshot.getHoldTimes().getCount());
+    }
+
+    private void changes(String command) {
+        if (changes == null) {
+            changes = airport.openChangeFeed(FEED_CAPACITY).subscribe();
+            out.println("OK " + command + " count=0 missed=0");
+            return;
+        }
+        long missed = changes.getMissed();
+        long count = changes.drain((change, endOfBatch) -> printChange(change));
+        out.println("OK " + command + " count=" + count + " missed=" + (changes.getMissed() - missed));
+    }
+
+    private void printChange(AirportChange change) {
+        out.println(String.valueOf(change.getSequence()) + '\t' + change.getType() + '\t'
+                + (change.getFlightNumber() == null ? "" : change.getFlightNumber()) + '\t'
+                + (change.getStatus() == null ? "" : change.getStatus()) + '\t' + change.getRunwayNumber());
+    }
+
+    private void publishMetrics(AirportMetrics metrics) {
+        if (metrics == published) {
+            return;
+        }
+        unpublishMetrics();
+        try {
+            metrics.registerMBean("cli");
+            published = metrics;
+        } catch (JMException e) {
+            // Name taken by another interpreter in this JVM; the metrics command still prints them
+        }
+    }
+
+    private void unpublishMetrics() {
+        if (published != null) {
+            try {
+                published.unregisterMBean();
+            } catch (JMException e) {
+                // Already removed from the MBean server
+            }
+            published = null;
+        }
+    }
+
+    private void report(String command, String flightNumber, OperationResult result) {
+        if (result.isSuccess()) {
+            out.println("OK " + command + ' ' + flightNumber);
+        } else {
+            fail(command, flightNumber, result.name() + ' ' + result.getDescription());
+        }
+    }
+
+    private void usage(String command, String usage) {
+        fail(command, "", "Usage: " + usage);
+    }
+
+    private void fail(String command, String subject, String message) {
+        failures++;
+        out.println("ERR " + command + (subject.isEmpty() ? "" : " " + subject) + ' ' + message);
+    }
+
+    private static String[] split(String arguments) {
+        int end = arguments.indexOf(' ');
+        return end < 0 ? new String[]{arguments, ""} : new String[]{arguments.substring(0, end), arguments.substring(end + 1).strip()};
+    }
+
+    private static Integer parseNumber(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
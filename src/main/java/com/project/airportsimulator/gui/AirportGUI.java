@@ -1,32 +1,42 @@
 package com.project.airportsimulator.gui;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import com.project.airportsimulator.airport.portexceptions.AirportException;
+import javax.management.JMException;
 import javafx.application.Application;
 import static javafx.application.Application.launch;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Label;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
+import javafx.scene.control.TextField;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.scene.layout.VBox;
-import javafx.scene.text.Text;
 import javafx.scene.control.Tooltip;
 import javafx.scene.layout.Border;
 import javafx.scene.layout.BorderStroke;
@@ -37,38 +47,35 @@ import javafx.scene.paint.Color;
 import javafx.stage.StageStyle;
 
 import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.CityDictionary;
 import com.project.airportsimulator.airport.Runway;
-import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airport.ScheduleImporter;
 
 /**
  * Class to manage JavaFX gui for airport system
  *
+ * <p>Once started, the airport is only used on its own thread: dialogs stay on the JavaFX thread,
+ * while commands, imports and saves run in order on the airport thread and report back with
+ * {@link Platform#runLater(Runnable)}. The boards follow the airport through its published views,
+ * redrawn at most once per pulse, so neither slow saves nor streaming traffic hold up the UI.
+ *
  * @author Dhairya Patel
  * @since November 23, 2023
  */
 public class AirportGUI extends Application{
     // Airport object
     private Airport userAirport;
+    private final ExecutorService airportThread = Executors.newSingleThreadExecutor(task -> new Thread(task, "airport"));
 
     private int numberOfRunways;
     private final String fileName = "airportSave.dat";
+    private final String journalFileName = "airportSave.journal";   // changes since the last save, replayed on load
+    private final long journalSyncMillis = 100;
 
-    // Arrival information GUI section
-    private HBox arrivalSection = new HBox(50);
-    // Unique
-    private VBox arrivalFlightLocation = new VBox();
-
-    // Common between arrival and departure
-    private VBox flightName = new VBox();
-    private VBox flightStatus = new VBox();
-    // Assume that each runway point to each unique gate. Runway 1 => Check in Gate 1
-    private VBox flightGate = new VBox();
-
-
-    // Departure information GUI section
-    private HBox departureSection = new HBox(50);
-    // Unique
-    private VBox departureFlightLocation = new VBox();
+    // Arrival and departure boards, updated row by row as flights change
+    private FlightBoard flightBoard;
+    private final Tab tabArrival = new Tab("Airport Arrivals");
+    private final Tab tabDeparture = new Tab("Airport Departures");
 
     // Methods
 
@@ -88,15 +95,11 @@ public class AirportGUI extends Application{
             // Try loading data
             try{
                 userAirport = new Airport(fileName);
-                getArrivals();
-                getDepartures();
+                userAirport.openJournal(journalFileName, journalSyncMillis);    // recover changes made after the last save
                 showMessage("Airport data loaded successfully!");
             } catch (IOException e) {
                 showError("File IO error");
                 System.exit(1);
-            } catch (ClassNotFoundException e) {
-                showError("Required classes not found");
-                System.exit(1);
             }
         }
         // New data
@@ -105,6 +108,8 @@ public class AirportGUI extends Application{
             numberOfRunways = askNumberOfRunways();
             try{
                 userAirport = new Airport(numberOfRunways);
+                Files.deleteIfExists(Path.of(journalFileName));     // changes of an older session do not apply
+                userAirport.openJournal(journalFileName, journalSyncMillis);
             }
             catch (AirportException e){
                 showError(e.getMessage());
@@ -121,8 +126,6 @@ public class AirportGUI extends Application{
         // Three important tabs
         TabPane tabPanels = new TabPane();
         Tab tabControl = new Tab("Airport Control");
-        Tab tabArrival = new Tab("Airport Arrivals");
-        Tab tabDeparture = new Tab("Airport Departures");
         tabPanels.getTabs().addAll(tabControl, tabArrival, tabDeparture);
         tabControl.setClosable(false);
         tabArrival.setClosable(false);
@@ -134,10 +137,11 @@ public class AirportGUI extends Application{
         MenuBar menuBar = new MenuBar();
         menuBar.setMinHeight(20);
         Menu fileItem = new Menu("File");
+        Menu importItem = new Menu("Import schedule");
         Menu continueItem = new Menu("Save and Continue");
         Menu exitWithSavingItem = new Menu("Save and Exit");
         Menu exitWithoutSavingItem = new Menu("Exit without save");
-        fileItem.getItems().addAll(continueItem, exitWithSavingItem, exitWithoutSavingItem);
+        fileItem.getItems().addAll(importItem, continueItem, exitWithSavingItem, exitWithoutSavingItem);
         menuBar.getMenus().add(fileItem);
 
         // Airport control screen
@@ -174,26 +178,28 @@ public class AirportGUI extends Application{
             boardingButton.setOnAction(e->boardingFunc());
             takeOffButton.setOnAction(e->takeOffFunc());
 
+            importItem.setOnAction(e->importFunc(stage));
             continueItem.setOnAction(e->fileSave(fileName));
-            exitWithSavingItem.setOnAction(e->{
-                fileSave(fileName);
-                Platform.exit();
-            });
+            exitWithSavingItem.setOnAction(e->onAirport(() -> {
+                userAirport.save(fileName);
+                userAirport.closeJournal();
+                return null;
+            }, ignored -> Platform.exit(), failure("Error regarding file save")));
             exitWithoutSavingItem.setOnAction(e-> exitWithoutSavingFunc());
         }
         catch (Exception e){
             showError("Invalid option selected");
         }
 
-        // Flight arrival tab
-        arrivalSection.setPadding(new Insets(10));
-        arrivalSection.getChildren().addAll(flightName, arrivalFlightLocation, flightStatus, flightGate);
-        tabArrival.setContent(arrivalSection);
-
-        // Flight departure tab
-        departureSection.setPadding(new Insets(10));
-        departureSection.getChildren().addAll(flightName, departureFlightLocation, flightStatus, flightGate);
-        tabDeparture.setContent(departureSection);
+        // Flight arrival and departure tabs
+        userAirport.enableViews();
+        showBoards();
+        try{
+            // Live operation counts and latencies for JMX consoles such as JConsole
+            userAirport.enableMetrics().registerMBean("gui");
+        } catch (JMException e) {
+            showError("Airport metrics could not be published over JMX");
+        }
 
         root.setBorder(new Border(new BorderStroke(Color.BLACK, BorderStrokeStyle.SOLID, new CornerRadii(0), new BorderWidths(2))));
         root.getChildren().addAll(menuBar, tabPanels);
@@ -205,36 +211,108 @@ public class AirportGUI extends Application{
         stage.show();
     }
 
+    /**
+     * Stops redrawing, withdraws the metrics from JMX and lets the airport thread finish the work already handed to it
+     */
+    @Override
+    public void stop() {
+        if (flightBoard != null) {
+            flightBoard.stop();
+        }
+        airportThread.shutdown();
+        try{
+            userAirport.getMetrics().unregisterMBean();
+        } catch (JMException e) {
+            // The JVM is exiting anyway
+        }
+    }
+
+    /**
+     * Work on the airport, run on the airport thread
+     *
+     * @param <T> The result type
+     */
+    private interface AirportTask<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Runs a task on the airport thread, after every task handed over before it, and reports the
+     * result or failure on the JavaFX thread.
+     *
+     * @param task      The work on the airport
+     * @param onSuccess Receives the result
+     * @param onFailure Receives the exception thrown by the task
+     */
+    private <T> void onAirport(AirportTask<T> task, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        airportThread.execute(() -> {
+            try {
+                T result = task.run();
+                Platform.runLater(() -> onSuccess.accept(result));
+            } catch (Exception e) {
+                Platform.runLater(() -> onFailure.accept(e));
+            }
+        });
+    }
+
+    /**
+     * Reports a failed task, with the airport's own message for rejected commands
+     *
+     * @param errorMessage The message for any other failure
+     */
+    private Consumer<Exception> failure(String errorMessage) {
+        return e -> showError(e instanceof AirportException ? e.getMessage() : errorMessage);
+    }
+
     private void exitWithoutSavingFunc() {
         Alert alert = new Alert( AlertType.WARNING, "Do you want to exit without saving current session?", ButtonType.YES, ButtonType.CANCEL);
         alert.setTitle("Confirmation");
         String exitNoSaveResponse = alert.showAndWait().get().getText();
         if(exitNoSaveResponse.equals("Yes"))
         {
-            Platform.exit();
+            onAirport(() -> {
+                userAirport.closeJournal();
+                return Files.deleteIfExists(Path.of(journalFileName));  // discard changes since the last save
+            }, deleted -> Platform.exit(), e -> {
+                showError("Error regarding journal file");
+                Platform.exit();
+            });
         }
     }
 
     private void fileSave(String fileName) {
-        try{
+        onAirport(() -> {
             userAirport.save(fileName);
-            showMessage("Current session saved successfully");
-        } catch (Exception e) {
-            showError("Error regarding file save");
-        }
+            return null;
+        }, ignored -> showMessage("Current session saved successfully"), failure("Error regarding file save"));
     }
 
     private void open(String fileName){
-        try{
+        // The boards pick up the loaded flights from the next view
+        onAirport(() -> {
             userAirport.load(fileName);
-            getArrivals();
-            getDepartures();
-            showMessage("Old session loaded successfully");
-        }
-        catch (Exception e){
+            return null;
+        }, ignored -> showMessage("Old session loaded successfully"), e -> {
             showError("Error regarding file open");
             System.exit(1);
+        });
+    }
+
+    private void importFunc(Stage stage) {
+        FileChooser scheduleChooser = new FileChooser();
+        scheduleChooser.setTitle("Import flight schedule");
+        scheduleChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Schedules (CSV, JSON lines)", "*.csv", "*.jsonl", "*.txt"));
+        File scheduleFile = scheduleChooser.showOpenDialog(stage);
+        if (scheduleFile == null) {
+            return;
         }
+        onAirport(() -> {
+            ScheduleImporter importer = new ScheduleImporter(userAirport);
+            importer.importFile(scheduleFile.toPath());
+            return importer;
+        }, importer -> showMessage("Imported " + importer.getImported() + " flights\n" + importer.getRejected()
+                + " already registered, " + importer.getMalformed() + " unreadable lines skipped"),
+                failure("Error regarding schedule file"));
     }
 
     private void takeOffFunc() {
@@ -249,14 +327,13 @@ public class AirportGUI extends Application{
             // Check if flight number is empty
             checkNotEmptyResponse(flightNumber, "Flight number cannot be empty");
 
-            userAirport.readyToTakeOff(flightNumber);
-            showMessage("Confirmation:\nFlight-" +flightNumber+ " has departed from airport and been removed " +
-                    "from airport system.");
+            onAirport(() -> userAirport.readyToTakeOff(flightNumber),
+                    promoted -> showMessage("Confirmation:\nFlight-" +flightNumber+ " has departed from airport and been removed " +
+                            "from airport system."), failure("Error regarding take off"));
         }
         catch (AirportException e){
             showError(e.getMessage());
         }
-        getDepartures();
     }
 
     private void boardingFunc() {
@@ -274,19 +351,21 @@ public class AirportGUI extends Application{
             boardingDialog = new TextInputDialog();
             boardingDialog.setHeaderText("Enter destination city: ");
             boardingDialog.setTitle("Boarding process");
+            suggestCities(boardingDialog.getEditor());
             destinationCity = boardingDialog.showAndWait().get();
 
             // Check if city is entered
             checkNotEmptyResponse(destinationCity, "Please enter destination city");
 
-            userAirport.readyToBoard(flightNumber, destinationCity);
-            showMessage("Confirmation:\nFlight-" +flightNumber+ " is start boarding for destination-" +destinationCity);
+            onAirport(() -> {
+                userAirport.readyToBoard(flightNumber, destinationCity);
+                return null;
+            }, ignored -> showMessage("Confirmation:\nFlight-" +flightNumber+ " is start boarding for destination-" +destinationCity),
+                    failure("Error regarding boarding"));
         }
         catch (AirportException e){
             showError(e.getMessage());
         }
-        getArrivals();
-        getDepartures();
     }
 
     private void landFunc() {
@@ -312,17 +391,19 @@ public class AirportGUI extends Application{
 
             runway = Integer.parseInt(runwayNumber);
 
-            userAirport.readyToLand(flightNumber, runway);
-            showMessage("Confirmation:\nFlight-" +flightNumber+ " landed on runway number-"+runway);
+            onAirport(() -> {
+                userAirport.readyToLand(flightNumber, runway);
+                return null;
+            }, ignored -> showMessage("Confirmation:\nFlight-" +flightNumber+ " landed on runway number-"+runway),
+                    failure("Error regarding landing"));
         }
         catch (AirportException e){
             showError(e.getMessage());
         }
-        getArrivals();
     }
 
     private void requestFunc() {
-        String flightNumber, requestMessage;
+        String flightNumber;
         try{
             TextInputDialog requestDialog = new TextInputDialog();
             requestDialog.setHeaderText("Enter flight number: ");
@@ -332,20 +413,20 @@ public class AirportGUI extends Application{
             // Check if flight number is empty
             checkNotEmptyResponse(flightNumber, "Flight number cannot be empty");
 
-            int runwayNumber = userAirport.airplaneAssignedRunway(flightNumber);
-
-            if (runwayNumber==0){
-                requestMessage = "All runways are currently occupied, please join waiting queue";
-            }
-            else{
-                requestMessage = ". You can land at runway number-" +runwayNumber;
-            }
-            showMessage("Confirmation:\nFlight-" +flightNumber+ requestMessage);
+            onAirport(() -> userAirport.airplaneAssignedRunway(flightNumber), runwayNumber -> {
+                String requestMessage;
+                if (runwayNumber==0){
+                    requestMessage = "All runways are currently occupied, please join waiting queue";
+                }
+                else{
+                    requestMessage = ". You can land at runway number-" +runwayNumber;
+                }
+                showMessage("Confirmation:\nFlight-" +flightNumber+ requestMessage);
+            }, failure("Error regarding land request"));
         }
         catch (AirportException e){
             showError(e.getMessage());
         }
-        getArrivals();
     }
 
     private void registerFunc() {
@@ -362,17 +443,47 @@ public class AirportGUI extends Application{
             registerDialog = new TextInputDialog();
             registerDialog.setHeaderText("Enter city of origin for flight");
             registerDialog.setTitle("Flight registration form");
+            suggestCities(registerDialog.getEditor());
             cityOfOrigin = registerDialog.showAndWait().get();
 
             checkNotEmptyResponse(cityOfOrigin, "City of origin cannot be empty");
 
-            userAirport.flightRegister(flightNumber, cityOfOrigin);
-            showMessage("Confirmation:\nFlight-" +flightNumber+ " registered for arrival from " +cityOfOrigin);
+            onAirport(() -> {
+                userAirport.flightRegister(flightNumber, cityOfOrigin);
+                return null;
+            }, ignored -> showMessage("Confirmation:\nFlight-" +flightNumber+ " registered for arrival from " +cityOfOrigin),
+                    failure("Error regarding registration"));
         }
         catch (AirportException e){
             showError(e.getMessage());
         }
-        getArrivals();
+    }
+
+    private void suggestCities(TextField cityField) {
+        // Offer known cities whose name or IATA code starts with the typed text
+        ContextMenu suggestions = new ContextMenu();
+        cityField.textProperty().addListener((observable, oldText, newText) -> {
+            suggestions.getItems().clear();
+            if (newText.isEmpty()) {
+                suggestions.hide();
+                return;
+            }
+            CityDictionary cities = CityDictionary.getDefault();
+            for (int cityId : cities.complete(newText, 10)) {
+                String city = cities.getName(cityId);
+                MenuItem item = new MenuItem(cities.getIataCode(cityId) == null ? city : city + " (" + cities.getIataCode(cityId) + ")");
+                item.setOnAction(e -> {
+                    cityField.setText(city);
+                    cityField.positionCaret(city.length());
+                });
+                suggestions.getItems().add(item);
+            }
+            if (suggestions.getItems().isEmpty()) {
+                suggestions.hide();
+            } else if (!suggestions.isShowing()) {
+                suggestions.show(cityField, Side.BOTTOM, 0, 0);
+            }
+        });
     }
 
     private void checkNotEmptyResponse(String checker, String errorMessage)
@@ -420,55 +531,14 @@ public class AirportGUI extends Application{
         messageAlert.showAndWait();
     }
 
-    private void getDepartures() {
-        Set<Airplane> departureAirplanes = userAirport.getAllDepartures();
-
-        flightName.getChildren().clear();
-        departureFlightLocation.getChildren().clear();
-        flightStatus.getChildren().clear();
-        flightGate.getChildren().clear();
-        flightName.getChildren().add(new Text("FLIGHT"));
-        departureFlightLocation.getChildren().add(new Text("TO"));
-        flightStatus.getChildren().add(new Text("STATUS"));
-        flightGate.getChildren().add(new Text("GATE No."));
-
-        for (Airplane currentAirplane: departureAirplanes){
-            flightName.getChildren().add(new Text(currentAirplane.getFlightNumber()));
-            departureFlightLocation.getChildren().add(new Text(currentAirplane.getDestinationCity()));
-            flightStatus.getChildren().add(new Text(currentAirplane.getStatus().name()));
-            try{
-                flightGate.getChildren().add(new Text(Integer.toString(currentAirplane.getRunwayNumber())));
-            }
-            catch (Exception e){
-                flightGate.getChildren().add(new Text(""));
-            }
-        }
-    }
-
-    private void getArrivals() {
-        System.out.println(numberOfRunways);
-        Set<Airplane> arrivalAirplanes = userAirport.getAllArrivals();
-
-        flightName.getChildren().clear();
-        arrivalFlightLocation.getChildren().clear();
-        flightStatus.getChildren().clear();
-        flightGate.getChildren().clear();
-        flightName.getChildren().add(new Text("FLIGHT"));
-        arrivalFlightLocation.getChildren().add(new Text("FROM"));
-        flightStatus.getChildren().add(new Text("STATUS"));
-        flightGate.getChildren().add(new Text("GATE No."));
-
-        for (Airplane currentAirplane: arrivalAirplanes){
-            flightName.getChildren().add(new Text(currentAirplane.getFlightNumber()));
-            arrivalFlightLocation.getChildren().add(new Text(currentAirplane.getOriginCity()));
-            flightStatus.getChildren().add(new Text(currentAirplane.getStatus().name()));
-            try{
-                flightGate.getChildren().add(new Text(Integer.toString(currentAirplane.getRunwayNumber())));
-            }
-            catch (Exception e){
-                flightGate.getChildren().add(new Text(""));
-            }
+    private void showBoards() {
+        if (flightBoard != null) {
+            flightBoard.stop();
         }
+        flightBoard = new FlightBoard(userAirport);
+        tabArrival.setContent(flightBoard.createArrivalsTable());
+        tabDeparture.setContent(flightBoard.createDeparturesTable());
+        flightBoard.start();
     }
 
     public static void main(String[] args)
@@ -0,0 +1,155 @@
+package com.project.airportsimulator.gui;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.AirportView;
+import com.project.airportsimulator.airport.FlightRecord;
+import javafx.animation.AnimationTimer;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Observable model behind the arrivals and departures boards.
+ *
+ * <p>The board reads the {@link AirportView}s published by an {@link Airport} and never touches the
+ * airport itself, so the airport can run on its own thread. Once per JavaFX pulse an
+ * {@link AnimationTimer} takes the latest view and only adds, updates, moves or removes the rows of
+ * flights that changed since the view shown last, however many operations happened in between. The
+ * boards are {@link TableView}s, which only create cells for visible rows, so rendering cost follows
+ * the window size rather than the number of flights.
+ *
+ * @author Dhairya Patel
+ * @since December 3, 2023
+ */
+public class FlightBoard {
+    // Attributes
+    private final Airport airport;      // read only through its published views
+    private final ObservableList<FlightRow> arrivals = FXCollections.observableArrayList();
+    private final ObservableList<FlightRow> departures = FXCollections.observableArrayList();
+    private final Map<String, FlightRow> rows = new HashMap<>();    // row of each flight on either board
+    private AirportView shown;          // view the boards show, null before the first render
+    private final AnimationTimer renderer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            render();
+        }
+    };
+
+    /**
+     * Constructs a board for an airport publishing views, see {@link Airport#enableViews()}.
+     * Must be used on the JavaFX application thread.
+     *
+     * @param airport The airport to show
+     */
+    public FlightBoard(Airport airport) {
+        this.airport = airport;
+    }
+
+    /**
+     * Shows the current flights and starts following the changes of the airport, once per pulse.
+     */
+    public void start() {
+        render();
+        renderer.start();
+    }
+
+    /**
+     * Stops following the airport. The boards keep showing the last view rendered.
+     */
+    public void stop() {
+        renderer.stop();
+    }
+
+    /**
+     * Brings the boards up to the latest view, with one list change per board
+     */
+    private void render() {
+        AirportView view = airport.getView();
+        if (view == null || view == shown) {
+            return;
+        }
+        List<FlightRow> newArrivals = new ArrayList<>();
+        List<FlightRow> newDepartures = new ArrayList<>();
+        Set<FlightRow> leftArrivals = new HashSet<>();
+        Set<FlightRow> leftDepartures = new HashSet<>();
+        view.forEachChangeSince(shown, (previous, flight) -> {
+            if (flight == null) {
+                FlightRow row = rows.remove(previous.getFlightNumber());
+                (isDeparting(previous) ? leftDepartures : leftArrivals).add(row);
+                return;
+            }
+            FlightRow row = rows.get(flight.getFlightNumber());
+            if (row == null) {
+                row = new FlightRow(flight);
+                rows.put(flight.getFlightNumber(), row);
+                (isDeparting(flight) ? newDepartures : newArrivals).add(row);
+                return;
+            }
+            row.update(flight);
+            if (isDeparting(flight) != isDeparting(previous)) {
+                // boarded, so it moves from arrivals to departures
+                (isDeparting(previous) ? leftDepartures : leftArrivals).add(row);
+                (isDeparting(flight) ? newDepartures : newArrivals).add(row);
+            }
+        });
+        shown = view;
+        update(arrivals, leftArrivals, newArrivals);
+        update(departures, leftDepartures, newDepartures);
+    }
+
+    /**
+     * Creates a table showing the arrivals board.
+     *
+     * @return The arrivals table
+     */
+    public TableView<FlightRow> createArrivalsTable() {
+        return createTable(arrivals, "FROM");
+    }
+
+    /**
+     * Creates a table showing the departures board.
+     *
+     * @return The departures table
+     */
+    public TableView<FlightRow> createDeparturesTable() {
+        return createTable(departures, "TO");
+    }
+
+    private static void update(ObservableList<FlightRow> board, Set<FlightRow> left, List<FlightRow> joined) {
+        if (!left.isEmpty()) board.removeAll(left);
+        if (!joined.isEmpty()) board.addAll(joined);
+    }
+
+    private static boolean isDeparting(FlightRecord flight) {
+        return flight.getStatus() == AirplaneStatus.DEPARTING;
+    }
+
+    private static TableView<FlightRow> createTable(ObservableList<FlightRow> board, String cityHeader) {
+        TableView<FlightRow> table = new TableView<>(board);
+        table.getColumns().add(column("FLIGHT", row -> row.getValue().flightProperty()));
+        table.getColumns().add(column(cityHeader, row -> row.getValue().cityProperty()));
+        table.getColumns().add(column("STATUS", row -> row.getValue().statusProperty()));
+        table.getColumns().add(column("GATE No.", row -> row.getValue().gateProperty()));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        return table;
+    }
+
+    private static TableColumn<FlightRow, String> column(String header,
+            Callback<TableColumn.CellDataFeatures<FlightRow, String>, ObservableValue<String>> value) {
+        TableColumn<FlightRow, String> column = new TableColumn<>(header);
+        column.setCellValueFactory(value);
+        column.setSortable(false);
+        return column;
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.airportsimulator.gui;
+
+import com.project.airportsimulator.airport.FlightRecord;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+/**
+ * One row of an arrivals or departures board.
+ *
+ * <p>Cells are bound to the row's properties, so updating a row repaints only its visible cells.
+ *
+ * @author Dhairya Patel
+ * @since December 3, 2023
+ */
+public final class FlightRow {
+    // Attributes
+    private final ReadOnlyStringWrapper flight = new ReadOnlyStringWrapper();
+    private final ReadOnlyStringWrapper city = new ReadOnlyStringWrapper();     // origin on arrivals, destination on departures
+    private final ReadOnlyStringWrapper status = new ReadOnlyStringWrapper();
+    private final ReadOnlyStringWrapper gate = new ReadOnlyStringWrapper();
+
+    /**
+     * Constructs a row showing the given flight.
+     *
+     * @param flight The flight to show
+     */
+    public FlightRow(FlightRecord flight) {
+        this.flight.set(flight.getFlightNumber());
+        update(flight);
+    }
+
+    /**
+     * Copies the state of the flight into the row.
+     *
+     * @param flight The flight shown by this row
+     */
+    public void update(FlightRecord flight) {
+        city.set(flight.getDestinationCity() != null ? flight.getDestinationCity() : flight.getOriginCity());
+        status.set(flight.getStatus().name());
+        // Assume that each runway point to each unique gate. Runway 1 => Check in Gate 1
+        gate.set(flight.getRunwayNumber() != 0 ? Integer.toString(flight.getRunwayNumber()) : "");
+    }
+
+    public ReadOnlyStringProperty flightProperty() {
+        return flight.getReadOnlyProperty();
+    }
+
+    public ReadOnlyStringProperty cityProperty() {
+        return city.getReadOnlyProperty();
+    }
+
+    public ReadOnlyStringProperty statusProperty() {
+        return status.getReadOnlyProperty();
+    }
+
+    public ReadOnlyStringProperty gateProperty() {
+        return gate.getReadOnlyProperty();
+    }
+}
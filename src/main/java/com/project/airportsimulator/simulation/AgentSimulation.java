@@ -0,0 +1,294 @@
+package com.project.airportsimulator.simulation;
+
+import com.project.airportsimulator.airplane.airexceptions.AirplaneException;
+import com.project.airportsimulator.airport.ConcurrentAirport;
+import com.project.airportsimulator.airport.portexceptions.AirportException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Real-time simulation in which every aircraft and every air-traffic controller is an agent with
+ * its own thread, driving a {@link ConcurrentAirport}.
+ *
+ * <p>Aircraft agents walk through register, land request, land, board and take-off, pausing for a
+ * random think time between steps. Each step is radioed to the controllers as a request and the
+ * aircraft blocks until a controller has handled it. Aircraft that have to circle listen for their
+ * runway between pauses.
+ *
+ * <p>Agents run on virtual threads, so a million agents fit in one JVM. The run also records how
+ * often, and for how long, an agent pinned its carrier thread by blocking inside a
+ * {@code synchronized} block or native frame.
+ *
+ * @author Dhairya
+ * @since December 10, 2023
+ */
+public class AgentSimulation {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Request radioed from an aircraft to the controllers.
+     */
+    private record Request(IntSupplier operation, CompletableFuture<Integer> reply) {
+    }
+
+    // Attributes
+    private final ConcurrentAirport airport;    // Airport driven by the agents
+    private final int controllers;              // Number of controller agents
+    private final long thinkTimeMillis;         // Mean pause of an aircraft between steps
+    private final long handlingTimeMillis;      // Mean time a controller spends on a request
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("airport-agent-", 0).factory();  // Creates the agent threads
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();    // Requests not yet picked up
+
+    private final LongAdder completedFlights = new LongAdder();     // Aircraft that took off
+    private final LongAdder rejections = new LongAdder();           // Requests the airport rejected
+    private final LongAdder failures = new LongAdder();             // Aircraft stopped by an illegal airplane state change
+    private final LongAdder holds = new LongAdder();                // Aircraft that had to circle
+    private final AtomicInteger activeAgents = new AtomicInteger(); // Aircraft currently alive
+    private final AtomicInteger peakAgents = new AtomicInteger();   // Most aircraft alive at once
+    private long pinnedEvents;      // Number of times an agent pinned its carrier thread
+    private long pinnedNanos;       // Total time agents spent pinned
+
+    /**
+     * Constructs a simulation for the given airport.
+     *
+     * @param airport            The airport to drive
+     * @param controllers        The number of controller agents
+     * @param thinkTimeMillis    Mean pause of an aircraft between steps, in milliseconds
+     * @param handlingTimeMillis Mean time a controller spends on a request, in milliseconds
+     * @throws IllegalArgumentException If there is no controller
+     */
+    public AgentSimulation(ConcurrentAirport airport, int controllers, long thinkTimeMillis, long handlingTimeMillis) {
+        if (controllers < 1) {
+            throw new IllegalArgumentException("Invalid number of controllers " + controllers);
+        }
+        this.airport = airport;
+        this.controllers = controllers;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.handlingTimeMillis = handlingTimeMillis;
+    }
+
+    /**
+     * Starts the controllers and the given number of aircraft and waits until every aircraft has
+     * taken off or been rejected.
+     *
+     * @param flights             The number of aircraft agents
+     * @param arrivalWindowMillis Aircraft register at a random time within this many milliseconds
+     * @throws InterruptedException If interrupted while waiting for the aircraft
+     */
+    public void run(int flights, long arrivalWindowMillis) throws InterruptedException {
+        pinnedEvents = 0;
+        pinnedNanos = 0;
+        Recording pinning = startPinningRecording();
+        Thread[] controllerThreads = new Thread[controllers];
+        for (int i = 0; i < controllers; i++) {
+            controllerThreads[i] = threadFactory.newThread(this::control);
+            controllerThreads[i].start();
+        }
+        CountDownLatch landed = new CountDownLatch(flights);
+        for (int i = 0; i < flights; i++) {
+            String flightNumber = "AG" + i;
+            threadFactory.newThread(() -> {
+                try {
+                    fly(flightNumber, arrivalWindowMillis);
+                } finally {
+                    landed.countDown();
+                }
+            }).start();
+        }
+        try {
+            landed.await();
+        } finally {
+            for (Thread controller : controllerThreads) {
+                controller.interrupt();
+            }
+            readPinningRecording(pinning);
+        }
+    }
+
+    private void fly(String flightNumber, long arrivalWindowMillis) {
+        int alive = activeAgents.incrementAndGet();
+        peakAgents.accumulateAndGet(alive, Math::max);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(Math.max(1, arrivalWindowMillis)));
+            ask(() -> {
+                airport.flightRegister(flightNumber, "Agent City");
+                return 0;
+            });
+            pause(thinkTimeMillis);
+            int runwayNumber = ask(() -> airport.airplaneAssignedRunway(flightNumber));
+            if (runwayNumber == 0) {
+                holds.increment();
+                while ((runwayNumber = airport.getRunwayNumber(flightNumber)) == 0) {
+                    pause(Math.max(1, thinkTimeMillis));    // circle and listen for a runway
+                }
+            }
+            int runway = runwayNumber;
+            pause(thinkTimeMillis);
+            ask(() -> {
+                airport.readyToLand(flightNumber, runway);
+                return 0;
+            });
+            pause(thinkTimeMillis);
+            ask(() -> {
+                airport.readyToBoard(flightNumber, "Agent Destination");
+                return 0;
+            });
+            pause(thinkTimeMillis);
+            ask(() -> {
+                airport.readyToTakeOff(flightNumber);
+                return 0;
+            });
+            completedFlights.increment();
+        } catch (AirportException e) {
+            rejections.increment();
+        } catch (AirplaneException e) {
+            failures.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeAgents.decrementAndGet();
+        }
+    }
+
+    private void control() {
+        try {
+            while (true) {
+                Request request = requests.take();
+                pause(handlingTimeMillis);
+                try {
+                    request.reply().complete(request.operation().getAsInt());
+                } catch (RuntimeException e) {
+                    request.reply().completeExceptionally(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Run is over
+        }
+    }
+
+    private int ask(IntSupplier operation) throws InterruptedException {
+        CompletableFuture<Integer> reply = new CompletableFuture<>();
+        requests.put(new Request(operation, reply));
+        try {
+            return reply.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AirportException rejection) {
+                throw rejection;
+            }
+            if (e.getCause() instanceof AirplaneException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException("Controller failed to handle request", e.getCause());
+        }
+    }
+
+    private static void pause(long meanMillis) throws InterruptedException {
+        if (meanMillis > 0) {
+            // Exponentially distributed, like the gaps between independent radio calls
+            Thread.sleep((long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanMillis));
+        }
+    }
+
+    private static Recording startPinningRecording() {
+        Recording recording = new Recording();
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+        recording.start();
+        return recording;
+    }
+
+    private void readPinningRecording(Recording recording) {
+        recording.stop();
+        try {
+            Path file = Files.createTempFile("airport-agents", ".jfr");
+            try {
+                recording.dump(file);
+                for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                    if (event.getEventType().getName().equals(PINNED_EVENT)) {
+                        pinnedEvents++;
+                        pinnedNanos += event.getDuration().toNanos();
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            pinnedEvents = -1;      // recording could not be read back
+        } finally {
+            recording.close();
+        }
+    }
+
+    /**
+     * Returns the number of aircraft that took off.
+     *
+     * @return The completed flight count
+     */
+    public long getCompletedFlights() {
+        return completedFlights.sum();
+    }
+
+    /**
+     * Returns the number of aircraft stopped by a request the airport rejected.
+     *
+     * @return The rejection count
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Returns the number of aircraft stopped by an airplane state change that was not allowed, for
+     * example a status change raced by another agent.
+     *
+     * @return The failure count
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Returns the number of aircraft that had to join the waiting queue.
+     *
+     * @return The hold count
+     */
+    public long getHolds() {
+        return holds.sum();
+    }
+
+    /**
+     * Returns the most aircraft agents that were alive at the same time.
+     *
+     * @return The peak agent count
+     */
+    public int getPeakAgents() {
+        return peakAgents.get();
+    }
+
+    /**
+     * Returns how often an agent pinned its carrier thread during the last run.
+     *
+     * @return The pinning count, or -1 if the recording could not be read
+     */
+    public long getPinnedEvents() {
+        return pinnedEvents;
+    }
+
+    /**
+     * Returns how long agents spent pinned to their carrier threads during the last run.
+     *
+     * @return The total pinned time in nanoseconds
+     */
+    public long getPinnedNanos() {
+        return pinnedNanos;
+    }
+}
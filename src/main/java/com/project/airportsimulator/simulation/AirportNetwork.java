@@ -0,0 +1,361 @@
+package com.project.airportsimulator.simulation;
+
+import com.project.airportsimulator.airport.Airport;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Network of airports that hands departing flights to the airport they boarded for.
+ *
+ * <p>Each airport is driven by its own {@link SimulationEngine}. When a flight takes off for another
+ * airport of the network, it registers there once the route's flight time has passed, with the
+ * airport it left as its city of origin. The rest of its route travels with it, so a flight the
+ * airport rejects, for example because a flight with the same number is still there, leaves no
+ * trace of its route behind.
+ *
+ * <p>Airports advance in parallel with a conservative lookahead scheme. No flight arrives sooner than
+ * the shortest route's flight time after it takes off, so once the earliest pending event of the
+ * whole network is known, every airport can safely fire all of its events up to that lookahead
+ * without hearing from the others. Airports are spread over a fixed set of worker threads; each
+ * window ends with a barrier at which flights handed over during the window are delivered. An
+ * airport is only ever touched by one thread at a time, and the outcome does not depend on the
+ * number of workers.
+ *
+ * @author Dhairya
+ * @since December 9, 2023
+ */
+public class AirportNetwork implements AutoCloseable {
+    /**
+     * One airport of the network with its engine.
+     */
+    private static final class Node {
+        final String city;
+        final Airport airport;
+        final SimulationEngine engine;
+        final Map<String, Long> flightTimes = new HashMap<>();         // flight time to each connected city
+        final List<Handover> outbox = new ArrayList<>();               // flights sent during the current window
+
+        Node(String city, Airport airport, SimulationEngine engine) {
+            this.city = city;
+            this.airport = airport;
+            this.engine = engine;
+        }
+    }
+
+    /**
+     * Route of a flight through the network and how far along it the flight is.
+     */
+    private record Itinerary(String[] route, int leg) {
+    }
+
+    /**
+     * Flight in the air between two airports of the network.
+     */
+    private record Handover(String flightNumber, String origin, Node destination, Itinerary itinerary, long arrivalTime) {
+    }
+
+    // Attributes
+    private final long approachTime;        // Seconds from registration to landing request
+    private final long landingTime;         // Seconds from runway assignment to touchdown
+    private final long turnaroundTime;      // Seconds from touchdown to boarding
+    private final long boardingTime;        // Seconds from boarding to take-off
+    private final Map<String, Node> airports = new LinkedHashMap<>();  // Airports by city
+    private final List<Node> nodes = new ArrayList<>();                // Airports in the order they were added
+    private final int workers;              // Number of worker threads
+    private ExecutorService executor;       // Worker threads, started on the first run
+    private long lookahead = Long.MAX_VALUE;    // Shortest flight time of any route
+    private long clock;                     // Time up to which every airport has advanced
+    private long handovers;                 // Number of flights delivered between airports
+
+    /**
+     * Constructs an empty network using one worker per available processor.
+     *
+     * @param approachTime   Seconds from registration to landing request
+     * @param landingTime    Seconds from runway assignment to touchdown
+     * @param turnaroundTime Seconds from touchdown to boarding
+     * @param boardingTime   Seconds from boarding to take-off
+     */
+    public AirportNetwork(long approachTime, long landingTime, long turnaroundTime, long boardingTime) {
+        this(approachTime, landingTime, turnaroundTime, boardingTime, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an empty network.
+     *
+     * @param approachTime   Seconds from registration to landing request
+     * @param landingTime    Seconds from runway assignment to touchdown
+     * @param turnaroundTime Seconds from touchdown to boarding
+     * @param boardingTime   Seconds from boarding to take-off
+     * @param workers        The number of worker threads advancing airports
+     * @throws IllegalArgumentException If the number of workers is not positive
+     */
+    public AirportNetwork(long approachTime, long landingTime, long turnaroundTime, long boardingTime, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Invalid number of workers " + workers);
+        }
+        this.approachTime = approachTime;
+        this.landingTime = landingTime;
+        this.turnaroundTime = turnaroundTime;
+        this.boardingTime = boardingTime;
+        this.workers = workers;
+    }
+
+    /**
+     * Adds an airport to the network.
+     *
+     * @param city            The city of the airport, used as destination by flights bound for it
+     * @param numberOfRunways The number of runways
+     * @return The new airport
+     * @throws IllegalArgumentException If the network already has an airport in the city
+     */
+    public Airport addAirport(String city, int numberOfRunways) {
+        if (airports.containsKey(city)) {
+            throw new IllegalArgumentException("Airport in " + city + " already added");
+        }
+        Airport airport = new Airport(numberOfRunways);
+        Node node = new Node(city, airport, new SimulationEngine(airport, approachTime, landingTime, turnaroundTime, boardingTime));
+        node.engine.setDepartureHandler((flightNumber, destination, time, itinerary) -> departed(node, flightNumber, time, (Itinerary) itinerary));
+        airports.put(city, node);
+        nodes.add(node);
+        return airport;
+    }
+
+    /**
+     * Connects two airports in both directions.
+     *
+     * @param city        One airport's city
+     * @param otherCity   The other airport's city
+     * @param flightTime  Seconds a flight spends in the air between them
+     * @throws IllegalArgumentException If either airport is unknown or the flight time is not positive
+     */
+    public void addRoute(String city, String otherCity, long flightTime) {
+        if (flightTime <= 0) {
+            throw new IllegalArgumentException("Flight time must be positive");
+        }
+        Node node = node(city);
+        Node otherNode = node(otherCity);
+        node.flightTimes.put(otherCity, flightTime);
+        otherNode.flightTimes.put(city, flightTime);
+        lookahead = Math.min(lookahead, flightTime);
+    }
+
+    /**
+     * Schedules a flight to fly along a route.
+     *
+     * <p>The flight registers at the first airport of the route, coming from its origin, and boards
+     * for the next city each time it lands. Every city but the last must be an airport of the network
+     * connected to the next one. The last city is the final destination: the flight takes off for it
+     * and leaves the simulation.
+     *
+     * @param flightNumber The flight number
+     * @param origin       The city of origin at the first airport
+     * @param route        The airports the flight lands at, followed by its final destination
+     * @param registerTime The simulated time the flight registers at the first airport
+     * @throws IllegalArgumentException If the route is shorter than two cities or not connected
+     */
+    public void scheduleFlight(String flightNumber, String origin, List<String> route, long registerTime) {
+        if (route.size() < 2) {
+            throw new IllegalArgumentException("Route of flight-" + flightNumber + " needs an airport and a destination");
+        }
+        for (int i = 1; i < route.size() - 1; i++) {
+            if (!node(route.get(i - 1)).flightTimes.containsKey(route.get(i))) {
+                throw new IllegalArgumentException("No route from " + route.get(i - 1) + " to " + route.get(i));
+            }
+        }
+        Node first = node(route.get(0));
+        Itinerary itinerary = new Itinerary(route.toArray(new String[0]), 0);
+        first.engine.scheduleFlight(flightNumber, origin, itinerary.route()[1], registerTime, route.size() > 2 ? itinerary : null);
+    }
+
+    /**
+     * Advances every airport until no events are left or the next one lies after the end time.
+     *
+     * @param endTime The last simulated time to process
+     * @return The number of events fired by this call
+     */
+    public long runUntil(long endTime) {
+        long fired = 0;
+        while (true) {
+            long windowStart = Long.MAX_VALUE;
+            for (Node node : nodes) {
+                windowStart = Math.min(windowStart, node.engine.nextEventTime());
+            }
+            if (windowStart > endTime || windowStart == Long.MAX_VALUE) {
+                break;
+            }
+            // No flight taking off in the window can arrive before its end
+            long windowEnd = lookahead > endTime - windowStart ? endTime : windowStart + lookahead - 1;
+            fired += advance(windowEnd);
+            deliver();
+            clock = windowEnd;
+        }
+        if (endTime != Long.MAX_VALUE) {
+            clock = Math.max(clock, endTime);
+        }
+        return fired;
+    }
+
+    /**
+     * Advances every airport until all events have fired.
+     *
+     * @return The number of events fired by this call
+     */
+    public long runToCompletion() {
+        return runUntil(Long.MAX_VALUE);
+    }
+
+    private long advance(long windowEnd) {
+        int stripes = Math.min(workers, nodes.size());
+        if (stripes == 1) {
+            return advanceStripe(0, 1, windowEnd);
+        }
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(workers, task -> {
+                Thread thread = new Thread(task, "airport-network-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        // Each worker takes a fixed stripe of airports, so an airport stays on one thread
+        List<Callable<Long>> tasks = new ArrayList<>(stripes);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int first = stripe;
+            tasks.add(() -> advanceStripe(first, stripes, windowEnd));
+        }
+        long fired = 0;
+        try {
+            for (Future<Long> result : executor.invokeAll(tasks)) {
+                fired += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while advancing airports", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Airport failed while advancing", e.getCause());
+        }
+        return fired;
+    }
+
+    private long advanceStripe(int first, int stripes, long windowEnd) {
+        long fired = 0;
+        for (int i = first; i < nodes.size(); i += stripes) {
+            SimulationEngine engine = nodes.get(i).engine;
+            if (engine.nextEventTime() <= windowEnd) {
+                fired += engine.runUntil(windowEnd);
+            }
+        }
+        return fired;
+    }
+
+    private void departed(Node node, String flightNumber, long time, Itinerary itinerary) {
+        if (itinerary == null) {
+            return;     // left for its final destination
+        }
+        String[] route = itinerary.route();
+        int leg = itinerary.leg() + 1;
+        Node destination = airports.get(route[leg]);
+        long arrivalTime = time + node.flightTimes.get(route[leg]);
+        node.outbox.add(new Handover(flightNumber, node.city, destination, new Itinerary(route, leg), arrivalTime));
+    }
+
+    private void deliver() {
+        // Runs between windows, so no worker touches the airports meanwhile
+        for (Node node : nodes) {
+            for (Handover handover : node.outbox) {
+                Node destination = handover.destination();
+                Itinerary itinerary = handover.itinerary();
+                String[] route = itinerary.route();
+                destination.engine.scheduleFlight(handover.flightNumber(), handover.origin(), route[itinerary.leg() + 1],
+                        handover.arrivalTime(), itinerary.leg() + 2 < route.length ? itinerary : null);
+                handovers++;
+            }
+            node.outbox.clear();
+        }
+    }
+
+    private Node node(String city) {
+        Node node = airports.get(city);
+        if (node == null) {
+            throw new IllegalArgumentException("No airport in " + city);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the airport of a city.
+     *
+     * @param city The city
+     * @return The airport, or null if the network has none in the city
+     */
+    public Airport getAirport(String city) {
+        Node node = airports.get(city);
+        return node == null ? null : node.airport;
+    }
+
+    /**
+     * Returns the engine driving the airport of a city, for its statistics.
+     *
+     * @param city The city
+     * @return The engine, or null if the network has no airport in the city
+     */
+    public SimulationEngine getEngine(String city) {
+        Node node = airports.get(city);
+        return node == null ? null : node.engine;
+    }
+
+    /**
+     * Returns the cities of the airports, in the order they were added.
+     *
+     * @return The cities
+     */
+    public Set<String> getCities() {
+        return Collections.unmodifiableSet(airports.keySet());
+    }
+
+    /**
+     * Returns the time up to which every airport has advanced. After running to completion this is
+     * the time of the last window.
+     *
+     * @return The network clock in seconds
+     */
+    public long getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the number of flights handed from one airport to another so far.
+     *
+     * @return The handover count
+     */
+    public long getHandovers() {
+        return handovers;
+    }
+
+    /**
+     * Returns the number of events fired by all airports so far.
+     *
+     * @return The processed event count
+     */
+    public long getEventsProcessed() {
+        long processed = 0;
+        for (Node node : nodes) {
+            processed += node.engine.getEventsProcessed();
+        }
+        return processed;
+    }
+
+    /**
+     * Stops the worker threads. The network can not be run afterwards.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.project.airportsimulator.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of simulation events keyed by primitive timestamps.
+ *
+ * <p>Each event is a pair of longs: the time it fires at and an opaque payload. Events with the
+ * same time fire in the order they were scheduled. No objects are created per event.
+ *
+ * @author Dhairya
+ * @since November 27, 2023
+ */
+class EventQueue {
+    // Attributes
+    private long[] times;       // fire time of each heap slot
+    private long[] sequences;   // schedule order of each heap slot, breaks ties between equal times
+    private long[] payloads;    // payload of each heap slot
+    private int size;           // number of queued events
+    private long nextSequence;  // sequence number given to the next scheduled event
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param initialCapacity The number of events the queue can hold before growing
+     */
+    EventQueue(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        times = new long[capacity];
+        sequences = new long[capacity];
+        payloads = new long[capacity];
+    }
+
+    /**
+     * Adds an event.
+     *
+     * @param time    The time the event fires at
+     * @param payload The event payload
+     */
+    void add(long time, long payload) {
+        if (size == times.length) {
+            int capacity = size << 1;
+            times = Arrays.copyOf(times, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        long sequence = nextSequence++;
+        int slot = size++;
+        // sift up
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!before(time, sequence, times[parent], sequences[parent])) {
+                break;
+            }
+            move(parent, slot);
+            slot = parent;
+        }
+        times[slot] = time;
+        sequences[slot] = sequence;
+        payloads[slot] = payload;
+    }
+
+    /**
+     * Returns the fire time of the earliest event. Only valid when the queue is not empty.
+     *
+     * @return The earliest fire time
+     */
+    long peekTime() {
+        return times[0];
+    }
+
+    /**
+     * Returns the payload of the earliest event. Only valid when the queue is not empty.
+     *
+     * @return The earliest payload
+     */
+    long peekPayload() {
+        return payloads[0];
+    }
+
+    /**
+     * Removes the earliest event. Only valid when the queue is not empty.
+     */
+    void remove() {
+        int last = --size;
+        long time = times[last];
+        long sequence = sequences[last];
+        long payload = payloads[last];
+        int slot = 0;
+        // sift down
+        while (true) {
+            int child = (slot << 1) + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(times[child + 1], sequences[child + 1], times[child], sequences[child])) {
+                child++;
+            }
+            if (!before(times[child], sequences[child], time, sequence)) {
+                break;
+            }
+            move(child, slot);
+            slot = child;
+        }
+        times[slot] = time;
+        sequences[slot] = sequence;
+        payloads[slot] = payload;
+    }
+
+    /**
+     * Returns the number of queued events.
+     *
+     * @return The queue size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the queue has no events.
+     *
+     * @return True if empty; false otherwise
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static boolean before(long time, long sequence, long otherTime, long otherSequence) {
+        return time < otherTime || (time == otherTime && sequence < otherSequence);
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        sequences[to] = sequences[from];
+        payloads[to] = payloads[from];
+    }
+}
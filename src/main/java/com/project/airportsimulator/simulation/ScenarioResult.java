@@ -0,0 +1,136 @@
+package com.project.airportsimulator.simulation;
+
+import com.project.airportsimulator.airport.LatencyHistogram;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Merged outcome of the runs of a {@link ScenarioRunner}.
+ *
+ * <p>Hold times of every flight of every run are merged into one {@link LatencyHistogram} of
+ * simulated seconds. Runway utilisation, holds and rejections are kept per
+ * run, so their spread over the runs can be read as well as their mean.
+ *
+ * @author Dhairya
+ * @since December 17, 2023
+ */
+public class ScenarioResult {
+    // Attributes
+    private final LatencyHistogram.Snapshot holdTimes;  // hold of every flight that circled, over all runs
+    private final double[] utilizations;                // runway utilisation of each run, sorted
+    private final long[] holds;                         // flights that circled in each run
+    private final long[] rejections;                    // events rejected in each run
+    private final long[] endTimes;                      // simulated time each run finished at
+
+    ScenarioResult(LatencyHistogram.Snapshot holdTimes, double[] utilizations, long[] holds, long[] rejections, long[] endTimes) {
+        this.holdTimes = holdTimes;
+        this.utilizations = utilizations.clone();
+        Arrays.sort(this.utilizations);
+        this.holds = holds;
+        this.rejections = rejections;
+        this.endTimes = endTimes;
+    }
+
+    public int getRuns() {
+        return holds.length;
+    }
+
+    /**
+     * Gets the hold times of every flight that circled, over all runs.
+     *
+     * @return The histogram, in simulated seconds
+     */
+    public LatencyHistogram.Snapshot getHoldTimes() {
+        return holdTimes;
+    }
+
+    /**
+     * Gets the hold time below which the given share of circling flights fall, over all runs.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The hold time in simulated seconds, accurate to about 3%
+     */
+    public long getHoldSecondsAtPercentile(double percentile) {
+        return holdTimes.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Gets the mean hold time of the flights that circled, over all runs.
+     *
+     * @return The mean in simulated seconds
+     */
+    public double getMeanHoldSeconds() {
+        return holdTimes.getMean();
+    }
+
+    /**
+     * Gets the mean number of flights that circled per run.
+     *
+     * @return The mean hold count
+     */
+    public double getMeanHolds() {
+        return mean(holds);
+    }
+
+    /**
+     * Gets the mean number of events the airport rejected per run.
+     *
+     * @return The mean rejection count
+     */
+    public double getMeanRejections() {
+        return mean(rejections);
+    }
+
+    /**
+     * Gets the mean simulated time at which the last event of a run fired.
+     *
+     * @return The mean end time in simulated seconds
+     */
+    public double getMeanEndTime() {
+        return mean(endTimes);
+    }
+
+    /**
+     * Gets the runway utilisation below which the given share of runs fall.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The share of runway time booked, from 0 to 1
+     */
+    public double getUtilizationAtPercentile(double percentile) {
+        if (utilizations.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(utilizations.length * Math.min(100, Math.max(0, percentile)) / 100) - 1;
+        return utilizations[Math.max(0, index)];
+    }
+
+    /**
+     * Gets the mean runway utilisation of the runs.
+     *
+     * @return The share of runway time booked, from 0 to 1
+     */
+    public double getMeanUtilization() {
+        double sum = 0;
+        for (double utilization : utilizations) {
+            sum += utilization;
+        }
+        return utilizations.length == 0 ? 0 : sum / utilizations.length;
+    }
+
+    private static double mean(long[] values) {
+        double sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0 : sum / values.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "runs=%d holds=%.1f meanHold=%.1fs p50Hold=%ds p99Hold=%ds utilization=%.3f (p5 %.3f, p95 %.3f) rejections=%.1f",
+                getRuns(), getMeanHolds(), getMeanHoldSeconds(), getHoldSecondsAtPercentile(50), getHoldSecondsAtPercentile(99),
+                getMeanUtilization(), getUtilizationAtPercentile(5), getUtilizationAtPercentile(95), getMeanRejections());
+    }
+}
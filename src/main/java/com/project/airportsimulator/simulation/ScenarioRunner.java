@@ -0,0 +1,188 @@
+package com.project.airportsimulator.simulation;
+
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.LatencyHistogram;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs many randomised what-if scenarios against copies of an {@link Airport} and merges their
+ * outcomes, for capacity planning questions such as how long holds get with 4 or 6 runways.
+ *
+ * <p>The runner keeps its own copy of the airport it is given. Every run forks that copy through
+ * {@link Airport#copy()}, lets a {@link Traffic} generator schedule randomised flights on a fresh
+ * {@link SimulationEngine} and runs it to completion. Runs are split over a {@link ForkJoinPool};
+ * each task records hold times in simulated seconds into its own histogram, and histograms are
+ * merged as tasks join, so runs share nothing while they execute. Run {@code i} always uses the
+ * same random stream for a given seed, so results do not depend on the number of threads.
+ *
+ * <p>Flights already at the copied airport take part in every run from their current state. The
+ * engine adopts them through {@link SimulationEngine#adoptFlights()} and frees their runways as
+ * they land or take off.
+ *
+ * @author Dhairya
+ * @since December 17, 2023
+ */
+public class ScenarioRunner {
+    private static final int RUNS_PER_TASK = 4;     // runs below which a task stops splitting
+
+    /**
+     * Generates the randomised traffic of one run.
+     */
+    @FunctionalInterface
+    public interface Traffic {
+        /**
+         * Schedules the flights of one run.
+         *
+         * @param engine The engine driving the run's copy of the airport
+         * @param random The random stream of the run
+         */
+        void schedule(SimulationEngine engine, SplittableRandom random);
+    }
+
+    // Attributes
+    private final Airport airport;          // Private copy every run forks from
+    private final long approachTime;        // Seconds from registration to landing request
+    private final long landingTime;         // Seconds from runway assignment to touchdown
+    private final long turnaroundTime;      // Seconds from touchdown to boarding
+    private final long boardingTime;        // Seconds from boarding to take-off
+    private final ForkJoinPool pool;        // Threads running the scenarios
+
+    /**
+     * Constructs a runner using the common fork/join pool.
+     *
+     * @param airport        The airport every run starts from, copied right away
+     * @param approachTime   Seconds from registration to landing request
+     * @param landingTime    Seconds from runway assignment to touchdown
+     * @param turnaroundTime Seconds from touchdown to boarding
+     * @param boardingTime   Seconds from boarding to take-off
+     */
+    public ScenarioRunner(Airport airport, long approachTime, long landingTime, long turnaroundTime, long boardingTime) {
+        this(airport, approachTime, landingTime, turnaroundTime, boardingTime, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a runner using the given fork/join pool.
+     *
+     * @param airport        The airport every run starts from, copied right away
+     * @param approachTime   Seconds from registration to landing request
+     * @param landingTime    Seconds from runway assignment to touchdown
+     * @param turnaroundTime Seconds from touchdown to boarding
+     * @param boardingTime   Seconds from boarding to take-off
+     * @param pool           The pool running the scenarios
+     */
+    public ScenarioRunner(Airport airport, long approachTime, long landingTime, long turnaroundTime, long boardingTime, ForkJoinPool pool) {
+        this.airport = airport.copy();
+        this.approachTime = approachTime;
+        this.landingTime = landingTime;
+        this.turnaroundTime = turnaroundTime;
+        this.boardingTime = boardingTime;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs the scenario the given number of times in parallel.
+     *
+     * @param runs    The number of runs
+     * @param seed    The seed of the random streams, the same seed giving the same result
+     * @param traffic The traffic generator
+     * @return The merged outcome of all runs
+     * @throws IllegalArgumentException If the number of runs is negative
+     */
+    public ScenarioResult run(int runs, long seed, Traffic traffic) {
+        if (runs < 0) {
+            throw new IllegalArgumentException("Invalid number of runs " + runs);
+        }
+        Runs task = new Runs(0, runs, seed, traffic, new double[runs], new long[runs], new long[runs], new long[runs]);
+        LatencyHistogram holdTimes = pool.invoke(task);
+        return new ScenarioResult(holdTimes.snapshot(), task.utilizations, task.holds, task.rejections, task.endTimes);
+    }
+
+    /**
+     * Creates traffic of a fixed number of flights registering at uniformly random times, which is
+     * how arrivals of a Poisson process with that many expected flights spread over the period.
+     *
+     * @param flights      The number of flights per run
+     * @param period       The seconds over which flights register
+     * @param origins      The cities flights come from, picked at random
+     * @param destinations The cities flights board for, picked at random
+     * @return The traffic generator
+     */
+    public static Traffic randomArrivals(int flights, long period, List<String> origins, List<String> destinations) {
+        String[] from = origins.toArray(new String[0]);
+        String[] to = destinations.toArray(new String[0]);
+        return (engine, random) -> {
+            for (int i = 0; i < flights; i++) {
+                engine.scheduleFlight("MC" + i, from[random.nextInt(from.length)], to[random.nextInt(to.length)],
+                        random.nextLong(Math.max(1, period)));
+            }
+        };
+    }
+
+    /**
+     * Runs one scenario on a fresh copy of the airport and records its outcome
+     */
+    private void runOne(int run, long seed, Traffic traffic, LatencyHistogram holdTimes, Runs results) {
+        SimulationEngine engine = new SimulationEngine(airport.copy(), approachTime, landingTime, turnaroundTime, boardingTime);
+        engine.setHoldHandler((flightNumber, holdTime) -> holdTimes.record(holdTime));
+        engine.adoptFlights();
+        traffic.schedule(engine, new SplittableRandom(seed + run * 0x9E3779B97F4A7C15L));
+        engine.runToCompletion();
+        long runwayCapacity = airport.getNumberOfRunways() * engine.getLastEventTime();
+        results.utilizations[run] = runwayCapacity == 0 ? 0 : (double) engine.getRunwayTime() / runwayCapacity;
+        results.holds[run] = engine.getHolds();
+        results.rejections[run] = engine.getRejections();
+        results.endTimes[run] = engine.getLastEventTime();
+    }
+
+    /**
+     * Range of runs, split in halves until small enough to run on one thread.
+     */
+    private final class Runs extends RecursiveTask<LatencyHistogram> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final long seed;
+        private final transient Traffic traffic;    // tasks are never serialized
+        // Per-run outcomes, shared by all tasks of one call, each writing only its own runs
+        private final double[] utilizations;
+        private final long[] holds;
+        private final long[] rejections;
+        private final long[] endTimes;
+
+        Runs(int from, int to, long seed, Traffic traffic, double[] utilizations, long[] holds, long[] rejections, long[] endTimes) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.traffic = traffic;
+            this.utilizations = utilizations;
+            this.holds = holds;
+            this.rejections = rejections;
+            this.endTimes = endTimes;
+        }
+
+        @Override
+        protected LatencyHistogram compute() {
+            if (to - from <= RUNS_PER_TASK) {
+                LatencyHistogram holdTimes = new LatencyHistogram();
+                for (int run = from; run < to; run++) {
+                    runOne(run, seed, traffic, holdTimes, this);
+                }
+                return holdTimes;
+            }
+            int middle = (from + to) >>> 1;
+            Runs left = new Runs(from, middle, seed, traffic, utilizations, holds, rejections, endTimes);
+            Runs right = new Runs(middle, to, seed, traffic, utilizations, holds, rejections, endTimes);
+            left.fork();
+            LatencyHistogram holdTimes = right.compute();
+            holdTimes.add(left.join().snapshot());
+            return holdTimes;
+        }
+    }
+}
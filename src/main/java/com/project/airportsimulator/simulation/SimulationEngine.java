@@ -0,0 +1,398 @@
+package com.project.airportsimulator.simulation;
+
+import com.project.airportsimulator.airplane.Airplane;
+import com.project.airportsimulator.airport.Airport;
+import com.project.airportsimulator.airport.OperationResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless discrete-event engine that drives an {@link Airport} through simulated traffic.
+ *
+ * <p>Every scheduled flight moves through register, land request, land, board and take-off events,
+ * each of which calls the matching {@link Airport} method at its simulated time. Flights that find
+ * every runway busy circle in the airport's waiting queue and get their landing event once a
+ * departing flight hands its runway over. Flights already at the airport are only driven once
+ * {@link #adoptFlights()} takes them over. Times are whole simulated seconds.
+ *
+ * @author Dhairya
+ * @since November 27, 2023
+ */
+public class SimulationEngine {
+    // Event types, stored in the low bits of an event payload
+    private static final int REGISTER = 0;
+    private static final int LAND_REQUEST = 1;
+    private static final int LAND = 2;
+    private static final int BOARD = 3;
+    private static final int TAKE_OFF = 4;
+    private static final int TYPE_BITS = 3;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+    // Attributes
+    private final Airport airport;              // Airport being simulated
+    private final EventQueue events;            // Pending events ordered by fire time
+    private final long approachTime;            // Seconds from registration to landing request
+    private final long landingTime;             // Seconds from runway assignment to touchdown
+    private final long turnaroundTime;          // Seconds from touchdown to boarding
+    private final long boardingTime;            // Seconds from boarding to take-off
+
+    // Flight table, indexed by simulation flight id
+    private String[] flightNumbers = new String[16];
+    private String[] origins = new String[16];
+    private String[] destinations = new String[16];
+    private int[] runwayNumbers = new int[16];
+    private long[] since = new long[16];        // time of the landing request, then of the runway assignment
+    private Object[] attachments = new Object[16];  // handed back on take-off, see DepartureHandler
+    private int flightCount;
+    private final Map<String, Integer> flightIds = new HashMap<>();     // only used to resolve queue promotions
+
+    private long clock;             // Current simulated time
+    private long lastEventTime;     // Fire time of the last event
+    private long eventsProcessed;   // Number of events fired so far
+    private long rejections;        // Number of events rejected by the airport
+    private long holds;             // Number of landing requests that had to circle
+    private long holdTime;          // Seconds circled by flights that got a runway
+    private long runwayTime;        // Seconds runways were booked by flights that took off
+    private HoldHandler holdHandler;    // Told of every hold that ended, or null
+    private DepartureHandler departureHandler;  // Told of every take-off, or null
+
+    /**
+     * Callback told of every flight that takes off, used to hand it to another airport.
+     */
+    interface DepartureHandler {
+        /**
+         * Called after a flight took off.
+         *
+         * @param flightNumber The flight number
+         * @param destination  The city the flight boarded for
+         * @param time         The simulated take-off time
+         * @param attachment   The object the flight was scheduled with, or null
+         */
+        void departed(String flightNumber, String destination, long time, Object attachment);
+    }
+
+    /**
+     * Callback told how long each circling flight held, used to collect hold time distributions.
+     */
+    interface HoldHandler {
+        /**
+         * Called when a circling flight got a runway.
+         *
+         * @param flightNumber The flight number
+         * @param holdTime     The seconds it circled
+         */
+        void held(String flightNumber, long holdTime);
+    }
+
+    /**
+     * Constructs an engine for the given airport.
+     *
+     * @param airport        The airport to drive
+     * @param approachTime   Seconds from registration to landing request
+     * @param landingTime    Seconds from runway assignment to touchdown
+     * @param turnaroundTime Seconds from touchdown to boarding
+     * @param boardingTime   Seconds from boarding to take-off
+     */
+    public SimulationEngine(Airport airport, long approachTime, long landingTime, long turnaroundTime, long boardingTime) {
+        this.airport = airport;
+        this.approachTime = approachTime;
+        this.landingTime = landingTime;
+        this.turnaroundTime = turnaroundTime;
+        this.boardingTime = boardingTime;
+        this.events = new EventQueue(1024);
+    }
+
+    /**
+     * Schedules a flight to register with the airport at the given time.
+     *
+     * @param flightNumber The flight number
+     * @param origin       The city of origin
+     * @param destination  The city the flight boards for once landed
+     * @param registerTime The simulated time the flight registers at
+     * @throws IllegalArgumentException If the time lies in the simulated past
+     */
+    public void scheduleFlight(String flightNumber, String origin, String destination, long registerTime) {
+        scheduleFlight(flightNumber, origin, destination, registerTime, null);
+    }
+
+    /**
+     * Schedules a flight to register with the airport at the given time, with an object handed back
+     * to the {@link DepartureHandler} if the flight takes off. A flight the airport rejects never
+     * hands its attachment back.
+     *
+     * @param flightNumber The flight number
+     * @param origin       The city of origin
+     * @param destination  The city the flight boards for once landed
+     * @param registerTime The simulated time the flight registers at
+     * @param attachment   The object to hand back, or null
+     * @throws IllegalArgumentException If the time lies in the simulated past
+     */
+    void scheduleFlight(String flightNumber, String origin, String destination, long registerTime, Object attachment) {
+        if (registerTime < clock) {
+            throw new IllegalArgumentException("Cannot schedule flight-" + flightNumber + " in the past");
+        }
+        int flightId = addFlight(flightNumber, origin, destination);
+        attachments[flightId] = attachment;
+        schedule(registerTime, flightId, REGISTER);
+    }
+
+    /**
+     * Takes over the flights already at the airport, so that they move on from their current state
+     * like scheduled flights instead of keeping their runways for the whole run. Due flights request
+     * to land after the approach time, circling flights land once a departing flight hands its runway
+     * over, and flights holding a runway land, board or take off after the matching time from now.
+     * Flights that have not boarded yet board for the city they came from. Flights are taken in
+     * flight number order, so runs stay reproducible.
+     *
+     * @return The number of flights taken over
+     */
+    public int adoptFlights() {
+        List<Airplane> present = new ArrayList<>(airport.getAllArrivals());
+        present.addAll(airport.getAllDepartures());
+        present.sort(Comparator.comparing(Airplane::getFlightNumber));
+        int adopted = 0;
+        for (Airplane airplane : present) {
+            if (flightIds.containsKey(airplane.getFlightNumber())) {
+                continue;   // already driven by this engine
+            }
+            String destination = airplane.getDestinationCity() != null ? airplane.getDestinationCity() : airplane.getOriginCity();
+            int flightId = addFlight(airplane.getFlightNumber(), airplane.getOriginCity(), destination);
+            since[flightId] = clock;
+            runwayNumbers[flightId] = airplane.isAllocatedARunway() ? airplane.getRunwayNumber() : 0;
+            switch (airplane.getStatus()) {
+                case DUE -> schedule(clock + approachTime, flightId, LAND_REQUEST);
+                case WAITING -> {
+                    if (airplane.isAllocatedARunway()) {
+                        schedule(clock + landingTime, flightId, LAND);
+                    } else {
+                        holds++;    // circles until a departing flight frees a runway
+                    }
+                }
+                case LANDED -> schedule(clock + turnaroundTime, flightId, BOARD);
+                case DEPARTING -> schedule(clock + boardingTime, flightId, TAKE_OFF);
+            }
+            adopted++;
+        }
+        return adopted;
+    }
+
+    /**
+     * Adds a flight to the flight table
+     *
+     * @return The simulation flight id
+     */
+    private int addFlight(String flightNumber, String origin, String destination) {
+        if (flightCount == flightNumbers.length) {
+            int capacity = flightCount << 1;
+            flightNumbers = Arrays.copyOf(flightNumbers, capacity);
+            origins = Arrays.copyOf(origins, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            runwayNumbers = Arrays.copyOf(runwayNumbers, capacity);
+            since = Arrays.copyOf(since, capacity);
+            attachments = Arrays.copyOf(attachments, capacity);
+        }
+        int flightId = flightCount++;
+        flightNumbers[flightId] = flightNumber;
+        origins[flightId] = origin;
+        destinations[flightId] = destination;
+        flightIds.put(flightNumber, flightId);
+        return flightId;
+    }
+
+    /**
+     * Fires events in time order until none are left or the next one lies after the end time.
+     *
+     * @param endTime The last simulated time to process
+     * @return The number of events fired by this call
+     */
+    public long runUntil(long endTime) {
+        long fired = 0;
+        while (!events.isEmpty() && events.peekTime() <= endTime) {
+            clock = events.peekTime();
+            lastEventTime = clock;
+            long payload = events.peekPayload();
+            events.remove();
+            fire((int) (payload >>> TYPE_BITS), (int) (payload & TYPE_MASK));
+            fired++;
+        }
+        if (endTime > clock && events.isEmpty()) {
+            clock = endTime;
+        }
+        eventsProcessed += fired;
+        return fired;
+    }
+
+    /**
+     * Fires every pending event.
+     *
+     * @return The number of events fired by this call
+     */
+    public long runToCompletion() {
+        return runUntil(Long.MAX_VALUE);
+    }
+
+    private void fire(int flightId, int type) {
+        String flightNumber = flightNumbers[flightId];
+        switch (type) {
+            case REGISTER -> {
+                if (reject(airport.tryFlightRegister(flightNumber, origins[flightId]))) return;
+                schedule(clock + approachTime, flightId, LAND_REQUEST);
+            }
+            case LAND_REQUEST -> {
+                int runwayNumber = airport.tryAirplaneAssignedRunway(flightNumber);
+                since[flightId] = clock;
+                if (runwayNumber < 0) {
+                    rejections++;
+                } else if (runwayNumber == 0) {
+                    holds++;    // circles until a departing flight frees a runway
+                } else {
+                    runwayNumbers[flightId] = runwayNumber;
+                    schedule(clock + landingTime, flightId, LAND);
+                }
+            }
+            case LAND -> {
+                if (reject(airport.tryReadyToLand(flightNumber, runwayNumbers[flightId]))) return;
+                schedule(clock + turnaroundTime, flightId, BOARD);
+            }
+            case BOARD -> {
+                if (reject(airport.tryReadyToBoard(flightNumber, destinations[flightId]))) return;
+                schedule(clock + boardingTime, flightId, TAKE_OFF);
+            }
+            case TAKE_OFF -> {
+                if (reject(airport.tryReadyToTakeOff(flightNumber))) return;
+                runwayTime += clock - since[flightId];
+                if (departureHandler != null) departureHandler.departed(flightNumber, destinations[flightId], clock, attachments[flightId]);
+                attachments[flightId] = null;
+                Airplane promoted = airport.getLastPromotedFlight();
+                Integer promotedId = promoted == null ? null : flightIds.get(promoted.getFlightNumber());
+                if (promotedId != null) {   // flights at the airport that were not adopted are not driven
+                    long held = clock - since[promotedId];
+                    holdTime += held;
+                    if (holdHandler != null) holdHandler.held(promoted.getFlightNumber(), held);
+                    since[promotedId] = clock;
+                    runwayNumbers[promotedId] = promoted.getRunwayNumber();
+                    schedule(clock + landingTime, promotedId, LAND);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown event type " + type);
+        }
+    }
+
+    /**
+     * Sets the callback told of every take-off.
+     *
+     * @param departureHandler The callback, or null for none
+     */
+    void setDepartureHandler(DepartureHandler departureHandler) {
+        this.departureHandler = departureHandler;
+    }
+
+    /**
+     * Sets the callback told of every hold that ended.
+     *
+     * @param holdHandler The callback, or null for none
+     */
+    void setHoldHandler(HoldHandler holdHandler) {
+        this.holdHandler = holdHandler;
+    }
+
+    /**
+     * Returns the fire time of the next pending event.
+     *
+     * @return The time, or {@link Long#MAX_VALUE} if no event is pending
+     */
+    long nextEventTime() {
+        return events.isEmpty() ? Long.MAX_VALUE : events.peekTime();
+    }
+
+    private boolean reject(OperationResult result) {
+        if (result.isSuccess()) {
+            return false;
+        }
+        rejections++;
+        return true;
+    }
+
+    private void schedule(long time, int flightId, int type) {
+        events.add(time, ((long) flightId << TYPE_BITS) | type);
+    }
+
+    /**
+     * Returns the current simulated time.
+     *
+     * @return The simulation clock in seconds
+     */
+    public long getClock() {
+        return clock;
+    }
+
+    /**
+     * Returns the time of the last event fired, which unlike the clock does not move on to the end
+     * time of a run that ran out of events.
+     *
+     * @return The simulated time in seconds, 0 if no event fired yet
+     */
+    public long getLastEventTime() {
+        return lastEventTime;
+    }
+
+    /**
+     * Returns the number of events fired so far.
+     *
+     * @return The processed event count
+     */
+    public long getEventsProcessed() {
+        return eventsProcessed;
+    }
+
+    /**
+     * Returns the number of events the airport rejected.
+     *
+     * @return The rejected event count
+     */
+    public long getRejections() {
+        return rejections;
+    }
+
+    /**
+     * Returns the number of landing requests that had to join the waiting queue.
+     *
+     * @return The hold count
+     */
+    public long getHolds() {
+        return holds;
+    }
+
+    /**
+     * Returns the total time circling flights waited before they got a runway.
+     *
+     * @return The hold time in seconds
+     */
+    public long getHoldTime() {
+        return holdTime;
+    }
+
+    /**
+     * Returns the total time runways were booked by flights that took off, from runway assignment
+     * to take-off.
+     *
+     * @return The booked runway time in seconds
+     */
+    public long getRunwayTime() {
+        return runwayTime;
+    }
+
+    /**
+     * Returns the number of events still pending.
+     *
+     * @return The pending event count
+     */
+    public int getPendingEvents() {
+        return events.size();
+    }
+}
@@ -1,14 +1,20 @@
 module com.project.airportsimulator {
-    requires javafx.controls;
-    requires javafx.fxml;
-    requires javafx.web;
-    requires javafx.graphics;
+    // JavaFX is only needed by the GUI; the headless CLI runs without it
+    requires static javafx.controls;
+    requires static javafx.fxml;
+    requires static javafx.web;
+    requires static javafx.graphics;
+    requires jdk.jfr;
+    requires jdk.unsupported;   // unmaps memory-mapped snapshots before they are overwritten
+    requires java.management;
 
-    requires org.controlsfx.controls;
-    requires com.dlsc.formsfx;
-    requires net.synedra.validatorfx;
-    requires org.kordamp.ikonli.javafx;
-    requires org.kordamp.bootstrapfx.core;
+    requires static org.controlsfx.controls;
+    requires static com.dlsc.formsfx;
+    requires static net.synedra.validatorfx;
+    requires static org.kordamp.ikonli.javafx;
+    requires static org.kordamp.bootstrapfx.core;
 
     exports com.project.airportsimulator.gui;
-}
\ No newline at end of file
+    exports com.project.airportsimulator.cli;
+    exports com.project.airportsimulator.airport to java.management;
+}
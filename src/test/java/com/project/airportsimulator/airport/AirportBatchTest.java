@@ -0,0 +1,69 @@
+package com.project.airportsimulator.airport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the batch operations of {@link Airport}.
+ *
+ * @author Dhairya
+ * @since December 21, 2023
+ */
+class AirportBatchTest {
+
+    @Test
+    void flightListedTwiceIsRejectedTheSecondTime() {
+        Airport airport = new Airport(1);
+        airport.flightRegister("BA92", "London");
+        BatchResult registered = airport.registerFlights(List.of("AC101", "BA92", "AC101", "LH400"),
+                List.of("Toronto", "London", "Montreal", "Frankfurt"));
+        assertEquals(List.of(OperationResult.SUCCESS, OperationResult.ALREADY_REGISTERED,
+                OperationResult.ALREADY_REGISTERED, OperationResult.SUCCESS), results(registered));
+        assertEquals("Toronto", airport.getAllArrivals().stream()
+                .filter(airPlane -> airPlane.getFlightNumber().equals("AC101")).findFirst().orElseThrow().getOriginCity());
+
+        BatchResult requested = airport.requestLandings(List.of("AC101", "AC101", "UA88", "LH400"));
+        assertEquals(List.of(OperationResult.SUCCESS, OperationResult.ALREADY_ARRIVED,
+                OperationResult.NOT_REGISTERED, OperationResult.SUCCESS), results(requested));
+        assertEquals(1, requested.getRunwayNumber(0));
+        assertEquals(0, requested.getRunwayNumber(3));
+
+        airport.readyToLand("AC101", 1);
+        airport.readyToBoard("AC101", "Paris");
+        BatchResult departed = airport.takeOffFlights(List.of("AC101", "LH400", "AC101"));
+        assertEquals(List.of(OperationResult.SUCCESS, OperationResult.NOT_LANDED,
+                OperationResult.NOT_REGISTERED), results(departed));
+        assertEquals("LH400", departed.getPromotedFlight(0).getFlightNumber());
+        assertEquals(1, departed.getRunwayNumber(0));
+        assertEquals("LH400", airport.getLastPromotedFlight().getFlightNumber());
+    }
+
+    @Test
+    void takeOffBatchViewShowsEveryRunwayFree() {
+        Airport airport = new Airport(3);
+        List<String> flights = List.of("AC101", "BA92", "LH400");
+        airport.registerFlights(flights, List.of("Toronto", "London", "Frankfurt"));
+        airport.requestLandings(flights);
+        for (int runway = 1; runway <= 3; runway++) {
+            airport.readyToLand(flights.get(runway - 1), runway);
+            airport.readyToBoard(flights.get(runway - 1), "Paris");
+        }
+        assertEquals(3, airport.enableViews().getBookedRunways());
+        assertEquals(0, airport.takeOffFlights(flights).getFailureCount());
+        assertEquals(0, airport.getView().getBookedRunways());
+        assertEquals(0, airport.getView().getNumberOfFlights());
+        assertNull(airport.getLastPromotedFlight());
+    }
+
+    private static List<OperationResult> results(BatchResult batch) {
+        OperationResult[] results = new OperationResult[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            results[i] = batch.getResult(i);
+        }
+        return List.of(results);
+    }
+}
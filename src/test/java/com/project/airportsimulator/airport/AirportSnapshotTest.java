@@ -0,0 +1,140 @@
+package com.project.airportsimulator.airport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for {@link AirportSnapshot}, through {@link Airport#save(String)} and both ways of loading.
+ *
+ * @author Dhairya
+ * @since December 21, 2023
+ */
+class AirportSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedAirportLoadsTheSameEagerlyAndMapped() throws IOException {
+        Airport airport = new Airport(3);
+        airport.setLandingScheduler(LandingPriority.EMERGENCY_FIRST);
+        for (String flightNumber : List.of("AC101", "BA92", "LH400", "AF11", "KL7", "UA88")) {
+            airport.flightRegister(flightNumber, "Toronto");
+            airport.airplaneAssignedRunway(flightNumber);
+        }
+        airport.readyToLand("AC101", 1);
+        airport.readyToBoard("AC101", "Paris");
+        airport.readyToLand("BA92", 2);
+        airport.flightRegister("QF1", "Sydney");
+        airport.updateScheduledArrival("QF1", 1_700_000_000_000L);
+        airport.updateFuel("AF11", 25);
+        airport.updateFuel("KL7", 40);
+        airport.updateFuel("UA88", 10);
+        airport.declareEmergency("KL7");
+        String file = directory.resolve("airport.bin").toString();
+        airport.save(file);
+
+        List<String> saved = describe(airport);
+        assertEquals(saved, describe(new Airport(file)));
+        assertEquals(saved, describe(new Airport(file, true)));
+
+        Airport mapped = new Airport(file, true);
+        mapped.setLandingScheduler(LandingPriority.EMERGENCY_FIRST);
+        mapped.readyToTakeOff("AC101");
+        assertEquals("KL7", mapped.getLastPromotedFlight().getFlightNumber());
+    }
+
+    @Test
+    void mappedAirportCanBeSavedOverItsOwnFile() throws IOException {
+        Airport airport = new Airport(2);
+        for (int i = 0; i < 100; i++) {
+            airport.flightRegister("F" + i, "City" + (i % 5));
+        }
+        airport.airplaneAssignedRunway("F7");
+        String file = directory.resolve("airport.bin").toString();
+        airport.save(file);
+
+        Airport mapped = new Airport(file, true);
+        mapped.flightRegister("AC101", "Toronto");
+        mapped.readyToLand("F7", 1);
+        mapped.save(file);
+        airport.flightRegister("AC101", "Toronto");
+        airport.readyToLand("F7", 1);
+        assertEquals(describe(airport), describe(new Airport(file)));
+        assertEquals(describe(airport), describe(mapped));
+
+        mapped.loadMapped(file);
+        mapped.load(file);      // replaces a mapping that was never fully read
+        assertEquals(describe(airport), describe(mapped));
+    }
+
+    @Test
+    void corruptQueuePositionIsRejected() throws IOException {
+        String file = saveOneWaitingFlight();
+        try (RandomAccessFile snapshot = new RandomAccessFile(file, "rw")) {
+            snapshot.seek(snapshot.length() - 16);
+            snapshot.seek(snapshot.readLong() - 1);     // queue position + 1 of the only flight record
+            snapshot.writeByte(5);
+        }
+        assertThrows(IOException.class, () -> new Airport(file));
+    }
+
+    @Test
+    void corruptQueueOffsetIsRejected() throws IOException {
+        String file = saveOneWaitingFlight();
+        try (RandomAccessFile snapshot = new RandomAccessFile(file, "rw")) {
+            snapshot.seek(snapshot.length() - 16);
+            snapshot.seek(snapshot.readLong());         // record offset of the only waiting flight
+            snapshot.writeLong(snapshot.length());
+        }
+        assertThrows(IOException.class, () -> new Airport(file, true));
+    }
+
+    @Test
+    void otherVersionIsRejected() throws IOException {
+        String file = saveOneWaitingFlight();
+        try (RandomAccessFile snapshot = new RandomAccessFile(file, "rw")) {
+            snapshot.seek(4);
+            snapshot.writeShort(AirportSnapshot.VERSION + 1);
+        }
+        assertThrows(IOException.class, () -> new Airport(file));
+        assertThrows(IOException.class, () -> new Airport(file, true));
+    }
+
+    private String saveOneWaitingFlight() throws IOException {
+        Airport airport = new Airport(0);
+        airport.flightRegister("AC101", "Toronto");
+        airport.airplaneAssignedRunway("AC101");
+        String file = directory.resolve("waiting.bin").toString();
+        airport.save(file);
+        return file;
+    }
+
+    /**
+     * Lists every flight with all its saved fields, then the runway bookings and the waiting order
+     */
+    private static List<String> describe(Airport airport) {
+        AirportView view = airport.enableViews();
+        TreeMap<String, String> flights = new TreeMap<>();
+        view.forEachFlight(flight -> flights.put(flight.getFlightNumber(), flight.getOriginCity() + " "
+                + flight.getDestinationCity() + " " + flight.getStatus() + " " + flight.getRunwayNumber() + " "
+                + flight.isEmergency() + " " + flight.getFuelMinutes() + " " + flight.getScheduledArrival()));
+        List<String> description = new ArrayList<>();
+        flights.forEach((flightNumber, fields) -> description.add(flightNumber + " " + fields));
+        for (int runway = 1; runway <= view.getNumberOfRunways(); runway++) {
+            description.add("runway " + runway + " " + view.isRunwayBooked(runway));
+        }
+        view.getWaitingFlights().forEach(flight -> description.add("waiting " + flight.getFlightNumber()));
+        return description;
+    }
+}
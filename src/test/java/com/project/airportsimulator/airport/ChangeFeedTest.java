@@ -0,0 +1,126 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link ChangeFeed}.
+ *
+ * @author Dhairya
+ * @since December 15, 2023
+ */
+class ChangeFeedTest {
+
+    @Test
+    void onlyTheLastChangeOfAPollEndsTheBatch() {
+        ChangeFeed feed = new ChangeFeed(8);
+        ChangeFeed.Subscription subscription = feed.subscribe();
+        publish(feed, 5);
+        Recorder recorder = new Recorder();
+        assertEquals(3, subscription.poll(recorder, 3));
+        assertEquals(List.of(0L, 1L, 2L), recorder.sequences);
+        assertEquals(List.of(false, false, true), recorder.endsOfBatch);
+
+        recorder = new Recorder();
+        assertEquals(2, subscription.poll(recorder, 3));
+        assertEquals(List.of(3L, 4L), recorder.sequences);
+        assertEquals(List.of(false, true), recorder.endsOfBatch);
+        assertEquals(0, subscription.poll(recorder, 3));
+        assertEquals(0, subscription.getLag());
+    }
+
+    @Test
+    void lappedSubscriptionIsToldHowManyChangesItMissed() {
+        ChangeFeed feed = new ChangeFeed(4);
+        ChangeFeed.Subscription subscription = feed.subscribe();
+        publish(feed, 10);
+        Recorder recorder = new Recorder();
+        assertEquals(3, subscription.drain(recorder));
+        // The slot after the newest change may be rewritten at any time, so only 3 of 4 are kept
+        assertEquals(List.of(7L), recorder.missed);
+        assertEquals(List.of(7L, 8L, 9L), recorder.sequences);
+        assertEquals(List.of(false, false, true), recorder.endsOfBatch);
+        assertEquals(7, subscription.getMissed());
+    }
+
+    @Test
+    void changesOverwrittenDuringAPollAreSkippedAndTheBatchStillEnds() {
+        ChangeFeed feed = new ChangeFeed(4);
+        ChangeFeed.Subscription subscription = feed.subscribe();
+        publish(feed, 4);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onChange(AirportChange change, boolean endOfBatch) {
+                super.onChange(change, endOfBatch);
+                if (sequences.size() == 1) {
+                    publish(feed, 8);       // laps the subscription in the middle of its poll
+                }
+            }
+        };
+        assertEquals(5, subscription.poll(recorder, 100));
+        assertEquals(List.of(1L, 6L), recorder.missed);
+        assertEquals(List.of(1L, 2L, 9L, 10L, 11L), recorder.sequences);
+        assertEquals(List.of(false, false, false, false, true), recorder.endsOfBatch);
+        assertEquals(7, subscription.getMissed());
+        assertEquals(0, subscription.getLag());
+    }
+
+    @Test
+    void airportPublishesEveryTransitionOfATurnaround() {
+        Airport airport = new Airport(1);
+        ChangeFeed.Subscription subscription = airport.openChangeFeed(64).subscribe();
+        airport.flightRegister("AC101", "Toronto");
+        airport.airplaneAssignedRunway("AC101");
+        airport.flightRegister("BA92", "London");
+        airport.airplaneAssignedRunway("BA92");
+        airport.readyToLand("AC101", 1);
+        airport.readyToBoard("AC101", "Paris");
+        airport.readyToTakeOff("AC101");
+        List<String> changes = new ArrayList<>();
+        subscription.drain((change, endOfBatch) -> changes.add(change.getType() + " " + change.getFlightNumber()
+                + " " + change.getStatus() + " " + change.getRunwayNumber()));
+        assertEquals(List.of(
+                "FLIGHT_UPDATED AC101 DUE 0",
+                "RUNWAY_BOOKED AC101 DUE 1",
+                "FLIGHT_UPDATED AC101 WAITING 1",
+                "FLIGHT_UPDATED BA92 DUE 0",
+                "FLIGHT_UPDATED BA92 WAITING 0",
+                "FLIGHT_UPDATED AC101 LANDED 1",
+                "FLIGHT_UPDATED AC101 DEPARTING 1",
+                "RUNWAY_VACATED AC101 DEPARTING 1",
+                "FLIGHT_REMOVED AC101 DEPARTING 0",
+                "RUNWAY_BOOKED BA92 WAITING 1",
+                "FLIGHT_UPDATED BA92 WAITING 1"), changes);
+    }
+
+    private static void publish(ChangeFeed feed, int count) {
+        for (int i = 0; i < count; i++) {
+            feed.publish(ChangeType.FLIGHT_UPDATED, new Airplane("F" + feed.getPublished(), "Origin"), 0);
+        }
+    }
+
+    /**
+     * Records what a subscription hands over.
+     */
+    private static class Recorder implements ChangeHandler {
+        final List<Long> sequences = new ArrayList<>();
+        final List<Boolean> endsOfBatch = new ArrayList<>();
+        final List<Long> missed = new ArrayList<>();
+
+        @Override
+        public void onChange(AirportChange change, boolean endOfBatch) {
+            sequences.add(change.getSequence());
+            endsOfBatch.add(endOfBatch);
+        }
+
+        @Override
+        public void onMissed(long count) {
+            missed.add(count);
+        }
+    }
+}
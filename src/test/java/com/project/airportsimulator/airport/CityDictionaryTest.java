@@ -0,0 +1,35 @@
+package com.project.airportsimulator.airport;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link CityDictionary}.
+ *
+ * @author Dhairya
+ * @since December 21, 2023
+ */
+class CityDictionaryTest {
+
+    @Test
+    void fullDictionaryStillResolvesKnownCitiesButRefusesNewOnes() {
+        CityDictionary dictionary = new CityDictionary(2);
+        int toronto = dictionary.intern("Toronto");
+        int london = dictionary.register("London", "lhr");
+        assertTrue(dictionary.canIntern("Toronto"));
+        assertTrue(dictionary.canIntern("LHR"));
+        assertTrue(dictionary.canIntern(null));
+        assertFalse(dictionary.canIntern("Paris"));
+        assertThrows(IllegalStateException.class, () -> dictionary.intern("Paris"));
+        assertThrows(IllegalStateException.class, () -> dictionary.register("Paris", "CDG"));
+
+        assertEquals(toronto, dictionary.intern("Toronto"));
+        assertEquals(london, dictionary.intern("LHR"));
+        assertEquals(CityDictionary.NONE, dictionary.find("Paris"));
+        assertEquals(2, dictionary.size());
+    }
+}
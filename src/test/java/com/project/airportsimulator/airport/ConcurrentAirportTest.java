@@ -0,0 +1,90 @@
+package com.project.airportsimulator.airport;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Stress tests for {@link ConcurrentAirport} driven by many controller threads at once.
+ *
+ * @author Dhairya
+ * @since December 20, 2023
+ */
+class ConcurrentAirportTest {
+    private static final int RUNWAYS = 4;
+    private static final int THREADS = 16;              // more controllers than runways, so planes circle
+    private static final int ROUNDS = 2000;
+    private static final long STRANDED_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * In every round each controller runs the full turnaround of one flight, all starting together.
+     * A flight sent to the waiting queue must be given a runway by some other controller's take-off,
+     * even by the last take-off of the round, and each runway must be held by at most one flight at
+     * a time.
+     */
+    @Test
+    void turnaroundsNeverShareARunwayOrStrandAPlane() throws Exception {
+        ConcurrentAirport airport = new ConcurrentAirport(RUNWAYS);
+        AtomicIntegerArray holders = new AtomicIntegerArray(RUNWAYS + 1);     // 1 while a flight holds the runway
+        CyclicBarrier round = new CyclicBarrier(THREADS);
+        ExecutorService controllers = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int controller = t;
+                results.add(controllers.submit(() -> {
+                    for (int i = 0; i < ROUNDS; i++) {
+                        round.await(1, TimeUnit.MINUTES);
+                        turnaround(airport, holders, "C" + controller + "-" + i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            controllers.shutdownNow();
+        }
+
+        assertTrue(airport.getAllArrivals().isEmpty(), "flights left behind");
+        assertTrue(airport.getAllDepartures().isEmpty(), "flights left behind");
+        // Every runway was returned to the pool, so a new flight can still land on each one
+        for (int i = 0; i < RUNWAYS; i++) {
+            airport.flightRegister("F" + i, "Origin");
+            assertTrue(airport.airplaneAssignedRunway("F" + i) != 0, "runway lost");
+        }
+    }
+
+    private static void turnaround(ConcurrentAirport airport, AtomicIntegerArray holders, String flightNumber) {
+        airport.flightRegister(flightNumber, "Origin");
+        int runwayNumber = airport.airplaneAssignedRunway(flightNumber);
+        long deadline = System.nanoTime() + STRANDED_NANOS;
+        while (runwayNumber == 0) {
+            if (System.nanoTime() > deadline) {
+                fail("Flight-" + flightNumber + " stranded in the waiting queue");
+            }
+            Thread.yield();
+            runwayNumber = airport.getRunwayNumber(flightNumber);
+        }
+        if (!holders.compareAndSet(runwayNumber, 0, 1)) {
+            fail("Runway " + runwayNumber + " handed out twice");
+        }
+        airport.readyToLand(flightNumber, runwayNumber);
+        airport.readyToBoard(flightNumber, "Destination");
+        assertEquals(runwayNumber, airport.getRunwayNumber(flightNumber));
+        holders.set(runwayNumber, 0);   // released before take-off hands the runway on
+        airport.readyToTakeOff(flightNumber);
+    }
+}
@@ -0,0 +1,147 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for {@link FlightRegistry}.
+ *
+ * @author Dhairya
+ * @since December 21, 2023
+ */
+class FlightRegistryTest {
+    private static final int TABLE_SIZE = 32;   // table of a registry created for 16 flights
+
+    /**
+     * Fills the last slot of the table and the first slots after it wraps around, then removes
+     * flights from the middle and the start of the chain.
+     */
+    @Test
+    void removalKeepsProbeChainsThatWrapAroundTheTableEnd() {
+        FlightRegistry registry = new FlightRegistry(16);
+        List<String> lastSlot = namesWithHome(registry, TABLE_SIZE - 1, 3);
+        List<String> firstSlot = namesWithHome(registry, 0, 2);
+        List<String> flights = List.of(lastSlot.get(0), firstSlot.get(0), lastSlot.get(1), firstSlot.get(1), lastSlot.get(2));
+        Map<String, Integer> ids = new HashMap<>();
+        for (String flight : flights) {
+            ids.put(flight, registry.register(flight, "Toronto"));
+        }
+
+        registry.remove(ids.remove(firstSlot.get(0)));
+        assertRegistered(registry, ids);
+        registry.remove(ids.remove(lastSlot.get(0)));
+        assertRegistered(registry, ids);
+        registry.remove(ids.remove(lastSlot.get(2)));
+        assertRegistered(registry, ids);
+        assertEquals(-1, registry.find(firstSlot.get(0)));
+        assertEquals(-1, registry.find(lastSlot.get(0)));
+        assertEquals(-1, registry.find(lastSlot.get(2)));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void rehashKeepsEveryIdAndItsColumns() {
+        FlightRegistry registry = new FlightRegistry(16);
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            String flight = "AC" + i;
+            int id = registry.register(flight, "City" + (i % 7));
+            registry.setRunwayNumber(id, i % 13);
+            ids.put(flight, id);
+            if (i % 3 == 0) {
+                registry.remove(ids.remove("AC" + (i / 2)));
+            }
+        }
+        assertRegistered(registry, ids);
+        for (Map.Entry<String, Integer> flight : ids.entrySet()) {
+            int number = Integer.parseInt(flight.getKey().substring(2));
+            assertEquals("City" + (number % 7), registry.getOriginCity(flight.getValue()));
+            assertEquals(number % 13, registry.getRunwayNumber(flight.getValue()));
+        }
+        assertEquals(-1, registry.register("AC999", "Toronto"));
+    }
+
+    @Test
+    void reusedIdStartsAsANewDueFlight() {
+        FlightRegistry registry = new FlightRegistry(16);
+        int first = registry.register("AC101", "Toronto");
+        registry.setStatus(first, AirplaneStatus.DEPARTING);
+        registry.setRunwayNumber(first, 3);
+        registry.setDestinationCity(first, "Paris");
+        int second = registry.register("BA92", "London");
+        registry.remove(first);
+        assertFalse(registry.isRegistered(first));
+
+        int reused = registry.register("LH400", "Frankfurt");
+        assertEquals(first, reused);
+        assertEquals("LH400", registry.getFlightNumber(reused));
+        assertEquals(AirplaneStatus.DUE, registry.getStatus(reused));
+        assertEquals(0, registry.getRunwayNumber(reused));
+        assertEquals("Frankfurt", registry.getOriginCity(reused));
+        assertNull(registry.getDestinationCity(reused));
+        assertEquals(-1, registry.find("AC101"));
+        assertEquals(reused, registry.find("LH400"));
+        assertEquals(second, registry.find("BA92"));
+        assertEquals(second + 1, registry.register("AC101", "Toronto"));
+    }
+
+    /**
+     * Runs random registrations and removals against a {@link HashMap}, through rehashes, id reuse
+     * and compactions of the name arena.
+     */
+    @Test
+    void randomOperationsMatchAHashMap() {
+        FlightRegistry registry = new FlightRegistry(16);
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> registered = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            if (registered.isEmpty() || random.nextInt(100) < 55) {
+                String flight = "F" + random.nextInt(5000) + "-".repeat(random.nextInt(40));
+                int id = registry.register(flight, "Toronto");
+                if (ids.containsKey(flight)) {
+                    assertEquals(-1, id);
+                } else {
+                    ids.put(flight, id);
+                    registered.add(flight);
+                }
+            } else {
+                int index = random.nextInt(registered.size());
+                String flight = registered.get(index);
+                registered.set(index, registered.get(registered.size() - 1));
+                registered.remove(registered.size() - 1);
+                registry.remove(ids.remove(flight));
+                assertEquals(-1, registry.find(flight));
+            }
+        }
+        assertRegistered(registry, ids);
+    }
+
+    private static void assertRegistered(FlightRegistry registry, Map<String, Integer> ids) {
+        assertEquals(ids.size(), registry.size());
+        for (Map.Entry<String, Integer> flight : ids.entrySet()) {
+            assertEquals(flight.getValue(), registry.find(flight.getKey()));
+            assertEquals(flight.getKey(), registry.getFlightNumber(flight.getValue()));
+        }
+    }
+
+    private static List<String> namesWithHome(FlightRegistry registry, int slot, int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; names.size() < count; i++) {
+            if (registry.home(("W" + i).hashCode()) == slot) {
+                names.add("W" + i);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,157 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.enums.AirplaneStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link OffHeapFlightRegistry}.
+ *
+ * @author Dhairya
+ * @since December 21, 2023
+ */
+class OffHeapFlightRegistryTest {
+    private static final List<String> NAMES = List.of(
+            "AC101",                        // inline
+            "ABCDEFGHIJKLMNOP",             // 16 characters, the longest inline name
+            "ABCDEFGHIJKLMNOPQ",            // 17 characters, in the overflow arena
+            "Z\u00fcrich-\u03a9mega-7",     // not Latin-1, in the overflow arena
+            "Z\u00fcrich-7",                // Latin-1 beyond ASCII, inline
+            "\u822a\u73ed101",              // not Latin-1 and short
+            "\u2708\ud83d\udeeb-flight",    // surrogate pair
+            "X".repeat(300));               // far longer than a record
+
+    @Test
+    void longAndNonLatin1NamesSurviveRemovalAndReinsertion() {
+        OffHeapFlightRegistry registry = new OffHeapFlightRegistry(16);
+        Map<String, Integer> ids = new HashMap<>();
+        for (String name : NAMES) {
+            ids.put(name, registry.register(name, "Toronto"));
+        }
+        assertRegistered(registry, ids);
+        assertEquals(-1, registry.find("ABCDEFGHIJKLMNOPQR"));
+        assertEquals(-1, registry.find("Zurich-7"));
+        assertEquals(-1, registry.find("\u822a\u73ed102"));
+
+        for (String name : NAMES) {
+            registry.remove(ids.remove(name));
+            assertEquals(-1, registry.find(name));
+            assertRegistered(registry, ids);
+        }
+        for (String name : NAMES.reversed()) {
+            int id = registry.register(name, "Paris");
+            assertEquals(-1, registry.register(name, "Paris"));
+            ids.put(name, id);
+            assertEquals("Paris", registry.getOriginCity(id));
+        }
+        assertRegistered(registry, ids);
+    }
+
+    @Test
+    void removedIdsAreReusedNewestFirstWithCleanRecords() {
+        OffHeapFlightRegistry registry = new OffHeapFlightRegistry(16);
+        for (int i = 0; i < 5; i++) {
+            int id = registry.register("F" + i, "Toronto");
+            assertEquals(i, id);
+            registry.setRunwayNumber(id, 10 + i);
+            registry.setStatus(id, AirplaneStatus.LANDED);
+            registry.setDestinationCity(id, "Paris");
+        }
+        registry.remove(1);
+        registry.remove(3);
+        registry.remove(4);
+        assertFalse(registry.isRegistered(3));
+
+        // The runway column of a removed record holds the next free id, so it must be reset on reuse
+        assertEquals(4, registry.register("G4", "London"));
+        assertEquals(3, registry.register("G3", "London"));
+        assertEquals(1, registry.register("G1", "London"));
+        assertEquals(5, registry.register("G5", "London"));
+        for (int id : new int[]{1, 3, 4, 5}) {
+            assertTrue(registry.isRegistered(id));
+            assertEquals(0, registry.getRunwayNumber(id));
+            assertEquals(AirplaneStatus.DUE, registry.getStatus(id));
+            assertEquals(CityDictionary.NONE, registry.getDestinationCityId(id));
+            assertEquals("London", registry.getOriginCity(id));
+        }
+        assertEquals(12, registry.getRunwayNumber(2));
+        assertEquals("F2", registry.getFlightNumber(2));
+        assertEquals(6, registry.size());
+    }
+
+    /**
+     * Removes most of many long names, which compacts the overflow arena, then checks the rest
+     * still read back and new long names can be added.
+     */
+    @Test
+    void compactingTheOverflowArenaKeepsTheRemainingNames() {
+        OffHeapFlightRegistry registry = new OffHeapFlightRegistry(16);
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String name = "\u00dcberflug-" + i + "-" + "\u0436".repeat(i % 50);
+            ids.put(name, registry.register(name, "Toronto"));
+        }
+        long grownBytes = registry.getNativeBytes();
+        for (int i = 0; i < 2000; i++) {
+            if (i % 10 != 0) {
+                String name = "\u00dcberflug-" + i + "-" + "\u0436".repeat(i % 50);
+                registry.remove(ids.remove(name));
+            }
+        }
+        assertTrue(registry.getNativeBytes() < grownBytes, "overflow arena was not compacted");
+        assertRegistered(registry, ids);
+        for (int i = 0; i < 500; i++) {
+            String name = "\u00dcberflug-new-" + i + "-" + "\u0436".repeat(i % 50);
+            ids.put(name, registry.register(name, "Toronto"));
+        }
+        assertRegistered(registry, ids);
+    }
+
+    /**
+     * Runs random registrations and removals of inline and overflow names against a {@link HashMap}.
+     */
+    @Test
+    void randomOperationsMatchAHashMap() {
+        OffHeapFlightRegistry registry = new OffHeapFlightRegistry(16);
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> registered = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            if (registered.isEmpty() || random.nextInt(100) < 55) {
+                String flight = (random.nextBoolean() ? "F" : "\u0424") + random.nextInt(5000) + "-".repeat(random.nextInt(24));
+                int id = registry.register(flight, "Toronto");
+                if (ids.containsKey(flight)) {
+                    assertEquals(-1, id);
+                } else {
+                    ids.put(flight, id);
+                    registered.add(flight);
+                }
+            } else {
+                int index = random.nextInt(registered.size());
+                String flight = registered.get(index);
+                registered.set(index, registered.get(registered.size() - 1));
+                registered.remove(registered.size() - 1);
+                registry.remove(ids.remove(flight));
+                assertEquals(-1, registry.find(flight));
+            }
+        }
+        assertRegistered(registry, ids);
+    }
+
+    private static void assertRegistered(OffHeapFlightRegistry registry, Map<String, Integer> ids) {
+        assertEquals(ids.size(), registry.size());
+        for (Map.Entry<String, Integer> flight : ids.entrySet()) {
+            assertEquals(flight.getValue(), registry.find(flight.getKey()));
+            assertEquals(flight.getKey(), registry.getFlightNumber(flight.getValue()));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.airportsimulator.airport;
+
+import com.project.airportsimulator.airplane.Airplane;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link ScheduleImporter}.
+ *
+ * @author Dhairya
+ * @since December 20, 2023
+ */
+class ScheduleImporterTest {
+
+    @Test
+    void badUnicodeEscapeIsCountedAsMalformed() throws IOException {
+        Airport airport = new Airport(2);
+        ScheduleImporter importer = new ScheduleImporter(airport);
+        long imported = importer.importFrom(schedule(
+                "{\"flightNumber\": \"AC101\", \"origin\": \"Toronto\"}",
+                "{\"flightNumber\": \"AC\\uZZZZ\", \"origin\": \"Toronto\"}",
+                "{\"flightNumber\": \"BA92\", \"origin\": \"London\"}"));
+        assertEquals(2, imported);
+        assertEquals(1, importer.getMalformed());
+        assertEquals(Set.of("AC101", "BA92"), flightNumbers(airport));
+    }
+
+    @Test
+    void shortUnicodeEscapeIsCountedAsMalformed() throws IOException {
+        Airport airport = new Airport(2);
+        ScheduleImporter importer = new ScheduleImporter(airport);
+        long imported = importer.importFrom(schedule(
+                "{\"flightNumber\": \"LH440\", \"origin\": \"Frankfurt\\u12\"}",
+                "{\"flightNumber\": \"LH\\u0034\\u0034\\u0031\", \"origin\": \"Frankfurt\"}"));
+        assertEquals(1, imported);
+        assertEquals(1, importer.getMalformed());
+        assertEquals(Set.of("LH441"), flightNumbers(airport));
+    }
+
+    @Test
+    void csvHeaderIsSkipped() throws IOException {
+        Airport airport = new Airport(2);
+        ScheduleImporter importer = new ScheduleImporter(airport);
+        long imported = importer.importFrom(schedule("flight,origin,scheduled", "AC101,Toronto,1701907200"));
+        assertEquals(1, imported);
+        assertEquals(0, importer.getMalformed());
+        assertEquals(Set.of("AC101"), flightNumbers(airport));
+    }
+
+    @Test
+    void firstCsvRecordThatOnlyLooksLikeAHeaderIsImported() throws IOException {
+        Airport airport = new Airport(2);
+        ScheduleImporter importer = new ScheduleImporter(airport);
+        long imported = importer.importFrom(schedule("FLIGHT1,Toronto", "FLIGHT2,Toronto"));
+        assertEquals(2, imported);
+        assertEquals(Set.of("FLIGHT1", "FLIGHT2"), flightNumbers(airport));
+
+        imported = importer.importFrom(schedule("Flight3,City,1701907200", "\"Flight Number\",\"City of origin\",\"Arrival\""));
+        assertEquals(1, imported);
+        assertEquals(1, importer.getMalformed());      // a header line after the first record is not skipped
+        assertEquals(Set.of("FLIGHT1", "FLIGHT2", "Flight3"), flightNumbers(airport));
+    }
+
+    @Test
+    void jsonNullIsAMissingField() throws IOException {
+        Airport airport = new Airport(2);
+        ScheduleImporter importer = new ScheduleImporter(airport);
+        long imported = importer.importFrom(schedule(
+                "{\"flightNumber\": \"AC101\", \"origin\": null}",
+                "{\"flightNumber\": null, \"origin\": \"Toronto\"}",
+                "{\"flightNumber\": \"BA92\", \"origin\": \"null\", \"scheduledArrival\": null}"));
+        assertEquals(1, imported);
+        assertEquals(2, importer.getMalformed());
+        assertEquals(Set.of("BA92"), flightNumbers(airport));
+    }
+
+    @Test
+    void firstJsonRecordIsNeverTakenForAHeader() throws IOException {
+        Airport airport = new Airport(2);
+        ScheduleImporter importer = new ScheduleImporter(airport);
+        long imported = importer.importFrom(schedule(
+                "{\"flight\": \"FLIGHT1\", \"origin\": \"Toronto\"}",
+                "{\"flight\": \"FLIGHT2\", \"origin\": \"Toronto\"}"));
+        assertEquals(2, imported);
+        assertEquals(Set.of("FLIGHT1", "FLIGHT2"), flightNumbers(airport));
+    }
+
+    private static ReadableByteChannel schedule(String... lines) {
+        byte[] bytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+
+    private static Set<String> flightNumbers(Airport airport) {
+        Set<String> flightNumbers = new HashSet<>();
+        for (Airplane airplane : airport.getAllArrivals()) {
+            flightNumbers.add(airplane.getFlightNumber());
+        }
+        return flightNumbers;
+    }
+}
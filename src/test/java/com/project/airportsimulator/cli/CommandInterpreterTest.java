@@ -0,0 +1,55 @@
+package com.project.airportsimulator.cli;
+
+import com.project.airportsimulator.airport.Airport;
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link CommandInterpreter}.
+ *
+ * @author Dhairya
+ * @since December 15, 2023
+ */
+class CommandInterpreterTest {
+
+    @Test
+    void changesPrintsEveryChangeSinceThePreviousChangesCommand() {
+        StringWriter output = new StringWriter();
+        CommandInterpreter interpreter = new CommandInterpreter(new Airport(1), new PrintWriter(output));
+        interpreter.execute("changes");
+        interpreter.execute("register AC101 Toronto");
+        interpreter.execute("request AC101");
+        interpreter.execute("changes");
+        interpreter.execute("changes");
+        assertEquals(String.join("\n",
+                "OK changes count=0 missed=0",
+                "OK register AC101",
+                "OK request AC101 runway=1",
+                "0\tFLIGHT_UPDATED\tAC101\tDUE\t0",
+                "1\tRUNWAY_BOOKED\tAC101\tDUE\t1",
+                "2\tFLIGHT_UPDATED\tAC101\tWAITING\t1",
+                "OK changes count=3 missed=0",
+                "OK changes count=0 missed=0",
+                ""), output.toString().replace(System.lineSeparator(), "\n"));
+    }
+
+    @Test
+    void changesReportsChangesLostBetweenTwoChangesCommands() {
+        StringWriter output = new StringWriter();
+        CommandInterpreter interpreter = new CommandInterpreter(new Airport(1), new PrintWriter(output));
+        interpreter.execute("changes");
+        for (int i = 0; i < CommandInterpreter.FEED_CAPACITY + 10; i++) {
+            interpreter.execute("register F" + i + " Toronto");
+        }
+        output.getBuffer().setLength(0);
+        interpreter.execute("changes");
+        String[] lines = output.toString().split(System.lineSeparator());
+        assertEquals(CommandInterpreter.FEED_CAPACITY, lines.length);
+        assertEquals("11\tFLIGHT_UPDATED\tF11\tDUE\t0", lines[0]);
+        assertEquals("OK changes count=" + (CommandInterpreter.FEED_CAPACITY - 1) + " missed=11", lines[lines.length - 1]);
+    }
+}
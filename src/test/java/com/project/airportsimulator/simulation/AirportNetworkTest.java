@@ -0,0 +1,90 @@
+package com.project.airportsimulator.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link AirportNetwork}.
+ *
+ * @author Dhairya
+ * @since December 9, 2023
+ */
+class AirportNetworkTest {
+
+    @Test
+    void rejectedHandoverLeavesNoRouteBehind() {
+        try (AirportNetwork network = new AirportNetwork(10, 5, 30, 20, 1)) {
+            network.addAirport("Toronto", 2);
+            network.addAirport("London", 2);
+            network.addAirport("Paris", 2);
+            network.addRoute("Toronto", "London", 10);
+            network.addRoute("London", "Paris", 10);
+            // AC101 is at London from 50 to 115, so the AC101 arriving from Toronto at 75 is rejected
+            network.scheduleFlight("AC101", "Berlin", List.of("London", "Rome"), 50);
+            network.scheduleFlight("AC101", "Montreal", List.of("Toronto", "London", "Paris", "Madrid"), 0);
+            network.runToCompletion();
+
+            assertEquals(1, network.getEngine("London").getRejections());
+            // The flight leaving London for Rome must not follow the rejected flight's route to Paris
+            assertEquals(1, network.getHandovers());
+            assertEquals(0, network.getEngine("Paris").getEventsProcessed());
+        }
+    }
+
+    @Test
+    void resultsDoNotDependOnTheNumberOfWorkers() {
+        List<Long> oneWorker = simulate(1);
+        assertEquals(oneWorker, simulate(4));
+        assertEquals(oneWorker, simulate(Runtime.getRuntime().availableProcessors() + 3));
+    }
+
+    /**
+     * Runs the same random traffic through a network of 8 fully connected airports
+     *
+     * @return The statistics of every airport and of the network
+     */
+    private static List<Long> simulate(int workers) {
+        String[] cities = {"Toronto", "London", "Paris", "Berlin", "Madrid", "Rome", "Oslo", "Vienna"};
+        Random random = new Random(42);
+        try (AirportNetwork network = new AirportNetwork(60, 120, 1800, 900, workers)) {
+            for (String city : cities) {
+                network.addAirport(city, 2);
+            }
+            for (int i = 0; i < cities.length; i++) {
+                for (int j = i + 1; j < cities.length; j++) {
+                    network.addRoute(cities[i], cities[j], 1800 + random.nextInt(7200));
+                }
+            }
+            for (int flight = 0; flight < 2000; flight++) {
+                List<String> route = new ArrayList<>();
+                int legs = 1 + random.nextInt(4);
+                for (int leg = 0; leg < legs; leg++) {
+                    String city;
+                    do {
+                        city = cities[random.nextInt(cities.length)];
+                    } while (!route.isEmpty() && route.get(route.size() - 1).equals(city));
+                    route.add(city);
+                }
+                route.add("Elsewhere");
+                network.scheduleFlight("F" + flight, "Origin", route, random.nextInt(86_400));
+            }
+            network.runToCompletion();
+
+            List<Long> statistics = new ArrayList<>();
+            for (String city : cities) {
+                SimulationEngine engine = network.getEngine(city);
+                statistics.addAll(List.of(engine.getEventsProcessed(), engine.getRejections(), engine.getHolds(),
+                        engine.getHoldTime(), engine.getRunwayTime(), engine.getLastEventTime()));
+            }
+            statistics.addAll(List.of(network.getHandovers(), network.getEventsProcessed(), network.getClock()));
+            assertTrue(network.getHandovers() > 1000, "too little traffic between airports");
+            return statistics;
+        }
+    }
+}